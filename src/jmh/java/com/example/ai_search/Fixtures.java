@@ -0,0 +1,63 @@
+package com.example.ai_search;
+
+import com.example.ai_search.common.html.HtmlTextExtractor;
+import com.example.ai_search.common.html.MainContentSelector;
+import com.example.ai_search.dto.SourceDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 벤치마크 입력 (src/jmh/resources/fixtures).
+ * - brave-search.json: Brave web search 응답 (count=3, 쓰지 않는 필드 포함)
+ * - pages/*.html: 출처 페이지 (내비게이션/스크립트/사이드바/댓글이 섞인 블로그, 문서 페이지)
+ */
+public final class Fixtures {
+
+    public static final String QUERY = "java 21 가상 스레드";
+
+    // JsoupContentFetcher 기본값 (app.jsoup.extract-max-chars / passage.char-budget)
+    public static final int EXTRACT_MAX_CHARS = 12_000;
+    public static final int PASSAGE_CHAR_BUDGET = 2_000;
+
+    // 네트워크에서 받는 조각 크기 (Netty 기본 수신 버퍼 수준)
+    public static final int CHUNK_BYTES = 8 * 1024;
+
+    private Fixtures() {
+    }
+
+    public static byte[] bytes(String path) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("fixture not found: " + path);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<SourceDto> sources() {
+        return List.of(
+                new SourceDto(1, "Java 21 가상 스레드 정리 - 개발 블로그",
+                        "https://techblog.example.kr/java21-virtual-threads", "Java 21에서 정식 도입된 가상 스레드"),
+                new SourceDto(2, "JEP 444: Virtual Threads - OpenJDK",
+                        "https://openjdk.org/jeps/444", "Introduce virtual threads to the Java Platform."),
+                new SourceDto(3, "Spring Boot 3.2 가상 스레드 적용기",
+                        "https://blog.example.com/spring-boot-virtual-threads", "spring.threads.virtual.enabled=true"));
+    }
+
+    /**
+     * 페이지를 수집 경로(JsoupContentFetcher)와 같은 방식으로 본문만 추출한다.
+     */
+    public static String mainContent(byte[] html) {
+        HtmlTextExtractor extractor = new HtmlTextExtractor(null, EXTRACT_MAX_CHARS);
+        for (int offset = 0; offset < html.length && !extractor.isFull(); offset += CHUNK_BYTES) {
+            extractor.feed(ByteBuffer.wrap(html, offset, Math.min(CHUNK_BYTES, html.length - offset)));
+        }
+        return MainContentSelector.select(extractor.blocks());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ai_search.common.html;
+
+import com.example.ai_search.Fixtures;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 본문 추출.
+ * - jsoupParseText: Jsoup DOM 파싱 + body 텍스트 (이전 수집 방식, 비교 기준)
+ * - streamingExtract: 지금 수집 경로. 조각 단위 스트리밍 추출(HtmlTextExtractor) + 본문 블록 선택(MainContentSelector)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageTextBenchmark {
+
+    @Param({"blog-ko.html", "docs-en.html"})
+    public String page;
+
+    private byte[] html;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        html = Fixtures.bytes("pages/" + page);
+    }
+
+    @Benchmark
+    public String jsoupParseText() throws IOException {
+        return Jsoup.parse(new ByteArrayInputStream(html), null, "https://example.com/").body().text();
+    }
+
+    @Benchmark
+    public String streamingExtract() {
+        return Fixtures.mainContent(html);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ai_search.config;
+
+import com.example.ai_search.Fixtures;
+import com.example.ai_search.dto.CachedPageContent;
+import com.example.ai_search.dto.CachedSearchResult;
+import com.example.ai_search.dto.SearchResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * L2(Redis) 값 직렬화/역직렬화. CacheConfig.redisValueSerializer()를 그대로 쓴다
+ * (설정이 바뀌면 벤치마크도 따라간다). 캐시 값 종류 × 형식(json | binary)별로 잰다.
+ * 형식별 저장 크기(바이트)는 README의 L2 값 직렬화 항목에 적어 둔다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisValueSerializerBenchmark {
+
+    @Param({"llmResultCache", "sourceCache", "pageContentCache"})
+    public String cache;
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private SerializationPair<Object> serializer;
+    private Object value;
+    private ByteBuffer serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = SerializationPair.fromSerializer(CacheConfig.redisValueSerializer(format, 1024));
+        value = switch (cache) {
+            case "llmResultCache" -> new CachedSearchResult(
+                    new SearchResponseDto(answer(), new ArrayList<>(Fixtures.sources())), System.currentTimeMillis());
+            case "sourceCache" -> new ArrayList<>(Fixtures.sources());
+            case "pageContentCache" -> new CachedPageContent(
+                    Fixtures.mainContent(Fixtures.bytes("pages/blog-ko.html")),
+                    "\"5f3c-61a2b9c0e7d40\"", "Sun, 10 Mar 2024 09:00:00 GMT", System.currentTimeMillis());
+            default -> throw new IllegalArgumentException(cache);
+        };
+        serialized = serializer.write(value);
+    }
+
+    @Benchmark
+    public ByteBuffer serialize() {
+        return serializer.write(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.read(serialized.duplicate());
+    }
+
+    // Gemini 답변 길이 수준 (약 1,500자, 출처 번호 포함)
+    private static String answer() {
+        StringBuilder answer = new StringBuilder();
+        while (answer.length() < 1_500) {
+            answer.append("가상 스레드는 블로킹 I/O 동안 캐리어 스레드를 반납하므로 I/O 위주 서버의 처리량을 높인다 [1][3]. ")
+                    .append("synchronized 안의 블로킹은 pinning을 일으킬 수 있다 [2].\n");
+        }
+        return answer.toString();
+    }
+}
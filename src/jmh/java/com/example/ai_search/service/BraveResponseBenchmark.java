@@ -0,0 +1,57 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.Fixtures;
+import com.example.ai_search.dto.BraveSearchResponse;
+import com.example.ai_search.dto.SourceDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Brave 응답 처리: Jackson 역직렬화(BraveSearchResponse) → SourceDto 변환(BraveSourceRepository.toSources).
+ * ObjectMapper는 WebClient 코덱과 같은 Spring 기본 설정 (모르는 필드 무시).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BraveResponseBenchmark {
+
+    private byte[] json;
+    private ObjectReader reader;
+    private BraveSearchResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = Fixtures.bytes("brave-search.json");
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reader = objectMapper.readerFor(BraveSearchResponse.class);
+        response = reader.readValue(json);
+    }
+
+    @Benchmark
+    public BraveSearchResponse deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public List<SourceDto> toSources() {
+        return BraveSourceRepository.toSources(response);
+    }
+
+    @Benchmark
+    public List<SourceDto> deserializeAndMap() throws IOException {
+        return BraveSourceRepository.toSources(reader.readValue(json));
+    }
+}
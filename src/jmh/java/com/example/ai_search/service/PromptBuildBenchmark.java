@@ -0,0 +1,71 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.Fixtures;
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CircuitBreaker;
+import com.example.ai_search.common.text.PassageSelector;
+import com.example.ai_search.dto.SourceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GeminiAnswerGenerator.buildPrompt: passage 패킹(중복 제거, 토큰 예산) + 템플릿 조립.
+ * 입력은 fixture 페이지를 수집 경로와 같은 방식으로 추출/선택한 본문 3개.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptBuildBenchmark {
+
+    private ExecutorService executor;
+    private GeminiAnswerGenerator generator;
+    private List<SourceDto> sources;
+    private List<String> contents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newSingleThreadExecutor();
+        generator = new GeminiAnswerGenerator(
+                null, // buildPrompt는 Gemini를 호출하지 않는다
+                executor,
+                new Bulkhead("gemini", 8),
+                new CircuitBreaker("gemini", 50, 20, 10, Duration.ofSeconds(10), 2),
+                new PromptContextPacker(4000),
+                new LlmHedgePolicy(meterRegistry, true, 0.95, 10, Duration.ofMillis(200), 2.0, Duration.ofSeconds(2)),
+                meterRegistry);
+
+        sources = Fixtures.sources();
+        String blog = Fixtures.mainContent(Fixtures.bytes("pages/blog-ko.html"));
+        String docs = Fixtures.mainContent(Fixtures.bytes("pages/docs-en.html"));
+        contents = List.of(
+                PassageSelector.select(Fixtures.QUERY, blog, Fixtures.PASSAGE_CHAR_BUDGET),
+                PassageSelector.select(Fixtures.QUERY, docs, Fixtures.PASSAGE_CHAR_BUDGET),
+                // 같은 글을 옮겨 온 페이지 (중복 passage 제거 경로)
+                PassageSelector.select(Fixtures.QUERY, blog, Fixtures.PASSAGE_CHAR_BUDGET));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return generator.buildPrompt(Fixtures.QUERY, sources, contents);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ai_search.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다(캐시 HIT 포함) 실행되는 검색어 정규화.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryNormalizerBenchmark {
+
+    @Param({
+            "java 21 가상 스레드",
+            "   Spring   Boot\t3.2  VIRTUAL\n threads   설정 방법  ",
+            "How to configure Redis Cloud TLS connection with Spring Data Redis Lettuce client in Spring Boot 3 "
+                    + "and what are the  recommended   timeout values for production"
+    })
+    public String query;
+
+    private final QueryNormalizer queryNormalizer = new QueryNormalizer();
+
+    @Benchmark
+    public String normalize() {
+        return queryNormalizer.normalize(query);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ai_search.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 앱의 /actuator/metrics 에서 캐시/fallback 카운터를 읽는다. 측정 전후 값의 차이로 이번 부하의 hit ratio를 낸다.
+ */
+class AppMetrics {
+
+    // 보고서 이름 → (meter 이름, tag 조건)
+    private static final Map<String, String[]> COUNTERS = new LinkedHashMap<>();
+
+    static {
+        for (String result : new String[]{"hit", "stale", "refresh_ahead", "miss"}) {
+            COUNTERS.put("answer." + result, new String[]{"search.cache.requests", "result:" + result});
+        }
+        for (String cache : new String[]{"sourceCache", "pageContentCache"}) {
+            COUNTERS.put(cache + ".l1_hit", new String[]{"cache.level.gets", "cache:" + cache, "level:l1", "result:hit"});
+            COUNTERS.put(cache + ".l2_hit", new String[]{"cache.level.gets", "cache:" + cache, "level:l2", "result:hit"});
+            COUNTERS.put(cache + ".miss", new String[]{"cache.level.gets", "cache:" + cache, "level:l2", "result:miss"});
+        }
+        for (String reason : new String[]{"brave", "llm", "overload"}) {
+            COUNTERS.put("fallback." + reason, new String[]{"search.fallback", "reason:" + reason});
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AppMetrics(String baseUrl, HttpClient httpClient) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+    }
+
+    Map<String, Double> snapshot() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        COUNTERS.forEach((key, meter) -> values.put(key, read(meter)));
+        return values;
+    }
+
+    static Map<String, Double> delta(Map<String, Double> before, Map<String, Double> after) {
+        Map<String, Double> delta = new LinkedHashMap<>();
+        after.forEach((key, value) -> delta.put(key, value - before.getOrDefault(key, 0.0)));
+        return delta;
+    }
+
+    /**
+     * meter가 아직 없으면 (한 번도 기록되지 않음) 0.
+     */
+    private double read(String[] meter) {
+        StringBuilder url = new StringBuilder(baseUrl).append("/actuator/metrics/").append(meter[0]);
+        for (int i = 1; i < meter.length; i++) {
+            url.append(i == 1 ? '?' : '&').append("tag=").append(URLEncoder.encode(meter[i], StandardCharsets.UTF_8));
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(url.toString())).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return 0;
+            }
+            JsonNode root = objectMapper.readTree(response.body());
+            for (JsonNode measurement : root.path("measurements")) {
+                if ("COUNT".equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+            return 0;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read app metric " + url, e);
+        }
+    }
+}
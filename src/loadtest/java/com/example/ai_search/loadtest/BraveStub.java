@@ -0,0 +1,55 @@
+package com.example.ai_search.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brave /res/v1/web/search 흉내. 결과 URL은 PageStub을 가리킨다.
+ * 검색어마다 정해진 페이지 묶음을 돌려주고, 서로 다른 검색어끼리 일부 페이지가 겹친다 (본문 캐시 재사용 재현).
+ */
+class BraveStub extends StubServer {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String pageBaseUrl;
+    private final int pageCount;
+
+    BraveStub(int port, LatencyProfile latency, String pageBaseUrl, int pageCount) throws IOException {
+        super("brave", port, latency);
+        this.pageBaseUrl = pageBaseUrl;
+        this.pageCount = pageCount;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/res/v1/web/search")) {
+            respond(exchange, 404, "application/json", "{}".getBytes());
+            return;
+        }
+        Map<String, String> params = queryParams(exchange);
+        String query = params.getOrDefault("q", "");
+        int count = Integer.parseInt(params.getOrDefault("count", "3"));
+
+        int firstPage = Math.floorMod(query.hashCode(), pageCount);
+        List<Map<String, Object>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int pageId = (firstPage + i * 7) % pageCount;
+            results.add(Map.of(
+                    "title", "Stub page " + pageId + " about " + query,
+                    "url", pageBaseUrl + "/page/" + pageId,
+                    "description", "Stub result " + (i + 1) + " for <strong>" + query + "</strong>.",
+                    "type", "search_result",
+                    "language", "ko",
+                    "meta_url", Map.of("scheme", "http", "hostname", "127.0.0.1")));
+        }
+        Map<String, Object> body = Map.of(
+                "type", "search",
+                "query", Map.of("original", query),
+                "web", Map.of("type", "search", "results", results));
+        respond(exchange, 200, "application/json", objectMapper.writeValueAsBytes(body));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ai_search.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini Developer API 흉내 (google-genai SDK가 llm.api.base-url로 호출).
+ * - POST /v1beta/models/{model}:generateContent → 답변 한 번에
+ * - POST /v1beta/models/{model}:streamGenerateContent?alt=sse → 답변을 조각으로 (조각 사이 chunk-interval)
+ * 지연(LatencyProfile)은 첫 바이트까지의 시간.
+ */
+class GeminiStub extends StubServer {
+
+    private static final int STREAM_CHUNKS = 8;
+    private static final Duration CHUNK_INTERVAL = Duration.ofMillis(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String answer;
+
+    GeminiStub(int port, LatencyProfile latency, int answerChars) throws IOException {
+        super("gemini", port, latency);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < answerChars) {
+            text.append("부하 테스트용 stub 답변입니다 [1]. 출처 내용을 요약한 문장이 이어집니다 [2]. ");
+        }
+        this.answer = text.substring(0, answerChars);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException, InterruptedException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith(":generateContent")) {
+            respond(exchange, 200, "application/json", objectMapper.writeValueAsBytes(response(answer, true)));
+        } else if (path.endsWith(":streamGenerateContent")) {
+            stream(exchange);
+        } else {
+            respond(exchange, 404, "application/json", "{}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void stream(HttpExchange exchange) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        int chunkSize = Math.max(1, answer.length() / STREAM_CHUNKS);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int start = 0; start < answer.length(); start += chunkSize) {
+                boolean last = start + chunkSize >= answer.length();
+                String chunk = answer.substring(start, Math.min(answer.length(), start + chunkSize));
+                out.write(("data: " + objectMapper.writeValueAsString(response(chunk, last)) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (!last) {
+                    sleep(CHUNK_INTERVAL.toNanos());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Object> response(String text, boolean last) {
+        Map<String, Object> candidate = last
+                ? Map.of("content", content(text), "finishReason", "STOP", "index", 0)
+                : Map.of("content", content(text), "index", 0);
+        return Map.of(
+                "candidates", List.of(candidate),
+                "modelVersion", "stub");
+    }
+
+    private static Map<String, Object> content(String text) {
+        return Map.of("role", "model", "parts", List.of(Map.of("text", text)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ai_search.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * stub 응답 지연 분포 + 실패율. 지연은 log-normal (median, p99로 모양을 정한다).
+ * 형식: "median=120ms,p99=600ms,fail=0.01"
+ */
+record LatencyProfile(Duration median, Duration p99, double failureRate) {
+
+    // 표준정규분포 99 percentile
+    private static final double Z_99 = 2.326;
+
+    static LatencyProfile parse(String spec) {
+        Map<String, String> values = new HashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid latency profile: " + spec);
+            }
+            values.put(kv[0].trim(), kv[1].trim());
+        }
+        Duration median = DurationStyle.detectAndParse(values.getOrDefault("median", "100ms"));
+        Duration p99 = DurationStyle.detectAndParse(values.getOrDefault("p99", median.multipliedBy(4).toMillis() + "ms"));
+        double failureRate = Double.parseDouble(values.getOrDefault("fail", "0"));
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99 must be >= median: " + spec);
+        }
+        return new LatencyProfile(median, p99, failureRate);
+    }
+
+    Duration sample() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sigma = Math.log((double) Math.max(1, p99.toNanos()) / Math.max(1, median.toNanos())) / Z_99;
+        double nanos = median.toNanos() * Math.exp(sigma * random.nextGaussian());
+        return Duration.ofNanos((long) nanos);
+    }
+
+    boolean shouldFail() {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    @Override
+    public String toString() {
+        return "median=" + median.toMillis() + "ms,p99=" + p99.toMillis() + "ms,fail=" + failureRate;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ai_search.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 검색 요청을 보내고 지연/상태를 모은다. 요청 하나에 virtual thread 하나.
+ * - closed loop (rate=0): concurrency명의 사용자가 응답을 받자마자 다음 요청
+ * - open loop (rate>0): 초당 rate건을 일정 간격으로 시작. 지연은 "예정 시각"부터 재서
+ *   앱이 밀려 시작이 늦어진 시간도 포함한다 (coordinated omission 보정)
+ */
+class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient httpClient;
+    private final String searchUrl;
+    private final QueryMix queryMix;
+    private final Duration requestTimeout;
+
+    LoadDriver(HttpClient httpClient, String appBaseUrl, String mode, QueryMix queryMix, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.searchUrl = appBaseUrl + switch (mode) {
+            case "api" -> "/api/search?q=";
+            case "page" -> "/search?q=";
+            case "stream" -> "/search/stream?q=";
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        this.queryMix = queryMix;
+        this.requestTimeout = requestTimeout;
+    }
+
+    Result runClosed(int concurrency, Duration duration) throws InterruptedException {
+        Result result = new Result();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        List<Thread> users = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            QueryMix.Sampler sampler = queryMix.sampler();
+            users.add(Thread.ofVirtual().name("load-user-" + i).start(() -> {
+                while (System.nanoTime() < endNanos) {
+                    long start = System.nanoTime();
+                    send(sampler.next(), start, result);
+                }
+            }));
+        }
+        for (Thread user : users) {
+            user.join();
+        }
+        // 마지막 요청이 끝난 시각까지 (closed loop은 진행 중이던 요청을 마저 받는다)
+        result.finish(Duration.ofNanos(System.nanoTime() - startNanos));
+        return result;
+    }
+
+    Result runOpen(double rate, Duration duration) throws InterruptedException {
+        Result result = new Result();
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        QueryMix.Sampler sampler = queryMix.sampler();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = startNanos; scheduled < endNanos; scheduled += intervalNanos) {
+                long waitNanos = scheduled - System.nanoTime();
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                long intended = scheduled;
+                String query = sampler.next();
+                executor.execute(() -> send(query, intended, result));
+            }
+        } // 시작한 요청이 모두 끝날 때까지 기다린다
+        // 처리량은 보낸 구간 기준 (open loop의 목표 rate와 비교)
+        result.finish(duration);
+        return result;
+    }
+
+    private void send(String query, long startNanos, Result result) {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(searchUrl + URLEncoder.encode(query, StandardCharsets.UTF_8)))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        try {
+            // stream 모드도 done 이벤트까지 본문 전체를 받은 시점을 잰다
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            result.record(response.statusCode(), System.nanoTime() - startNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            result.recordError(System.nanoTime() - startNanos);
+        }
+    }
+
+    static final class Result {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder overloaded = new LongAdder();
+        final LongAdder otherStatus = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        Duration duration;
+
+        void record(int status, long elapsedNanos) {
+            if (status >= 200 && status < 300) {
+                ok.increment();
+            } else if (status == 503) {
+                overloaded.increment();
+            } else {
+                otherStatus.increment();
+            }
+            latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, elapsedNanos / 1_000));
+        }
+
+        void recordError(long elapsedNanos) {
+            errors.increment();
+            latencyMicros.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, elapsedNanos / 1_000));
+        }
+
+        void finish(Duration duration) {
+            this.duration = duration;
+        }
+
+        long total() {
+            return ok.sum() + overloaded.sum() + otherStatus.sum() + errors.sum();
+        }
+
+        double throughput() {
+            return total() / (duration.toMillis() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ai_search.loadtest;
+
+import com.example.ai_search.AiSearchApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * 오프라인 부하 테스트.
+ * 1. Brave / Gemini / 페이지 stub 서버를 띄운다 (지연 분포, 실패율 설정)
+ * 2. 실제 앱을 이 JVM에서 stub을 보도록 띄운다 (--target 이면 이미 떠 있는 앱 사용)
+ * 3. Zipf 분포 검색어로 warmup 후 측정 → 처리량, p50/p99/p999, 캐시 hit ratio, upstream 호출 수
+ * Redis는 실제로 필요하다 (REDIS_HOST/REDIS_PORT/REDIS_PASSWORD, 없으면 localhost:6379).
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int stubPort = options.getInt("stub-port");
+
+        try (PageStub pages = new PageStub(port(stubPort, 2), options.getLatency("page"),
+                     options.getInt("page-kb") * 1024);
+             BraveStub brave = new BraveStub(port(stubPort, 0), options.getLatency("brave"),
+                     pages.baseUrl(), options.getInt("pages"));
+             GeminiStub gemini = new GeminiStub(port(stubPort, 1), options.getLatency("gemini"),
+                     options.getInt("answer-chars"))) {
+            List<StubServer> stubs = List.of(brave, gemini, pages);
+            stubs.forEach(StubServer::start);
+
+            ConfigurableApplicationContext app = null;
+            String target = options.get("target");
+            if (target.isBlank()) {
+                app = startApp(options, brave, gemini);
+                target = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            } else {
+                System.out.printf("target %s (start it with --brave.api.base-url=%s --llm.api.base-url=%s)%n",
+                        target, brave.baseUrl(), gemini.baseUrl());
+            }
+
+            try {
+                run(options, target, stubs);
+            } finally {
+                if (app != null) {
+                    app.close();
+                }
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, String target, List<StubServer> stubs) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        QueryMix queryMix = new QueryMix(options.getInt("queries"), options.getDouble("zipf"),
+                options.getInt("seed"));
+        LoadDriver driver = new LoadDriver(httpClient, target, options.get("mode"), queryMix,
+                options.getDuration("request-timeout"));
+        AppMetrics appMetrics = new AppMetrics(target, httpClient);
+
+        System.out.printf("queries=%d, zipf=%s → top 10 = %.0f%%, top 100 = %.0f%% of requests%n",
+                queryMix.distinctQueries(), options.get("zipf"), queryMix.topShare(10) * 100,
+                queryMix.topShare(100) * 100);
+
+        System.out.printf("warmup %s ...%n", options.get("warmup"));
+        drive(driver, options, options.get("warmup"));
+
+        Map<String, Double> before = appMetrics.snapshot();
+        Map<String, Long> stubRequestsBefore = new LinkedHashMap<>();
+        stubs.forEach(stub -> stubRequestsBefore.put(stub.name(), stub.requestCount()));
+
+        System.out.printf("measure %s (mode=%s, %s) ...%n", options.get("duration"), options.get("mode"),
+                options.getDouble("rate") > 0 ? "rate=" + options.get("rate") + "/s"
+                        : "concurrency=" + options.get("concurrency"));
+        LoadDriver.Result result = drive(driver, options, options.get("duration"));
+
+        Map<String, Double> counters = AppMetrics.delta(before, appMetrics.snapshot());
+        Map<String, Object> report = LoadTestReport.build(options, result, counters, stubs, stubRequestsBefore);
+        LoadTestReport.print(report);
+        Path file = LoadTestReport.write(report, Path.of(options.get("out")));
+        System.out.println("report: " + file.toAbsolutePath());
+    }
+
+    private static LoadDriver.Result drive(LoadDriver driver, LoadTestOptions options, String duration)
+            throws InterruptedException {
+        double rate = options.getDouble("rate");
+        Duration length = DurationStyle.detectAndParse(duration);
+        return (rate > 0)
+                ? driver.runOpen(rate, length)
+                : driver.runClosed(options.getInt("concurrency"), length);
+    }
+
+    /**
+     * stub을 보도록 앱을 띄운다. 뒤에 오는 인자가 우선하므로 --app.* 등으로 설정을 덮어쓸 수 있다.
+     */
+    private static ConfigurableApplicationContext startApp(LoadTestOptions options, BraveStub brave,
+                                                           GeminiStub gemini) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + options.get("profile"),
+                "--server.port=0",
+                "--search.api.key=loadtest",
+                "--llm.api.key=loadtest",
+                "--brave.api.base-url=" + brave.baseUrl(),
+                "--llm.api.base-url=" + gemini.baseUrl(),
+                // stub에는 quota가 없다. 실제 quota로 돌리려면 --app.rate-limit.brave.permits-per-second=...
+                "--app.rate-limit.brave.permits-per-second=100000",
+                "--app.rate-limit.brave.burst=100000",
+                "--spring.data.redis.host=" + env("REDIS_HOST", "localhost"),
+                "--spring.data.redis.port=" + env("REDIS_PORT", "6379"),
+                "--spring.data.redis.password=" + env("REDIS_PASSWORD", "")));
+        args.addAll(options.appArgs());
+        return SpringApplication.run(AiSearchApplication.class, args.toArray(String[]::new));
+    }
+
+    private static int port(int base, int offset) {
+        return (base == 0) ? 0 : base + offset;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return (value != null) ? value : defaultValue;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ai_search.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * --key=value 인자. 아래 KEYS에 없는 인자(--app.*, --spring.* 등)는 앱 기동 인자로 넘긴다.
+ */
+final class LoadTestOptions {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("target", "");                  // 비우면 앱을 이 JVM에서 띄운다. 지정하면 이미 떠 있는 앱으로
+        DEFAULTS.put("profile", "dev");
+        DEFAULTS.put("mode", "api");                 // api(/api/search) | page(/search) | stream(/search/stream)
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("concurrency", "32");           // closed loop: 동시에 요청하는 가상 사용자 수
+        DEFAULTS.put("rate", "0");                   // > 0 이면 open loop (초당 요청 수 고정, 지연은 예정 시각부터 잰다)
+        DEFAULTS.put("queries", "1000");             // 서로 다른 검색어 수
+        DEFAULTS.put("zipf", "1.0");                 // Zipf 지수 (클수록 인기 검색어에 몰림)
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("brave", "median=150ms,p99=800ms,fail=0.01");
+        DEFAULTS.put("gemini", "median=1200ms,p99=4s,fail=0.02");
+        DEFAULTS.put("page", "median=80ms,p99=1s,fail=0.03");
+        DEFAULTS.put("pages", "300");                // stub 페이지 수
+        DEFAULTS.put("page-kb", "40");
+        DEFAULTS.put("answer-chars", "800");
+        DEFAULTS.put("stub-port", "0");              // 0이면 빈 포트. 지정하면 brave=port, gemini=port+1, pages=port+2
+        DEFAULTS.put("request-timeout", "30s");
+        DEFAULTS.put("out", "build/results/loadtest");
+    }
+
+    private static final Set<String> KEYS = DEFAULTS.keySet();
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+    private final List<String> appArgs = new ArrayList<>();
+
+    private LoadTestOptions() {
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but was: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (KEYS.contains(key)) {
+                options.values.put(key, arg.substring(arg.indexOf('=') + 1));
+            } else {
+                options.appArgs.add(arg);
+            }
+        }
+        return options;
+    }
+
+    String get(String key) {
+        return values.get(key);
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(values.get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(values.get(key));
+    }
+
+    Duration getDuration(String key) {
+        return DurationStyle.detectAndParse(values.get(key));
+    }
+
+    LatencyProfile getLatency(String key) {
+        return LatencyProfile.parse(values.get(key));
+    }
+
+    List<String> appArgs() {
+        return appArgs;
+    }
+
+    Map<String, String> asMap() {
+        return values;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ai_search.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 처리량 / 지연 percentile / 캐시 hit ratio / upstream 호출 수를 출력하고 JSON으로 남긴다.
+ * JSON 파일을 릴리스·모드별로 모아 두고 비교한다.
+ */
+final class LoadTestReport {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private LoadTestReport() {
+    }
+
+    static Map<String, Object> build(LoadTestOptions options, LoadDriver.Result result,
+                                     Map<String, Double> appCounters, List<StubServer> stubs,
+                                     Map<String, Long> stubRequestsBefore) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options.asMap());
+        report.put("appArgs", options.appArgs());
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("total", result.total());
+        requests.put("ok", result.ok.sum());
+        requests.put("overloaded503", result.overloaded.sum());
+        requests.put("otherStatus", result.otherStatus.sum());
+        requests.put("errors", result.errors.sum());
+        requests.put("durationSeconds", result.duration.toMillis() / 1000.0);
+        requests.put("throughputPerSecond", round(result.throughput()));
+        report.put("requests", requests);
+
+        Histogram histogram = result.latencyMicros;
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", round(histogram.getMean() / 1000.0));
+        report.put("latencyMs", latency);
+
+        Map<String, Object> cache = new LinkedHashMap<>();
+        double answerHits = appCounters.get("answer.hit") + appCounters.get("answer.stale")
+                + appCounters.get("answer.refresh_ahead");
+        cache.put("answerHitRatio", ratio(answerHits, answerHits + appCounters.get("answer.miss")));
+        for (String name : new String[]{"sourceCache", "pageContentCache"}) {
+            double l1 = appCounters.get(name + ".l1_hit");
+            double l2 = appCounters.get(name + ".l2_hit");
+            double total = l1 + l2 + appCounters.get(name + ".miss");
+            cache.put(name + "L1HitRatio", ratio(l1, total));
+            cache.put(name + "HitRatio", ratio(l1 + l2, total));
+        }
+        report.put("cache", cache);
+        report.put("appCounters", appCounters);
+
+        Map<String, Object> upstream = new LinkedHashMap<>();
+        for (StubServer stub : stubs) {
+            long calls = stub.requestCount() - stubRequestsBefore.getOrDefault(stub.name(), 0L);
+            upstream.put(stub.name() + "Calls", calls);
+            upstream.put(stub.name() + "CallsPerRequest", round(ratio(calls, result.total())));
+        }
+        report.put("upstream", upstream);
+        return report;
+    }
+
+    static void print(Map<String, Object> report) {
+        System.out.println();
+        System.out.println("==== load test result ====");
+        for (String section : new String[]{"requests", "latencyMs", "cache", "upstream"}) {
+            System.out.println("[" + section + "]");
+            ((Map<?, ?>) report.get(section)).forEach((key, value) ->
+                    System.out.printf("  %-26s %s%n", key, value));
+        }
+    }
+
+    static Path write(Map<String, Object> report, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("loadtest-" + LocalDateTime.now().format(FILE_TIME) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double ratio(double part, double total) {
+        return (total > 0) ? round(part / total) : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
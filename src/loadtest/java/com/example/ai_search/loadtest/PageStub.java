@@ -0,0 +1,62 @@
+package com.example.ai_search.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 출처 페이지 흉내. /page/{id} 마다 고정된 HTML (내비게이션 + 본문 + 사이드바)과 ETag.
+ * If-None-Match가 맞으면 304 (본문 캐시 재검증 경로).
+ */
+class PageStub extends StubServer {
+
+    private final int pageBytes;
+    private final Map<Integer, byte[]> pages = new ConcurrentHashMap<>();
+
+    PageStub(int port, LatencyProfile latency, int pageBytes) throws IOException {
+        super("pages", port, latency);
+        this.pageBytes = pageBytes;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (!path.startsWith("/page/")) {
+            respond(exchange, 404, "text/plain", new byte[0]);
+            return;
+        }
+        int id = Integer.parseInt(path.substring("/page/".length()));
+        String etag = "\"page-" + id + "-v1\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            respond(exchange, 304, "text/html; charset=utf-8", new byte[0]);
+            return;
+        }
+        respond(exchange, 200, "text/html; charset=utf-8", pages.computeIfAbsent(id, this::render));
+    }
+
+    private byte[] render(int id) {
+        StringBuilder html = new StringBuilder(pageBytes + 1024)
+                .append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Stub page ").append(id)
+                .append("</title><script>window.dataLayer=[];</script></head><body><header><nav><ul>");
+        for (int i = 0; i < 20; i++) {
+            html.append("<li><a href=\"/category/").append(i).append("\">카테고리 ").append(i).append("</a></li>");
+        }
+        html.append("</ul></nav></header><main><article><h1>Stub page ").append(id).append("</h1>");
+        int paragraph = 0;
+        while (html.length() < pageBytes) {
+            html.append("<p>페이지 ").append(id).append("의 ").append(++paragraph)
+                    .append("번째 문단입니다. 가상 스레드와 캐시, 타임아웃 설정에 대한 설명이 이어집니다. ")
+                    .append("This paragraph talks about throughput, latency percentiles and cache hit ratio.</p>");
+        }
+        html.append("</article></main><aside><ul>");
+        for (int i = 0; i < 30; i++) {
+            html.append("<li><a href=\"/page/").append(i).append("\">관련 글 ").append(i).append("</a></li>");
+        }
+        html.append("</ul></aside><footer>© stub</footer></body></html>");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
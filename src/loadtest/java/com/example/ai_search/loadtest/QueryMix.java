@@ -0,0 +1,83 @@
+package com.example.ai_search.loadtest;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포로 검색어를 고른다: rank k가 뽑힐 확률 ∝ 1 / k^s.
+ * 같은 rank라도 대소문자/공백이 다른 표기를 섞어 정규화 후 같은 캐시 key로 모이는지도 같이 본다.
+ */
+class QueryMix {
+
+    private static final String[] TOPICS = {
+            "가상 스레드", "spring boot cache", "redis ttl", "자바 gc 튜닝", "webclient timeout",
+            "caffeine eviction", "jfr 프로파일링", "circuit breaker", "kubernetes hpa", "postgres index"
+    };
+
+    private final double[] cdf;
+    private final SplittableRandom seeds;
+
+    QueryMix(int distinctQueries, double exponent, long seed) {
+        this.cdf = new double[distinctQueries];
+        double sum = 0;
+        for (int k = 1; k <= distinctQueries; k++) {
+            sum += 1.0 / Math.pow(k, exponent);
+            cdf[k - 1] = sum;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= sum;
+        }
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * 스레드마다 하나씩 (SplittableRandom은 스레드 안전하지 않음).
+     */
+    synchronized Sampler sampler() {
+        return new Sampler(seeds.split());
+    }
+
+    /**
+     * 상위 top개 검색어가 전체 요청에서 차지하는 비율 (분포 확인용).
+     */
+    double topShare(int top) {
+        return cdf[Math.min(top, cdf.length) - 1];
+    }
+
+    int distinctQueries() {
+        return cdf.length;
+    }
+
+    final class Sampler {
+
+        private final SplittableRandom random;
+
+        private Sampler(SplittableRandom random) {
+            this.random = random;
+        }
+
+        String next() {
+            int rank = rank(random.nextDouble()) + 1;
+            String query = TOPICS[rank % TOPICS.length] + " " + rank;
+            return switch (random.nextInt(4)) {
+                case 0 -> query.toUpperCase(Locale.ROOT);
+                case 1 -> "  " + query.replace(" ", "   ") + " ";
+                default -> query;
+            };
+        }
+
+        private int rank(double u) {
+            int low = 0;
+            int high = cdf.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cdf[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
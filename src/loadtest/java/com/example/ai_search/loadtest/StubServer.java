@@ -0,0 +1,130 @@
+package com.example.ai_search.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * upstream stub 공통: 요청마다 LatencyProfile만큼 지연 후 응답, 실패율만큼 503.
+ * 요청 하나에 virtual thread 하나 (지연은 sleep).
+ */
+@Slf4j
+abstract class StubServer implements AutoCloseable {
+
+    private final String name;
+    private final LatencyProfile latency;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    StubServer(String name, int port, LatencyProfile latency) throws IOException {
+        this.name = name;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::dispatch);
+    }
+
+    void start() {
+        server.start();
+        System.out.printf("stub %-7s %s  (%s)%n", name, baseUrl(), latency);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long requestCount() {
+        return requests.sum();
+    }
+
+    long failureCount() {
+        return failures.sum();
+    }
+
+    LatencyProfile latency() {
+        return latency;
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            drain(exchange.getRequestBody());
+            sleep(latency.sample().toNanos());
+            if (latency.shouldFail()) {
+                failures.increment();
+                respond(exchange, 503, "application/json", "{\"error\":\"stub failure\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            handle(exchange);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 끊은 경우 (타임아웃, progressive fetch 취소)
+            log.debug("Stub response aborted. name={}, reason={}", name, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected abstract void handle(HttpExchange exchange) throws IOException, InterruptedException;
+
+    protected static void respond(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        if (status == 304) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    protected static Map<String, String> queryParams(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    protected static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
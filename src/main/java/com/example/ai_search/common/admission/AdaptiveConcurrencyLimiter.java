@@ -0,0 +1,184 @@
+package com.example.ai_search.common.admission;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 동시에 처리 중인 작업 수 상한을 지연 시간으로 조절한다 (TCP Vegas 방식).
+ * - rttNoLoad: 최근 최소 처리 시간 (부하 없을 때의 시간). PROBE_INTERVAL 샘플마다 다시 잰다
+ * - 대기열 추정치 queue = limit × (1 - rttNoLoad / rtt)
+ *   queue가 alpha(3·log10 limit)보다 작으면 limit 증가, beta(6·log10 limit)보다 크면 감소
+ * - drop(타임아웃/fallback)이면 바로 감소
+ * - 처리 중인 작업이 limit의 절반도 안 되면(여유 있음) 늘리지 않는다
+ * 상한을 넘은 작업은 기다리게 하지 않고 바로 거절한다 (호출 측이 503 / 캐시 응답으로 대신).
+ *
+ * 우선순위: LOW는 limit × lowPriorityShare 까지만, HIGH는 limit 전체를 쓴다.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { HIGH, LOW }
+
+    private static final int PROBE_INTERVAL = 1_000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double lowPriorityShare;
+    private final LongSupplier nanoClock;
+
+    private double limit;
+    private int inFlight;
+    private long rttNoLoadNanos;
+    private int samplesSinceProbe;
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double lowPriorityShare) {
+        this(initialLimit, minLimit, maxLimit, lowPriorityShare, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double lowPriorityShare,
+                               LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.lowPriorityShare = lowPriorityShare;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 자리가 있으면 Permit, 없으면 empty (바로 거절).
+     */
+    public synchronized Optional<Permit> tryAcquire(Priority priority) {
+        double allowed = (priority == Priority.HIGH) ? limit : Math.max(1, Math.floor(limit * lowPriorityShare));
+        if (inFlight >= allowed) {
+            rejectedCount.increment();
+            return Optional.empty();
+        }
+        inFlight++;
+        return Optional.of(new LimiterPermit(nanoClock.getAsLong(), inFlight));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private synchronized void release(long rttNanos, int inFlightAtStart, boolean dropped, boolean sample) {
+        inFlight--;
+        if (!sample) {
+            return;
+        }
+        double previous = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, limit - step(limit));
+        } else {
+            updateRttNoLoad(rttNanos);
+            if (inFlightAtStart * 2 >= limit) {
+                double queue = limit * (1 - (double) rttNoLoadNanos / Math.max(1, rttNanos));
+                double log = step(limit);
+                if (queue <= log) {
+                    limit += 3 * log;      // 대기열이 거의 없음 → 빠르게 증가
+                } else if (queue < 3 * log) {
+                    limit += log;
+                } else if (queue > 6 * log) {
+                    limit -= log;
+                }
+                limit = Math.max(minLimit, Math.min(maxLimit, limit));
+            }
+        }
+        if ((int) previous != (int) limit) {
+            log.debug("Concurrency limit changed. {} -> {}, rttMs={}, rttNoLoadMs={}, dropped={}",
+                    (int) previous, (int) limit, rttNanos / 1_000_000, rttNoLoadNanos / 1_000_000, dropped);
+        }
+    }
+
+    private void updateRttNoLoad(long rttNanos) {
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            // 처리 시간 바닥이 바뀌었을 수 있다 (캐시 구성, upstream 변화) → 다시 잰다
+            samplesSinceProbe = 0;
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+        }
+    }
+
+    private static double step(double limit) {
+        return Math.max(1.0, Math.log10(limit));
+    }
+
+    /**
+     * 받은 자리. 작업이 끝나면 셋 중 하나를 한 번 부른다 (여러 번 불러도 한 번만 반영).
+     */
+    public interface Permit {
+
+        Permit NOOP = new Permit() {
+            @Override
+            public void onSuccess() {
+            }
+
+            @Override
+            public void onDropped() {
+            }
+
+            @Override
+            public void onIgnored() {
+            }
+        };
+
+        /** 정상 처리. 처리 시간을 limit 조절에 쓴다 */
+        void onSuccess();
+
+        /** 타임아웃/fallback 등 과부하 신호. limit을 줄인다 */
+        void onDropped();
+
+        /** 취소 등 판단에 쓰지 않을 종료. 자리만 돌려준다 */
+        void onIgnored();
+    }
+
+    private final class LimiterPermit implements Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private LimiterPermit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        @Override
+        public void onSuccess() {
+            finish(false, true);
+        }
+
+        @Override
+        public void onDropped() {
+            finish(true, true);
+        }
+
+        @Override
+        public void onIgnored() {
+            finish(false, false);
+        }
+
+        private void finish(boolean dropped, boolean sample) {
+            if (released.compareAndSet(false, true)) {
+                release(nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped, sample);
+            }
+        }
+    }
+}
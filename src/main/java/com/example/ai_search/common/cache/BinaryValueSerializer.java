@@ -0,0 +1,167 @@
+package com.example.ai_search.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * L2(Redis) 값 serializer. 등록된 ValueCodec이 있는 값은 바이너리로, 나머지는 fallback(JSON)으로 쓴다.
+ *
+ * 바이너리 값 배치:
+ *   [MAGIC][형식 버전][flags][codec tag] + 본문
+ *   flags & LZ4 이면 본문 = 원래 길이(varint) + LZ4 블록. compressThreshold 이상이고 실제로 줄어들 때만 압축
+ *
+ * 롤링 배포:
+ * - MAGIC으로 시작하지 않는 값(이전 버전이 쓴 JSON)은 fallback으로 읽는다
+ * - 모르는 형식 버전 / tag(새 버전 노드가 쓴 값)나 깨진 값은 예외 대신 null → 캐시 MISS로 처리되고 다시 채워진다
+ * - writeBinary=false면 읽기는 둘 다 하되 JSON으로만 쓴다. JSON만 읽는 이전 버전 노드가 남아 있는 동안 이 모드로 배포
+ */
+@Slf4j
+public class BinaryValueSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1; // JSON 값의 첫 바이트로는 나올 수 없는 값
+    static final int FORMAT_VERSION = 1;
+    static final int FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 4;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final List<ValueCodec<?>> codecs;
+    private final Map<Integer, ValueCodec<?>> codecsByTag = new HashMap<>();
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeBinary;
+    private final int compressThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4.safeDecompressor();
+
+    public BinaryValueSerializer(List<ValueCodec<?>> codecs, RedisSerializer<Object> fallback,
+                                 boolean writeBinary, int compressThreshold) {
+        this.codecs = List.copyOf(codecs);
+        for (ValueCodec<?> codec : codecs) {
+            if (codec.tag() < 1 || codec.tag() > 255 || codecsByTag.put(codec.tag(), codec) != null) {
+                throw new IllegalArgumentException("Invalid or duplicate codec tag: " + codec.tag());
+            }
+        }
+        this.fallback = fallback;
+        this.writeBinary = writeBinary;
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        ValueCodec<Object> codec = writeBinary ? (ValueCodec<Object>) codecFor(value) : null;
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+
+        ValueCodec.Output out = new ValueCodec.Output(256);
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(0);
+        out.writeByte(codec.tag());
+        codec.write(value, out);
+
+        int rawLength = out.size() - HEADER_SIZE;
+        if (rawLength >= compressThreshold) {
+            byte[] compressed = compress(out.buffer(), rawLength);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            log.warn("Unreadable cache value, treat as miss. reason=truncated header, bytes={}", bytes.length);
+            return null;
+        }
+
+        int version = bytes[1] & 0xFF;
+        int flags = bytes[2] & 0xFF;
+        int tag = bytes[3] & 0xFF;
+        ValueCodec<?> codec = codecsByTag.get(tag);
+        if (version != FORMAT_VERSION || codec == null) {
+            // 다른 버전 노드가 쓴 값. 롤링 배포 중에는 정상이므로 MISS로 넘긴다
+            log.debug("Unknown cache value format, treat as miss. version={}, tag={}", version, tag);
+            return null;
+        }
+
+        try {
+            ValueCodec.Input in = ((flags & FLAG_LZ4) != 0)
+                    ? decompress(bytes)
+                    : new ValueCodec.Input(bytes, HEADER_SIZE, bytes.length);
+            Object value = codec.read(in);
+            if (in.hasRemaining()) {
+                throw new IllegalStateException("trailing bytes");
+            }
+            return value;
+        } catch (RuntimeException e) {
+            log.warn("Unreadable cache value, treat as miss. tag={}, bytes={}, reason={}", tag, bytes.length, e.toString());
+            return null;
+        }
+    }
+
+    private ValueCodec<?> codecFor(Object value) {
+        if (value == null) {
+            return null;
+        }
+        for (ValueCodec<?> codec : codecs) {
+            if (codec.supports(value)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    // 압축해서 더 작을 때만 값을 돌려준다
+    private byte[] compress(byte[] buffer, int rawLength) {
+        ValueCodec.Output out = new ValueCodec.Output(HEADER_SIZE + 5 + compressor.maxCompressedLength(rawLength));
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(FLAG_LZ4);
+        out.writeByte(buffer[3]);
+        out.writeVarInt(rawLength);
+        byte[] target = out.buffer();
+        int compressedLength = compressor.compress(buffer, HEADER_SIZE, rawLength, target, out.size(),
+                target.length - out.size());
+        int total = out.size() + compressedLength;
+        if (total >= HEADER_SIZE + rawLength) {
+            return null;
+        }
+        byte[] result = new byte[total];
+        System.arraycopy(target, 0, result, 0, total);
+        return result;
+    }
+
+    private ValueCodec.Input decompress(byte[] bytes) {
+        ValueCodec.Input header = new ValueCodec.Input(bytes, HEADER_SIZE, bytes.length);
+        int rawLength = header.readVarInt();
+        int offset = header.position();
+        // LZ4 최대 압축률(약 255배)을 넘는 길이는 깨진 값
+        if (rawLength < 0 || rawLength > (long) (bytes.length - offset) * 255) {
+            throw new IllegalStateException("invalid raw length " + rawLength);
+        }
+        byte[] raw = new byte[rawLength];
+        int length = decompressor.decompress(bytes, offset, bytes.length - offset, raw, 0, rawLength);
+        if (length != rawLength) {
+            throw new IllegalStateException("decompressed length mismatch");
+        }
+        return new ValueCodec.Input(raw, 0, rawLength);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ai_search.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 다른 노드가 보낸 무효화 메시지를 받아 이 노드의 L1만 비운다.
+ */
+@Slf4j
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final String nodeId;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + CacheInvalidationPublisher.SEPARATOR, 4);
+        if (parts.length < 4) {
+            log.warn("Malformed cache invalidation message. body='{}'", body);
+            return;
+        }
+
+        // 내가 보낸 메시지는 이미 로컬에 반영했으므로 무시
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = cacheManager.getTwoLevelCache(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[2])) {
+            cache.clearLocal();
+            log.debug("L1 cleared by remote node. cache={}, from={}", parts[1], parts[0]);
+        } else {
+            cache.evictLocal(parts[3]);
+            log.debug("L1 evicted by remote node. cache={}, key='{}', from={}", parts[1], parts[3], parts[0]);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ai_search.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis가 잠시 죽어 있어도 애플리케이션 기동은 막지 않는 리스너 컨테이너.
+ * 구독 실패 시 경고만 남기고 일정 간격으로 재구독을 시도한다.
+ * (그동안 다른 노드의 L1은 L1 TTL까지만 오래된 값을 볼 수 있음)
+ */
+@Slf4j
+public class CacheInvalidationListenerContainer extends RedisMessageListenerContainer {
+
+    private final Duration retryInterval;
+    private final ScheduledExecutorService retryScheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "cache-invalidation-resubscribe");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private volatile boolean destroyed = false;
+
+    public CacheInvalidationListenerContainer(Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        try {
+            super.start();
+        } catch (Exception e) {
+            log.warn("Cache invalidation subscribe failed. retry in {} ms. reason={}",
+                    retryInterval.toMillis(), e.toString());
+            scheduleResubscribe();
+        }
+    }
+
+    private void scheduleResubscribe() {
+        if (destroyed) {
+            return;
+        }
+        retryScheduler.schedule(() -> {
+            if (destroyed || isListening()) {
+                return;
+            }
+            super.stop();
+            start();
+        }, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        destroyed = true;
+        retryScheduler.shutdownNow();
+        super.destroy();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ai_search.common.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * L1 무효화 메시지를 Redis pub/sub 채널로 브로드캐스트한다.
+ * 메시지 포맷: {nodeId}|{cacheName}|{EVICT|CLEAR}|{key}
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String SEPARATOR = "|";
+    static final String EVICT = "EVICT";
+    static final String CLEAR = "CLEAR";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(String.join(SEPARATOR, nodeId, cacheName, EVICT, String.valueOf(key)));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, cacheName, CLEAR, ""));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // 브로드캐스트 실패는 다른 노드 L1이 TTL까지 오래된 값을 볼 수 있다는 의미일 뿐, 요청은 계속 진행
+            log.warn("Cache invalidation publish failed. channel={}, reason={}", channel, e.toString());
+        }
+    }
+}
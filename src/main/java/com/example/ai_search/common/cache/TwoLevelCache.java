@@ -0,0 +1,258 @@
+package com.example.ai_search.common.cache;
+
+import com.example.ai_search.common.jfr.CacheLookupEvent;
+import com.example.ai_search.common.jfr.JfrEvents;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * L1(로컬 Caffeine) + L2(Redis) 2단계 캐시.
+ * - 조회: L1 → (MISS) L2 → (HIT) L1 채움
+ * - 저장/삭제: L2, L1 모두 반영 후 다른 노드에 L1 무효화 브로드캐스트
+ * 조회 결과(L1 HIT / L2 HIT / MISS)는 지표용으로 세고, 조회마다 JFR CacheLookupEvent를 남긴다.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                         Cache remote,
+                         CacheInvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheLookupEvent event = lookupEvent(false);
+        Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            log.debug("L1 HIT. cache={}, key='{}'", name, key);
+            localHits.increment();
+            commit(event, key, "l1_hit");
+            return new SimpleValueWrapper(localValue);
+        }
+
+        ValueWrapper remoteValue;
+        try {
+            remoteValue = remote.get(key);
+        } catch (RuntimeException e) {
+            commit(event, key, JfrEvents.outcome(e));
+            throw e;
+        }
+        if (remoteValue != null && remoteValue.get() != null) {
+            log.debug("L2 HIT. cache={}, key='{}'", name, key);
+            remoteHits.increment();
+            local.put(key, remoteValue.get());
+            commit(event, key, "l2_hit");
+            return remoteValue;
+        }
+
+        log.debug("L1/L2 MISS. cache={}, key='{}'", name, key);
+        misses.increment();
+        commit(event, key, "miss");
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        // 같은 노드 안에서는 Caffeine이 key 단위로 로딩을 직렬화해준다
+        return (T) local.get(key, k -> {
+            try {
+                T loaded = valueLoader.call();
+                if (loaded != null) {
+                    remote.put(k, loaded);
+                    invalidationPublisher.publishEvict(name, k);
+                }
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(k, valueLoader, e);
+            }
+        });
+    }
+
+    /**
+     * 비동기 조회 (Mono/CompletableFuture 반환 @Cacheable 용).
+     * L1 HIT는 즉시 완료, MISS면 L2 비동기 조회 후 L1 채움.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CacheLookupEvent event = lookupEvent(true);
+        Object localValue = local.getIfPresent(key);
+        if (localValue != null) {
+            log.debug("L1 HIT (async). cache={}, key='{}'", name, key);
+            localHits.increment();
+            commit(event, key, "l1_hit");
+            return CompletableFuture.completedFuture(new SimpleValueWrapper(localValue));
+        }
+
+        CompletableFuture<?> remoteFuture = remote.retrieve(key);
+        if (remoteFuture == null) {
+            misses.increment();
+            commit(event, key, "miss");
+            return null;
+        }
+        return remoteFuture.<Object>thenApply(result -> {
+            Object value = (result instanceof ValueWrapper wrapper) ? wrapper.get() : result;
+            if (value == null) {
+                misses.increment();
+                commit(event, key, "miss");
+                return null;
+            }
+            remoteHits.increment();
+            local.put(key, value);
+            commit(event, key, "l2_hit");
+            return new SimpleValueWrapper(value);
+        }).whenComplete((result, error) -> {
+            if (error != null) {
+                commit(event, key, JfrEvents.outcome(error));
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        CompletableFuture<?> cached = retrieve(key);
+        CompletableFuture<?> lookup = (cached != null) ? cached : CompletableFuture.completedFuture(null);
+
+        return lookup.thenCompose(result -> {
+            if (result instanceof ValueWrapper wrapper && wrapper.get() != null) {
+                return CompletableFuture.completedFuture((T) wrapper.get());
+            }
+            return valueLoader.get().thenApply(loaded -> {
+                if (loaded != null) {
+                    put(key, loaded);
+                }
+                return loaded;
+            });
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(key, value);
+        } else {
+            local.invalidate(key);
+        }
+        // 다른 노드의 L1에 남아있는 이전 값을 버리게 한다 (다음 조회 때 L2에서 새 값 로딩)
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object effective = (existing != null) ? existing.get() : value;
+        if (effective != null) {
+            local.put(key, effective);
+        }
+        if (existing == null) {
+            invalidationPublisher.publishEvict(name, key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    private CacheLookupEvent lookupEvent(boolean async) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        event.async = async;
+        return event;
+    }
+
+    // key 해시는 녹화 중일 때만 계산한다
+    private void commit(CacheLookupEvent event, Object key, String result) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.cache = name;
+        event.keyHash = JfrEvents.hash(key);
+        event.result = result;
+        event.commit();
+    }
+
+    /**
+     * 다른 노드에서 받은 무효화 메시지 처리용. L2는 이미 반영되어 있으므로 L1만 비운다.
+     */
+    public void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public long getLocalHitCount() {
+        return localHits.sum();
+    }
+
+    public long getRemoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
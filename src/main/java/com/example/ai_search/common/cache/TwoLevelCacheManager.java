@@ -0,0 +1,59 @@
+package com.example.ai_search.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시별로 L1 크기/TTL을 따로 갖는 TwoLevelCache 묶음.
+ * L2 TTL은 remoteCacheManager(RedisCacheManager)의 캐시별 설정을 따른다.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final Map<String, TwoLevelCache> caches;
+
+    public TwoLevelCacheManager(List<LocalCacheSpec> specs,
+                                CacheManager remoteCacheManager,
+                                CacheInvalidationPublisher invalidationPublisher) {
+        Map<String, TwoLevelCache> map = new LinkedHashMap<>();
+        for (LocalCacheSpec spec : specs) {
+            Cache remote = remoteCacheManager.getCache(spec.name());
+            if (remote == null) {
+                throw new IllegalStateException("Remote cache not configured: " + spec.name());
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+                    .maximumSize(spec.maximumSize())
+                    .expireAfterWrite(spec.ttl())
+                    .build();
+            map.put(spec.name(), new TwoLevelCache(spec.name(), local, remote, invalidationPublisher));
+        }
+        this.caches = Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    public TwoLevelCache getTwoLevelCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * L1(Caffeine) 설정. L1 TTL은 L2 TTL보다 길면 안 된다.
+     */
+    public record LocalCacheSpec(String name, long maximumSize, Duration ttl) {
+    }
+}
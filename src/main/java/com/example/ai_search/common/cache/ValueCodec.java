@@ -0,0 +1,153 @@
+package com.example.ai_search.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * BinaryValueSerializer가 값 종류 하나를 바이트로 쓰고 읽는 방법.
+ * tag는 Redis에 값과 함께 저장되므로 한 번 쓴 tag의 배치(필드 순서/종류)는 바꾸지 않는다.
+ * 필드를 추가/변경하려면 새 tag로 codec을 추가하고, 이전 tag는 TTL이 지날 때까지 읽기용으로 남겨 둔다.
+ */
+public interface ValueCodec<T> {
+
+    /** 1 ~ 255, codec마다 고유 */
+    int tag();
+
+    boolean supports(Object value);
+
+    void write(T value, Output out);
+
+    T read(Input in);
+
+    /**
+     * 쓰기 버퍼. 정수는 varint, 문자열은 (UTF-8 길이 + 1) varint + 바이트 (0 = null).
+     */
+    final class Output {
+
+        private byte[] buffer;
+        private int size;
+
+        Output(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        public void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        public void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        byte[] buffer() {
+            return buffer;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * 읽기 버퍼. 잘린 값이면 IllegalStateException.
+     */
+    final class Input {
+
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+
+        Input(byte[] buffer, int offset, int limit) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.limit = limit;
+        }
+
+        public int readByte() {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        public int readVarInt() {
+            long value = readVarLong();
+            if ((value >>> 32) != 0) {
+                throw new IllegalStateException("varint overflow");
+            }
+            return (int) value;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("varint too long");
+        }
+
+        public String readString() {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            length--;
+            require(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        int position() {
+            return position;
+        }
+
+        boolean hasRemaining() {
+            return position < limit;
+        }
+
+        private void require(int length) {
+            if (length < 0 || position + length > limit) {
+                throw new IllegalStateException("truncated value");
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ai_search.common.concurrent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 노드 간 single-flight용 짧은 Redis lease (SET NX PX).
+ * lease가 만료되면 자동으로 풀리므로 leader 노드가 죽어도 다른 노드가 이어받을 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLease {
+
+    private static final String KEY_PREFIX = "ai-search:lease:";
+
+    // 내가 잡은 lease일 때만 지운다 (만료 후 다른 노드가 잡은 lease를 지우지 않도록)
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * @return 획득 성공 시 token, 다른 노드가 이미 잡고 있으면 empty.
+     *         Redis 장애 시에는 로컬에서라도 진행하도록 token을 돌려준다.
+     */
+    public Optional<String> tryAcquire(String key, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean ok = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, token, ttl);
+            return Boolean.TRUE.equals(ok) ? Optional.of(token) : Optional.empty();
+        } catch (Exception e) {
+            log.warn("Redis lease acquire failed, proceed without lease. key='{}', reason={}", key, e.toString());
+            return Optional.of(token);
+        }
+    }
+
+    public boolean isHeld(String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + key));
+        } catch (Exception e) {
+            log.warn("Redis lease check failed. key='{}', reason={}", key, e.toString());
+            return false;
+        }
+    }
+
+    public void release(String key, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + key), token);
+        } catch (Exception e) {
+            // 해제 실패해도 TTL 지나면 풀린다
+            log.warn("Redis lease release failed. key='{}', reason={}", key, e.toString());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ai_search.common.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key로 동시에 들어온 호출을 하나로 합친다 (노드 로컬).
+ * - 첫 호출(leader)만 supplier를 실행
+ * - 나머지(follower)는 같은 future 결과를 기다린다
+ * - 완료되면 key를 지우므로 결과 재사용(캐시)은 하지 않는다
+ */
+@Slf4j
+public class SingleFlight<T> {
+
+    private final String name;
+    private final ConcurrentMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public T execute(String key, Supplier<T> supplier) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            log.debug("SingleFlight JOIN. name={}, key='{}'", name, key);
+            return join(existing);
+        }
+
+        try {
+            T result = supplier.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 비동기 버전. leader는 supplier가 돌려준 future가 끝날 때 key를 정리한다.
+     * 동기 execute와 같은 map을 쓰므로 동기/비동기 호출끼리도 합쳐진다.
+     */
+    public CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> supplier) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            log.debug("SingleFlight JOIN (async). name={}, key='{}'", name, key);
+            return existing;
+        }
+
+        try {
+            supplier.get().whenComplete((result, error) -> {
+                inFlight.remove(key, mine);
+                if (error != null) {
+                    mine.completeExceptionally(error);
+                } else {
+                    mine.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+}
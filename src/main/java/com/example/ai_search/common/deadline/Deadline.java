@@ -0,0 +1,79 @@
+package com.example.ai_search.common.deadline;
+
+import java.time.Duration;
+
+/**
+ * 요청 단위 마감 시각.
+ * 각 단계는 자기 타임아웃 대신 min(자기 타임아웃, 남은 시간)을 쓴다.
+ * 마감이 없는 경우(백그라운드 갱신 등)는 none() → 각 단계 타임아웃을 그대로 쓴다.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0L, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 남은 시간. 마감이 없으면 Long.MAX_VALUE 나노초.
+     */
+    public Duration remaining() {
+        if (!bounded) {
+            return Duration.ofNanos(Long.MAX_VALUE);
+        }
+        return Duration.ofNanos(Math.max(0L, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * 남은 시간이 최소 이만큼은 있는지 (재시도를 시작해도 되는지 판단용).
+     */
+    public boolean hasAtLeast(Duration required) {
+        return remaining().compareTo(required) >= 0;
+    }
+
+    /**
+     * 이 마감과 (지금 + timeout) 중 더 이른 쪽. 단계별 타임아웃을 요청 마감 안으로 줄일 때 쓴다.
+     */
+    public Deadline within(Duration timeout) {
+        long stageExpiresAt = System.nanoTime() + timeout.toNanos();
+        if (!bounded || stageExpiresAt - expiresAtNanos < 0) {
+            return new Deadline(stageExpiresAt, true);
+        }
+        return this;
+    }
+
+    public Duration cap(Duration timeout) {
+        Duration remaining = remaining();
+        return (remaining.compareTo(timeout) < 0) ? remaining : timeout;
+    }
+
+    public long capMillis(long timeoutMillis) {
+        return Math.min(timeoutMillis, remaining().toMillis());
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remainingMs=" + remaining().toMillis() + "]" : "Deadline[none]";
+    }
+}
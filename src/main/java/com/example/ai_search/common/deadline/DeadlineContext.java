@@ -0,0 +1,82 @@
+package com.example.ai_search.common.deadline;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * 현재 요청의 Deadline을 스레드에 붙여 둔다 (MdcContext와 같은 방식).
+ * - 요청 스레드: DeadlineFilter가 set/clear
+ * - 다른 스레드로 넘길 때: wrap(...), 리액티브 체인은 attach(...)/from(...)
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return (deadline != null) ? deadline : Deadline.none();
+    }
+
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 리액티브 체인에서는 ThreadLocal 대신 Reactor Context로 넘긴다.
+     * 호출 측: contextWrite(DeadlineContext.attach(deadline)), 구현 측: deferContextual + from(ctx)
+     */
+    public static Function<Context, Context> attach(Deadline deadline) {
+        return ctx -> ctx.put(Deadline.class, deadline);
+    }
+
+    public static Deadline from(ContextView ctx) {
+        return ctx.getOrDefault(Deadline.class, current());
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        return wrap(CURRENT.get(), task);
+    }
+
+    public static <T> Callable<T> wrap(Deadline deadline, Callable<T> task) {
+        return () -> {
+            Deadline previous = CURRENT.get();
+            restore(deadline);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Deadline captured = CURRENT.get();
+        return () -> {
+            Deadline previous = CURRENT.get();
+            restore(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ai_search.common.deadline;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 요청마다 Deadline을 정한다.
+ * - X-Request-Budget-Ms 헤더가 있으면 그 값 (app.deadline.max 이하로 제한)
+ * - 없으면 app.deadline.default
+ */
+@Slf4j
+@Component
+@Order(2) // MdcTraceIdFilter 다음
+public class DeadlineFilter implements Filter {
+
+    static final String HEADER_BUDGET_MS = "X-Request-Budget-Ms";
+
+    @Value("${app.deadline.default:15s}")
+    private Duration defaultBudget;
+
+    @Value("${app.deadline.max:30s}")
+    private Duration maxBudget;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        Duration budget = resolveBudget((HttpServletRequest) request);
+        DeadlineContext.set(Deadline.after(budget));
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DeadlineContext.clear();
+        }
+    }
+
+    private Duration resolveBudget(HttpServletRequest request) {
+        String header = request.getHeader(HEADER_BUDGET_MS);
+        if (header == null || header.isBlank()) {
+            return defaultBudget;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis <= 0) {
+                return defaultBudget;
+            }
+            Duration requested = Duration.ofMillis(millis);
+            return (requested.compareTo(maxBudget) > 0) ? maxBudget : requested;
+        } catch (NumberFormatException e) {
+            log.debug("Invalid {} header: '{}'", HEADER_BUDGET_MS, header);
+            return defaultBudget;
+        }
+    }
+}
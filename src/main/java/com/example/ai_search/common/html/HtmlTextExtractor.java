@@ -0,0 +1,409 @@
+package com.example.ai_search.common.html;
+
+import org.jsoup.nodes.Entities;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DOM을 만들지 않고 HTML 바이트를 조각 단위로 받아 본문 텍스트만 뽑는 스트리밍 추출기.
+ * - script/style 내용, nav/footer/aside/noscript/template/svg/iframe 하위 텍스트는 버린다
+ * - 블록 태그 경계는 공백 하나로, 연속 공백은 하나로 합친다
+ * - maxChars가 차면 isFull() == true → 호출 측은 더 읽지 않고 연결을 끊으면 된다
+ * - 블록 경계마다 링크 글자 수/인라인 태그 수를 같이 세어 blocks()로 넘긴다 (본문 판별은 MainContentSelector)
+ * 페이지 크기와 무관하게 메모리는 출력(maxChars) + 디코딩 버퍼 정도만 쓴다. 한 번의 fetch에서만 쓰고 버린다.
+ */
+public final class HtmlTextExtractor {
+
+    private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style");
+
+    private static final Set<String> SKIPPED_TAGS = Set.of(
+            "nav", "footer", "aside", "noscript", "template", "svg", "iframe"
+    );
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "p", "div", "br", "li", "ul", "ol", "h1", "h2", "h3", "h4", "h5", "h6",
+            "tr", "td", "th", "table", "section", "article", "main", "header",
+            "blockquote", "pre", "hr", "dd", "dt", "dl", "title", "body", "figcaption"
+    );
+
+    private static final int MAX_TAG_NAME = 32;
+    private static final int MAX_ENTITY = 10;
+    private static final int SNIFF_BYTES = 1024;
+    private static final Pattern META_CHARSET =
+            Pattern.compile("charset\\s*=\\s*[\"']?([A-Za-z0-9_\\-:.]+)", Pattern.CASE_INSENSITIVE);
+
+    private enum State { TEXT, TAG_OPEN, BANG, COMMENT, DECLARATION, TAG_NAME, IN_TAG, RAW_TEXT, ENTITY }
+
+    private final int maxChars;
+    private final StringBuilder out;
+    private final StringBuilder tagName = new StringBuilder(MAX_TAG_NAME);
+    private final StringBuilder entity = new StringBuilder(MAX_ENTITY);
+
+    private Charset charset;
+    private CharsetDecoder decoder;
+    private final CharBuffer chars = CharBuffer.allocate(4096);
+    private ByteBuffer leftover;
+
+    private State state = State.TEXT;
+    private boolean closing;
+    private boolean selfClosing;
+    private char quote;
+    private int dashes;
+    private String rawEnd;
+    private int rawMatched;
+    private int skipDepth;
+    private boolean pendingSpace;
+    private boolean full;
+
+    private final List<TextBlock> blocks = new ArrayList<>();
+    private int blockStart;
+    private int blockLinkChars;
+    private int blockTags;
+    private int linkDepth;
+
+    /**
+     * @param charset 응답 헤더의 charset. null이면 첫 조각의 meta 태그로 판단하고, 없으면 UTF-8
+     */
+    public HtmlTextExtractor(Charset charset, int maxChars) {
+        this.charset = charset;
+        this.maxChars = maxChars;
+        this.out = new StringBuilder(Math.min(maxChars + 1, 4096));
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public String text() {
+        flushDecoder();
+        return (out.length() > maxChars) ? out.substring(0, maxChars) : out.toString();
+    }
+
+    /**
+     * text()를 블록 단위로 나눈 것. 빈 블록은 빠진다.
+     */
+    public List<TextBlock> blocks() {
+        flushDecoder();
+        closeBlock();
+        return List.copyOf(blocks);
+    }
+
+    /**
+     * 바이트 조각을 이어서 처리한다. 멀티바이트 문자가 조각 경계에 걸려도 다음 조각과 합쳐 디코딩한다.
+     * @return 더 읽을 필요가 없으면 true
+     */
+    public boolean feed(ByteBuffer bytes) {
+        if (full) {
+            return true;
+        }
+        if (decoder == null) {
+            initDecoder(bytes);
+        }
+
+        ByteBuffer input = bytes;
+        if (leftover != null && leftover.hasRemaining()) {
+            input = ByteBuffer.allocate(leftover.remaining() + bytes.remaining()).put(leftover).put(bytes).flip();
+            leftover = null;
+        }
+
+        while (true) {
+            chars.clear();
+            CoderResult result = decoder.decode(input, chars, false);
+            chars.flip();
+            feed(chars);
+            // UNDERFLOW: 입력을 다 썼음 (남은 바이트가 있다면 다음 조각과 합쳐야 하는 불완전 문자)
+            if (full || result.isUnderflow()) {
+                break;
+            }
+        }
+
+        if (!full && input.hasRemaining()) {
+            leftover = ByteBuffer.allocate(input.remaining()).put(input).flip();
+        }
+        return full;
+    }
+
+    public boolean feed(CharSequence text) {
+        for (int i = 0; i < text.length() && !full; i++) {
+            process(text.charAt(i));
+        }
+        return full;
+    }
+
+    private void initDecoder(ByteBuffer firstChunk) {
+        if (charset == null) {
+            charset = sniffCharset(firstChunk);
+        }
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    private void flushDecoder() {
+        if (decoder == null || full) {
+            return;
+        }
+        chars.clear();
+        ByteBuffer rest = (leftover != null) ? leftover : ByteBuffer.allocate(0);
+        decoder.decode(rest, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        feed(chars);
+        leftover = null;
+        decoder = null;
+    }
+
+    static Charset sniffCharset(ByteBuffer head) {
+        int length = Math.min(head.remaining(), SNIFF_BYTES);
+        byte[] bytes = new byte[length];
+        head.duplicate().get(bytes);
+
+        Matcher matcher = META_CHARSET.matcher(new String(bytes, StandardCharsets.ISO_8859_1));
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (IllegalArgumentException ignored) {
+                // 모르는 charset 이름이면 기본값
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private void process(char c) {
+        switch (state) {
+            case TEXT -> {
+                if (c == '<') {
+                    state = State.TAG_OPEN;
+                } else if (c == '&' && skipDepth == 0) {
+                    entity.setLength(0);
+                    state = State.ENTITY;
+                } else if (skipDepth == 0) {
+                    appendText(c);
+                }
+            }
+            case TAG_OPEN -> {
+                if (c == '/') {
+                    startTag(true);
+                } else if (c == '!') {
+                    dashes = 0;
+                    state = State.BANG;
+                } else if (c == '?') {
+                    state = State.DECLARATION;
+                } else if (Character.isLetter(c)) {
+                    startTag(false);
+                    tagName.append(Character.toLowerCase(c));
+                } else {
+                    // 태그가 아닌 '<' 문자
+                    state = State.TEXT;
+                    if (skipDepth == 0) {
+                        appendText('<');
+                    }
+                    process(c);
+                }
+            }
+            case BANG -> {
+                if (c == '-' && ++dashes == 2) {
+                    dashes = 0;
+                    state = State.COMMENT;
+                } else if (c != '-') {
+                    state = (c == '>') ? State.TEXT : State.DECLARATION;
+                }
+            }
+            case COMMENT -> {
+                if (c == '-') {
+                    dashes++;
+                } else if (c == '>' && dashes >= 2) {
+                    state = State.TEXT;
+                } else {
+                    dashes = 0;
+                }
+            }
+            case DECLARATION -> {
+                if (c == '>') {
+                    state = State.TEXT;
+                }
+            }
+            case TAG_NAME -> {
+                if (Character.isLetterOrDigit(c) || c == '-' || c == ':') {
+                    if (tagName.length() < MAX_TAG_NAME) {
+                        tagName.append(Character.toLowerCase(c));
+                    }
+                } else if (c == '>') {
+                    endTag();
+                } else {
+                    state = State.IN_TAG;
+                    selfClosing = (c == '/');
+                }
+            }
+            case IN_TAG -> {
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    endTag();
+                } else if (!Character.isWhitespace(c)) {
+                    selfClosing = (c == '/');
+                }
+            }
+            case RAW_TEXT -> {
+                char lower = Character.toLowerCase(c);
+                if (lower == rawEnd.charAt(rawMatched)) {
+                    if (++rawMatched == rawEnd.length()) {
+                        startTag(true);
+                        tagName.append(rawEnd, 2, rawEnd.length());
+                        state = State.IN_TAG;
+                    }
+                } else {
+                    rawMatched = (c == '<') ? 1 : 0;
+                }
+            }
+            case ENTITY -> {
+                if (c == ';') {
+                    appendEntity();
+                    state = State.TEXT;
+                } else if ((Character.isLetterOrDigit(c) || c == '#') && entity.length() < MAX_ENTITY) {
+                    entity.append(c);
+                } else {
+                    // 엔티티가 아니었음 → 원문 그대로
+                    appendText('&');
+                    appendChars(entity);
+                    state = State.TEXT;
+                    process(c);
+                }
+            }
+        }
+    }
+
+    private void startTag(boolean isClosing) {
+        closing = isClosing;
+        selfClosing = false;
+        quote = 0;
+        tagName.setLength(0);
+        state = State.TAG_NAME;
+    }
+
+    private void endTag() {
+        String name = tagName.toString();
+        state = State.TEXT;
+
+        if ("a".equals(name)) {
+            if (closing) {
+                linkDepth = Math.max(0, linkDepth - 1);
+            } else if (!selfClosing) {
+                linkDepth++;
+            }
+        }
+
+        if (closing) {
+            if (SKIPPED_TAGS.contains(name) && skipDepth > 0) {
+                skipDepth--;
+            }
+        } else if (RAW_TEXT_TAGS.contains(name) && !selfClosing) {
+            rawEnd = "</" + name;
+            rawMatched = 0;
+            state = State.RAW_TEXT;
+        } else if (SKIPPED_TAGS.contains(name) && !selfClosing) {
+            skipDepth++;
+        }
+
+        if (BLOCK_TAGS.contains(name)) {
+            closeBlock();
+            pendingSpace = true;
+        } else if (skipDepth == 0) {
+            blockTags++;
+        }
+    }
+
+    private void closeBlock() {
+        int end = Math.min(out.length(), maxChars);
+        if (end > blockStart) {
+            String text = out.substring(blockStart, end).strip();
+            if (!text.isEmpty()) {
+                blocks.add(new TextBlock(text, Math.min(blockLinkChars, text.length()), blockTags));
+            }
+        }
+        blockStart = Math.max(blockStart, end);
+        blockLinkChars = 0;
+        blockTags = 0;
+    }
+
+    private void appendEntity() {
+        String name = entity.toString();
+        switch (name) {
+            case "amp" -> appendText('&');
+            case "lt" -> appendText('<');
+            case "gt" -> appendText('>');
+            case "quot" -> appendText('"');
+            case "apos" -> appendText('\'');
+            case "nbsp" -> appendText(' ');
+            default -> {
+                int codePoint = numericEntity(name);
+                if (codePoint > 0) {
+                    appendChars(new String(Character.toChars(codePoint)));
+                } else if (Entities.isNamedEntity(name)) {
+                    // 나머지 이름 엔티티(&middot; &hellip; &copy; ...)는 jsoup 엔티티 표로 푼다
+                    appendChars(Entities.getByName(name));
+                } else {
+                    appendText('&');
+                    appendChars(name);
+                    appendText(';');
+                }
+            }
+        }
+    }
+
+    private static int numericEntity(String name) {
+        if (name.length() < 2 || name.charAt(0) != '#') {
+            return -1;
+        }
+        try {
+            int codePoint = (name.charAt(1) == 'x' || name.charAt(1) == 'X')
+                    ? Integer.parseInt(name.substring(2), 16)
+                    : Integer.parseInt(name.substring(1));
+            return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void appendChars(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            appendText(text.charAt(i));
+        }
+    }
+
+    private void appendText(char c) {
+        if (full) {
+            return;
+        }
+        if (Character.isWhitespace(c) || c == '\u00A0') {
+            pendingSpace = true;
+            return;
+        }
+        if (pendingSpace && out.length() > 0) {
+            out.append(' ');
+        }
+        pendingSpace = false;
+        out.append(c);
+        if (linkDepth > 0) {
+            blockLinkChars++;
+        }
+        if (out.length() >= maxChars) {
+            full = true;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ai_search.common.html;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * HtmlTextExtractor가 나눈 블록 중 본문으로 보이는 것만 남긴다 (readability / boilerpipe 식 얕은 판별).
+ * - 링크 비율이 높은 블록(메뉴, 관련 글 목록, 태그 목록)은 버린다
+ * - 충분히 길고 태그 대비 글자가 많은 블록은 본문
+ * - 짧은 블록(소제목, 캡션)은 앞이나 뒤가 본문일 때만 남긴다
+ * 본문 블록이 하나도 없으면(짧은 페이지) 링크 블록만 뺀 전체를 쓴다.
+ * 결과는 블록마다 줄바꿈으로 이어서 PassageSelector가 블록 경계를 알 수 있게 한다.
+ */
+public final class MainContentSelector {
+
+    private static final double MAX_CONTENT_LINK_DENSITY = 0.33;
+    private static final double MAX_KEPT_LINK_DENSITY = 0.5;
+    private static final int MIN_CONTENT_CHARS = 50;
+    private static final double MIN_TEXT_DENSITY = 10.0;
+
+    private MainContentSelector() {
+    }
+
+    public static String select(List<TextBlock> blocks) {
+        int size = blocks.size();
+        boolean[] content = new boolean[size];
+        boolean anyContent = false;
+        for (int i = 0; i < size; i++) {
+            content[i] = isContent(blocks.get(i));
+            anyContent |= content[i];
+        }
+
+        StringJoiner joiner = new StringJoiner("\n");
+        for (int i = 0; i < size; i++) {
+            TextBlock block = blocks.get(i);
+            if (block.linkDensity() > MAX_KEPT_LINK_DENSITY) {
+                continue;
+            }
+            boolean nearContent = (i > 0 && content[i - 1]) || (i + 1 < size && content[i + 1]);
+            if (!anyContent || content[i] || (nearContent && block.linkDensity() <= MAX_CONTENT_LINK_DENSITY)) {
+                joiner.add(block.text());
+            }
+        }
+        return joiner.toString();
+    }
+
+    private static boolean isContent(TextBlock block) {
+        return block.linkDensity() <= MAX_CONTENT_LINK_DENSITY
+                && block.text().length() >= MIN_CONTENT_CHARS
+                && block.textDensity() >= MIN_TEXT_DENSITY;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ai_search.common.html;
+
+/**
+ * 블록 태그(p, div, li, h1 ...) 경계로 나뉜 텍스트 한 덩어리.
+ * @param linkChars 이 블록 텍스트 중 a 태그 안에 있던 글자 수 (공백 제외)
+ * @param tagCount  블록 안에 있던 인라인 태그 수
+ */
+public record TextBlock(String text, int linkChars, int tagCount) {
+
+    /**
+     * 링크 글자 비율. 메뉴/관련 글 목록/태그 클라우드는 1에 가깝다.
+     */
+    public double linkDensity() {
+        return text.isEmpty() ? 0.0 : (double) linkChars / text.length();
+    }
+
+    /**
+     * 태그 하나당 글자 수. 본문 문단은 크고, 버튼/아이콘 나열은 작다.
+     */
+    public double textDensity() {
+        return (double) text.length() / (tagCount + 1);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Brave 검색 API 호출 한 번(시도). rate limiter 대기는 포함하지 않는다.
+ */
+@Name("ai_search.BraveCall")
+@Label("Brave Call")
+@Category({JfrEvents.CATEGORY, "Upstream"})
+@Description("Brave 검색 API 호출 한 번 (재시도는 시도마다 따로)")
+@StackTrace(false)
+public class BraveCallEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Attempt")
+    public int attempt;
+
+    @Label("Result Count")
+    public int resultCount;
+
+    @Label("Outcome")
+    public String outcome;
+}
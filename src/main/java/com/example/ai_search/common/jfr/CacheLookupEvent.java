@@ -0,0 +1,32 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * TwoLevelCache 조회 한 번 (L1 → L2).
+ */
+@Name("ai_search.CacheLookup")
+@Label("Cache Lookup")
+@Category({JfrEvents.CATEGORY, "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key Hash")
+    @Description("검색어 캐시는 Query Hash와 같은 값")
+    public String keyHash;
+
+    @Label("Async")
+    public boolean async;
+
+    @Label("Result")
+    @Description("l1_hit | l2_hit | miss | 예외 이름")
+    public String result;
+}
@@ -0,0 +1,150 @@
+package com.example.ai_search.common.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 상시 JFR 녹화 (ring buffer). 최근 max-age / max-size 만큼만 메모리·디스크에 남기고 오래된 것부터 버린다.
+ * 지연이 튀었을 때 dump로 직전 구간을 파일로 떨군다.
+ * - 시작: app.jfr.continuous.enabled=true 로 기동하거나 /actuator/jfr (start)
+ * - 설정 프로파일: JDK 기본 "default"(오버헤드 약 1%) / "profile"(할당·락 샘플 더 자세히, 약 2%)
+ * 파이프라인 이벤트(ai_search.*)는 프로파일과 무관하게 항상 켠다.
+ */
+@Slf4j
+@Component
+public class ContinuousRecording {
+
+    static final String RECORDING_NAME = "ai-search-continuous";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String[] PIPELINE_EVENTS = {
+            "ai_search.SearchPipeline", "ai_search.BraveCall", "ai_search.PageFetch",
+            "ai_search.PromptBuild", "ai_search.GeminiAttempt", "ai_search.CacheLookup"
+    };
+
+    @Value("${app.jfr.continuous.enabled:false}")
+    private boolean enabledOnStartup;
+
+    @Value("${app.jfr.settings:default}")
+    private String settings;
+
+    @Value("${app.jfr.max-age:10m}")
+    private Duration maxAge;
+
+    @Value("${app.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    @Value("${app.jfr.dump-dir:${java.io.tmpdir}}")
+    private Path dumpDir;
+
+    private Recording recording;
+
+    public ContinuousRecording() {
+    }
+
+    ContinuousRecording(String settings, Duration maxAge, long maxSizeMb, Path dumpDir) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSizeMb = maxSizeMb;
+        this.dumpDir = dumpDir;
+    }
+
+    @PostConstruct
+    void startOnStartup() {
+        if (enabledOnStartup) {
+            start();
+        }
+    }
+
+    /**
+     * 이미 녹화 중이면 그대로 둔다.
+     */
+    public synchronized void start() {
+        if (isRecording()) {
+            return;
+        }
+        Recording next = new Recording(loadSettings());
+        next.setName(RECORDING_NAME);
+        next.setToDisk(true);
+        next.setMaxAge(maxAge);
+        next.setMaxSize(maxSizeMb * 1024 * 1024);
+        for (String event : PIPELINE_EVENTS) {
+            next.enable(event);
+        }
+        next.start();
+        recording = next;
+        log.info("JFR continuous recording started. settings={}, maxAge={}, maxSizeMb={}", settings, maxAge, maxSizeMb);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        recording = null;
+        log.info("JFR continuous recording stopped.");
+    }
+
+    /**
+     * 지금까지 버퍼에 남은 구간을 dump-dir/ai-search-{시각}.jfr 로 쓴다. 녹화는 계속된다.
+     */
+    public synchronized Path dump() {
+        if (!isRecording()) {
+            throw new IllegalStateException("JFR continuous recording is not running");
+        }
+        Path file = dumpDir.resolve("ai-search-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        try {
+            Files.createDirectories(dumpDir);
+            recording.dump(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JFR dump failed: " + file, e);
+        }
+        log.info("JFR recording dumped. file={}", file);
+        return file;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("recording", isRecording());
+        status.put("settings", settings);
+        status.put("maxAge", maxAge.toString());
+        status.put("maxSizeMb", maxSizeMb);
+        status.put("dumpDir", dumpDir.toString());
+        if (recording != null) {
+            status.put("startTime", String.valueOf(recording.getStartTime()));
+            status.put("bufferedBytes", recording.getSize());
+        }
+        return status;
+    }
+
+    private Configuration loadSettings() {
+        try {
+            return Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+    }
+}
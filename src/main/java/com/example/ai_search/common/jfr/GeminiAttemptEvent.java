@@ -0,0 +1,42 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Gemini generateContent 호출 한 번. hedge 호출은 hedge=true인 별도 이벤트로 남는다.
+ * bulkhead permit 대기는 포함하지 않는다.
+ */
+@Name("ai_search.GeminiAttempt")
+@Label("Gemini Attempt")
+@Category({JfrEvents.CATEGORY, "Upstream"})
+@Description("Gemini 호출 한 번 (재시도/hedge는 호출마다 따로)")
+@StackTrace(false)
+public class GeminiAttemptEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Model")
+    public String model;
+
+    @Label("Mode")
+    @Description("sync | async")
+    public String mode;
+
+    @Label("Hedge")
+    public boolean hedge;
+
+    @Label("Prompt Chars")
+    public int promptChars;
+
+    @Label("Answer Chars")
+    public int answerChars;
+
+    @Label("Outcome")
+    public String outcome;
+}
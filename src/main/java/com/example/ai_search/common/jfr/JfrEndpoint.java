@@ -0,0 +1,46 @@
+package com.example.ai_search.common.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/jfr
+ * - GET: 녹화 상태
+ * - POST {"action": "start" | "stop" | "dump"} (잘못된 action은 400): dump는 서버의 dump-dir에 파일을 쓰고 경로를 돌려준다
+ * 노출은 management.endpoints.web.exposure.include 로 정한다 (prod는 노출하지 않고 기동 플래그 + jcmd 사용).
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private final ContinuousRecording continuousRecording;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return continuousRecording.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(String action) {
+        switch (action) {
+            case "start" -> continuousRecording.start();
+            case "stop" -> continuousRecording.stop();
+            case "dump" -> {
+                if (!continuousRecording.isRecording()) {
+                    throw new InvalidEndpointRequestException("JFR recording is not running", "start first");
+                }
+                return Map.of("file", continuousRecording.dump().toString());
+            }
+            default -> throw new InvalidEndpointRequestException(
+                    "Unknown action: " + action, "action must be start, stop or dump");
+        }
+        return continuousRecording.status();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ai_search.common.jfr;
+
+import reactor.core.Exceptions;
+
+import java.net.URI;
+
+/**
+ * 파이프라인 JFR 이벤트에 넣는 값 헬퍼.
+ * 이벤트에는 검색어 원문 대신 짧은 해시만 남긴다 (녹화 파일을 밖으로 보내도 검색어가 드러나지 않게).
+ */
+public final class JfrEvents {
+
+    public static final String CATEGORY = "AI Search";
+
+    public static final String CANCELLED = "cancelled";
+
+    private JfrEvents() {
+    }
+
+    /**
+     * 같은 값이면 같은 해시 (한 검색의 이벤트끼리 묶어 보기용). FNV-1a 64bit.
+     */
+    public static String hash(String value) {
+        if (value == null) {
+            return null;
+        }
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return Long.toHexString(h);
+    }
+
+    public static String hash(Object value) {
+        return (value != null) ? hash(value.toString()) : null;
+    }
+
+    /**
+     * 실패 결과 이름 (예외 클래스 이름).
+     */
+    public static String outcome(Throwable error) {
+        return Exceptions.unwrap(error).getClass().getSimpleName();
+    }
+
+    public static String hostOf(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 출처 페이지 GET 한 번 (조건부 재검증 포함). fresh 캐시 HIT는 네트워크를 타지 않으므로 남기지 않는다.
+ */
+@Name("ai_search.PageFetch")
+@Label("Page Fetch")
+@Category({JfrEvents.CATEGORY, "Upstream"})
+@Description("출처 페이지 요청 한 번과 받은 바이트 / 추출한 글자 수")
+@StackTrace(false)
+public class PageFetchEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Host")
+    public String host;
+
+    @Label("Revalidation")
+    @Description("캐시된 본문이 있어 조건부 GET(If-None-Match / If-Modified-Since)으로 보냈는지")
+    public boolean revalidation;
+
+    @Label("HTTP Status")
+    public int status;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+
+    @Label("Text Chars")
+    public int chars;
+
+    @Label("Outcome")
+    @Description("ok | not_modified | 예외 이름 | cancelled")
+    public String outcome;
+}
@@ -0,0 +1,35 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 프롬프트 조립 (passage 선택, 중복 제거, 토큰 예산 맞추기).
+ */
+@Name("ai_search.PromptBuild")
+@Label("Prompt Build")
+@Category({JfrEvents.CATEGORY, "Pipeline"})
+@StackTrace(false)
+public class PromptBuildEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Sources")
+    public int sources;
+
+    @Label("Passages")
+    public int passages;
+
+    @Label("Duplicates Dropped")
+    public int duplicates;
+
+    @Label("Prompt Tokens")
+    public int promptTokens;
+
+    @Label("Prompt Chars")
+    public int promptChars;
+}
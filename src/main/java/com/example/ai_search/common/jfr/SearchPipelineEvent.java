@@ -0,0 +1,33 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 캐시 MISS 후 실행한 검색 파이프라인 전체 (Brave → 본문 수집 → LLM).
+ * 같은 Query Hash의 하위 이벤트(BraveCall, PageFetch, PromptBuild, GeminiAttempt)가 이 구간 안에 들어온다.
+ */
+@Name("ai_search.SearchPipeline")
+@Label("Search Pipeline")
+@Category({JfrEvents.CATEGORY, "Pipeline"})
+@StackTrace(false)
+public class SearchPipelineEvent extends Event {
+
+    @Label("Query Hash")
+    public String queryHash;
+
+    @Label("Path")
+    @Description("sync | async")
+    public String path;
+
+    @Label("Sources")
+    public int sources;
+
+    @Label("Outcome")
+    @Description("ok | fallback | 예외 이름 | cancelled")
+    public String outcome;
+}
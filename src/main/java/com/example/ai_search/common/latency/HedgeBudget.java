@@ -0,0 +1,33 @@
+package com.example.ai_search.common.latency;
+
+/**
+ * 추가(hedge) 호출 수를 전체 호출의 일정 비율로 묶는 토큰 버킷.
+ * 원 호출마다 ratio만큼 적립하고 hedge 한 번에 1을 쓴다 → 장기적으로 hedge ≤ ratio × 호출 수.
+ * 적립 상한(maxTokens)이 있어서 한가할 때 쌓아 둔 토큰으로 장애 순간에 hedge가 몰리지 않는다.
+ */
+public final class HedgeBudget {
+
+    // 0.1 같은 비율을 더해도 오차가 쌓이지 않도록 1/1000 토큰 단위 정수로 센다
+    private static final long UNIT = 1000;
+
+    private final long ratio;
+    private final long maxTokens;
+    private long tokens;
+
+    public HedgeBudget(double ratio, double maxTokens) {
+        this.ratio = Math.round(ratio * UNIT);
+        this.maxTokens = Math.round(maxTokens * UNIT);
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < UNIT) {
+            return false;
+        }
+        tokens -= UNIT;
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ai_search.common.latency;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 최근 capacity개 호출의 지연 시간을 링 버퍼로 들고 있다가 percentile을 계산한다.
+ * 오래된 값은 새 값에 덮여 자연스럽게 빠지므로 모델/네트워크 상태가 바뀌면 몇 백 건 안에 따라간다.
+ * 샘플이 minSamples보다 적으면 percentile은 비어 있다 (호출 측이 고정값을 쓰도록).
+ */
+public final class RollingLatencyWindow {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int size;
+
+    public RollingLatencyWindow(int capacity, int minSamples) {
+        this.samples = new long[capacity];
+        this.minSamples = minSamples;
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toMillis();
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param quantile 0.0 ~ 1.0 (예: 0.95)
+     */
+    public Optional<Duration> percentile(double quantile) {
+        long[] copy;
+        synchronized (this) {
+            if (size < minSamples) {
+                return Optional.empty();
+            }
+            copy = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(quantile * copy.length) - 1;
+        return Optional.of(Duration.ofMillis(copy[Math.max(0, Math.min(index, copy.length - 1))]));
+    }
+}
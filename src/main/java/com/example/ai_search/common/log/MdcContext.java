@@ -0,0 +1,49 @@
+package com.example.ai_search.common.log;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 다른 스레드(executor, Reactor scheduler)로 넘어갈 때 MDC(traceId)를 같이 넘겨준다.
+ */
+public final class MdcContext {
+
+    private MdcContext() {
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            restore(captured);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> captured = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            restore(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ai_search.common.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * 여러 노드가 함께 쓰는 token bucket. TokenBucket과 같은 예약 방식을 Lua 스크립트 하나로 원자적으로 수행한다.
+ * 시각은 Redis TIME을 써서 노드 간 시계 차이에 영향받지 않는다.
+ * Redis 호출이 실패하면 empty를 돌려주고, 호출 측이 로컬 bucket으로 대신한다.
+ */
+@Slf4j
+public class RedisTokenBucket {
+
+    // KEYS[1] = bucket hash (tokens, ts)
+    // ARGV = permitsPerSecond, burst, maxWaitMicros
+    // 반환: 기다릴 시간(µs), maxWait 안에 차례가 오지 않으면 -1
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            local rate = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local max_wait = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or burst
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(burst, tokens + (now - ts) * rate / 1000000)
+            local wait = 0
+            if tokens < 1 then
+              wait = math.ceil((1 - tokens) * 1000000 / rate)
+            end
+            if wait > max_wait then
+              return -1
+            end
+            tokens = tokens - 1
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil((burst - tokens) * 1000 / rate) + 1000)
+            return wait
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String key;
+    private final double permitsPerSecond;
+    private final int burst;
+
+    public RedisTokenBucket(StringRedisTemplate redisTemplate, String key, double permitsPerSecond, int burst) {
+        this.redisTemplate = redisTemplate;
+        this.key = key;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * @return 기다릴 시간(ns, maxWait 초과면 -1). Redis 장애 시 empty.
+     */
+    public OptionalLong reserve(Duration maxWait) {
+        try {
+            Long waitMicros = redisTemplate.execute(RESERVE_SCRIPT, List.of(key),
+                    String.valueOf(permitsPerSecond), String.valueOf(burst), String.valueOf(maxWait.toNanos() / 1_000));
+            if (waitMicros == null) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(waitMicros < 0 ? -1 : waitMicros * 1_000);
+        } catch (Exception e) {
+            log.warn("Redis rate limiter failed, fallback to local bucket. key='{}', reason={}", key, e.toString());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ai_search.common.ratelimit;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 로컬 token bucket (예약 방식).
+ * - 초당 permitsPerSecond개씩 채우고, 최대 burst개까지 쌓는다
+ * - 토큰이 없으면 거절 대신 "다음 토큰이 생길 시각"을 예약하고 기다릴 시간을 돌려준다 (토큰이 음수 = 대기열)
+ * - 기다릴 시간이 maxWait를 넘으면 예약하지 않고 -1
+ * 호출 측은 돌려받은 시간만큼 기다린 뒤 호출한다.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+        this.permitsPerNano = permitsPerSecond / Duration.ofSeconds(1).toNanos();
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 토큰 하나를 예약한다.
+     * @return 호출 전에 기다려야 하는 시간(ns, 0이면 바로), maxWait 안에 차례가 오지 않으면 -1
+     */
+    public synchronized long reserve(Duration maxWait) {
+        refill();
+        long waitNanos = (tokens >= 1) ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        if (waitNanos > maxWait.toNanos()) {
+            return -1;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    /**
+     * 지금 바로 쓸 수 있는 토큰 수 (대기 중인 예약이 있으면 음수).
+     */
+    public synchronized double getAvailable() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ai_search.common.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 외부 API별 동시 호출 상한. 한 API가 느려져도 그 API를 기다리는 호출만 maxConcurrent개까지 쌓이고
+ * 나머지는 바로 거절되므로, 요청 스레드/커넥션이 한 곳에 다 묶이지 않는다.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 기다리지 않고 자리를 잡는다 (논블로킹 경로용).
+     */
+    public boolean tryAcquire() {
+        boolean acquired = permits.tryAcquire();
+        if (!acquired) {
+            rejectedCount.increment();
+        }
+        return acquired;
+    }
+
+    /**
+     * 최대 wait 만큼 기다린다. interrupt되면 false.
+     */
+    public boolean tryAcquire(Duration wait) {
+        long waitNanos = wait.toNanos();
+        try {
+            boolean acquired = waitNanos > 0 && permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejectedCount.increment();
+            }
+            return acquired;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedCount.increment();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ai_search.common.resilience;
+
+/**
+ * circuit이 열려 있거나 bulkhead가 가득 차서 외부 호출을 하지 않고 거절했을 때.
+ * 재시도 대상이 아니다.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.ai_search.common.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 외부 API 하나(Brave, Gemini)에 대한 circuit breaker.
+ * - CLOSED: 최근 windowSize건의 결과를 링 버퍼로 보관. minimumCalls 이상 쌓였고 실패율이 threshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 호출을 바로 거절 (호출 측은 즉시 fallback)
+ * - HALF_OPEN: openDuration이 지나면 halfOpenCalls건만 시험 호출. 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 사용법: tryAcquirePermission() → 호출 → onSuccess() / onError() / onIgnored() 중 하나
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    // true = 실패
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public CircuitBreaker(String name, int failureRateThreshold, int windowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls) {
+        this(name, failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureRateThreshold, int windowSize, int minimumCalls,
+                   Duration openDuration, int halfOpenCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 호출해도 되는지 확인하고, HALF_OPEN이면 시험 호출 자리를 하나 잡는다.
+     * false면 호출하지 말고 바로 fallback.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && openElapsed()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        boolean permitted = switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (halfOpenInFlight + halfOpenSuccesses < halfOpenCalls) {
+                    halfOpenInFlight++;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+        if (!permitted) {
+            rejectedCount.increment();
+        }
+        return permitted;
+    }
+
+    /**
+     * 자리를 잡지 않고 지금 호출이 거절될지만 본다 (앞 단계를 건너뛸지 판단용).
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> openElapsed();
+            case HALF_OPEN -> halfOpenInFlight + halfOpenSuccesses < halfOpenCalls;
+        };
+    }
+
+    public synchronized void onSuccess() {
+        successCount.increment();
+        if (state == State.HALF_OPEN) {
+            // 시험 자리를 잡지 않은 호출(OPEN 전에 나가 있던 호출)의 성공은 시험 결과로 세지 않는다
+            if (halfOpenInFlight > 0) {
+                halfOpenInFlight--;
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onError() {
+        failureCount.increment();
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+        }
+    }
+
+    /**
+     * 결과를 판단에 쓰지 않는 호출 (4xx 같은 요청 측 오류, 마감 전 취소). 시험 호출 자리만 돌려준다.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return (recorded == 0) ? 0.0 : (double) failures / recorded;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean openElapsed() {
+        return nanoClock.getAsLong() - openedAtNanos >= openDurationNanos;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length && outcomes[next]) {
+            failures--;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        recorded = Math.min(recorded + 1, outcomes.length);
+        if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State target) {
+        State previous = state;
+        state = target;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        if (target == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+        log.warn("Circuit state changed. name={}, {} -> {}", name, previous, target);
+    }
+}
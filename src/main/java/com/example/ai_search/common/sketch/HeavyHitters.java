@@ -0,0 +1,155 @@
+package com.example.ai_search.common.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 스트림에서 자주 나오는 항목 상위 K개를 고정 메모리로 추적한다.
+ * - count-min sketch (depth × width 카운터): 항목별 횟수 추정. 실제보다 작게 추정하지 않는다
+ *   conservative update: 추정값(행별 최소)보다 작은 칸만 올려 과대 추정을 줄인다
+ * - top-K: 추정값 기준 min-heap. 새 항목의 추정값이 heap 최소값보다 크면 최소 항목을 밀어낸다
+ * - decay(): 모든 카운터를 절반으로 → 오래전 인기보다 최근 인기를 따른다
+ */
+public class HeavyHitters {
+
+    public record Counted(String item, long count) {
+    }
+
+    private static final Comparator<Slot> BY_COUNT =
+            Comparator.comparingLong((Slot slot) -> slot.count).thenComparing(slot -> slot.item);
+
+    private final int k;
+    private final int depth;
+    private final int width;
+    private final long[][] counters;
+    private final PriorityQueue<Slot> heap;
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    public HeavyHitters(int k, int depth, int width) {
+        if (k < 1 || depth < 1 || width < 1) {
+            throw new IllegalArgumentException("k, depth and width must be positive");
+        }
+        this.k = k;
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth][width];
+        this.heap = new PriorityQueue<>(k + 1, BY_COUNT);
+    }
+
+    /**
+     * 한 번 나왔음을 기록하고 추정 횟수를 돌려준다.
+     */
+    public synchronized long add(String item) {
+        int[] columns = columns(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][columns[row]]);
+        }
+        long updated = estimate + 1;
+        for (int row = 0; row < depth; row++) {
+            if (counters[row][columns[row]] < updated) {
+                counters[row][columns[row]] = updated;
+            }
+        }
+
+        Slot slot = slots.get(item);
+        if (slot != null) {
+            heap.remove(slot);
+            slot.count = updated;
+            heap.add(slot);
+        } else if (slots.size() < k) {
+            slot = new Slot(item, updated);
+            slots.put(item, slot);
+            heap.add(slot);
+        } else if (heap.peek().count < updated) {
+            Slot evicted = heap.poll();
+            slots.remove(evicted.item);
+            slot = new Slot(item, updated);
+            slots.put(item, slot);
+            heap.add(slot);
+        }
+        return updated;
+    }
+
+    public synchronized long estimate(String item) {
+        int[] columns = columns(item);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row][columns[row]]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 상위 항목 (많은 순).
+     */
+    public synchronized List<Counted> top() {
+        List<Counted> top = new ArrayList<>(slots.size());
+        for (Slot slot : slots.values()) {
+            top.add(new Counted(slot.item, slot.count));
+        }
+        top.sort(Comparator.comparingLong(Counted::count).reversed().thenComparing(Counted::item));
+        return top;
+    }
+
+    /**
+     * 모든 카운트를 절반으로. 0이 된 top-K 항목은 뺀다.
+     */
+    public synchronized void decay() {
+        for (long[] row : counters) {
+            for (int i = 0; i < width; i++) {
+                row[i] >>= 1;
+            }
+        }
+        List<Slot> kept = new ArrayList<>(slots.size());
+        for (Slot slot : slots.values()) {
+            slot.count >>= 1;
+            if (slot.count > 0) {
+                kept.add(slot);
+            }
+        }
+        heap.clear();
+        slots.clear();
+        for (Slot slot : kept) {
+            heap.add(slot);
+            slots.put(slot.item, slot);
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    // 행마다 다른 해시: 64비트 해시 두 개로 h1 + row × h2 (Kirsch-Mitzenmacher)
+    private int[] columns(String item) {
+        long h = mix(item.hashCode() * 0x9E3779B97F4A7C15L + item.length());
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        int[] columns = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            columns[row] = Math.floorMod(h1 + row * h2, width);
+        }
+        return columns;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Slot {
+        private final String item;
+        private long count;
+
+        private Slot(String item, long count) {
+            this.item = item;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ai_search.common.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 짧은 문자열(검색어) key를 토큰 집합으로 색인하고, Jaccard 유사도가 threshold 이상인 가장 비슷한 key를 찾는다.
+ * - MinHash 서명(BANDS × ROWS 개)을 band로 나눈 LSH 버킷으로 후보를 고른다 (전체를 훑지 않음)
+ *   ROWS=4, BANDS=16: 유사도 0.8이면 거의 항상, 0.4면 1/3 정도 후보가 된다
+ * - 후보는 저장된 토큰 집합으로 정확한 Jaccard를 다시 계산해 확인 (짧은 검색어는 MinHash 추정 오차가 크다)
+ * - 최대 maxEntries개. 넘으면 가장 오래 쓰이지 않은 key부터 뺀다
+ */
+public class MinHashIndex {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    private static final int NUM_HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    public record Match(String key, double similarity) {
+    }
+
+    private record Entry(Set<String> tokens, long[] bandHashes) {
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<String>> buckets = new HashMap<>();
+
+    public MinHashIndex(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * key를 색인한다 (이미 있으면 최근 사용으로만 갱신). 토큰이 없으면 무시.
+     */
+    public synchronized void put(String key, Set<String> tokens) {
+        if (tokens.isEmpty() || entries.get(key) != null) {
+            return;
+        }
+        Entry entry = new Entry(Set.copyOf(tokens), bandHashes(tokens));
+        entries.put(key, entry);
+        for (long bandHash : entry.bandHashes()) {
+            buckets.computeIfAbsent(bandHash, h -> new HashSet<>()).add(key);
+        }
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+        }
+    }
+
+    public synchronized void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(key, entry);
+        }
+    }
+
+    /**
+     * tokens와 Jaccard 유사도가 threshold 이상인 key 중 가장 비슷한 것 (exclude는 후보에서 뺀다).
+     */
+    public Optional<Match> findMostSimilar(Set<String> tokens, double threshold, String exclude) {
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+        long[] bandHashes = bandHashes(tokens);
+
+        synchronized (this) {
+            Set<String> candidates = new HashSet<>();
+            for (long bandHash : bandHashes) {
+                Set<String> bucket = buckets.get(bandHash);
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            candidates.remove(exclude);
+
+            Match best = null;
+            for (String candidate : candidates) {
+                double similarity = jaccard(tokens, entries.get(candidate).tokens());
+                if (similarity >= threshold && (best == null || similarity > best.similarity()
+                        || (similarity == best.similarity() && candidate.compareTo(best.key()) < 0))) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+            if (best != null) {
+                entries.get(best.key()); // 최근 사용으로 표시
+            }
+            return Optional.ofNullable(best);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        Set<String> smaller = (a.size() <= b.size()) ? a : b;
+        Set<String> larger = (smaller == a) ? b : a;
+        int intersection = 0;
+        for (String token : smaller) {
+            if (larger.contains(token)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    private void unlink(String key, Entry entry) {
+        for (long bandHash : entry.bandHashes()) {
+            Set<String> bucket = buckets.get(bandHash);
+            if (bucket != null && bucket.remove(key) && bucket.isEmpty()) {
+                buckets.remove(bandHash);
+            }
+        }
+    }
+
+    // band마다 ROWS개 MinHash 값을 묶어 해시. band 번호도 섞어 band끼리 버킷이 겹치지 않게 한다
+    private static long[] bandHashes(Set<String> tokens) {
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String token : tokens) {
+            long base = token.hashCode() * 0xC2B2AE3D27D4EB4FL;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long h = mix(base ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+
+        long[] bands = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long h = band;
+            for (int row = 0; row < ROWS; row++) {
+                h = mix(h * 31 + signature[band * ROWS + row]);
+            }
+            bands[band] = h;
+        }
+        return bands;
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.ai_search.common.text;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+/**
+ * 페이지 본문을 passage로 나누고, 검색어와의 BM25 점수가 높은 것부터 charBudget이 찰 때까지 고른다.
+ * - passage: 줄(블록) 단위로 묶되 짧은 줄은 다음 줄과 합치고, 긴 줄은 문장 경계에서 자른다
+ * - 토큰: 소문자 + 영문/숫자 단어, 한글은 조사가 붙어도 맞도록 2글자 단위(bigram)
+ * - IDF는 같은 페이지의 passage들 기준
+ * 고른 passage는 원래 순서대로 이어 붙인다. 검색어와 겹치는 passage가 없으면 앞부분을 쓴다.
+ */
+public final class PassageSelector {
+
+    private static final int MIN_PASSAGE_CHARS = 150;
+    private static final int MAX_PASSAGE_CHARS = 500;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final String SEPARATOR = " … ";
+
+    private PassageSelector() {
+    }
+
+    public static String select(String query, String content, int charBudget) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        if (content.length() <= charBudget) {
+            return content.replace('\n', ' ');
+        }
+
+        List<String> passages = split(content);
+        double[] scores = bm25(query, passages);
+
+        List<Integer> ranked = IntStream.range(0, passages.size())
+                .filter(i -> scores[i] > 0)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed()
+                        .thenComparingInt(i -> i))
+                .toList();
+        if (ranked.isEmpty()) {
+            // 겹치는 단어가 없으면 관련도를 알 수 없으니 앞부분(리드)을 쓴다
+            ranked = IntStream.range(0, passages.size()).boxed().toList();
+        }
+
+        boolean[] selected = new boolean[passages.size()];
+        int used = 0;
+        for (int i : ranked) {
+            int cost = passages.get(i).length() + (used == 0 ? 0 : SEPARATOR.length());
+            if (used + cost <= charBudget) {
+                selected[i] = true;
+                used += cost;
+            }
+        }
+
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        for (int i = 0; i < passages.size(); i++) {
+            if (selected[i]) {
+                joiner.add(passages.get(i));
+            }
+        }
+        String result = joiner.toString();
+        return result.isEmpty() ? passages.get(ranked.get(0)).substring(0, charBudget) : result;
+    }
+
+    /**
+     * 줄(블록) 경계와 문장 경계로 150~500자 passage를 만든다. select() 결과처럼 줄바꿈이 없는 글은 문장 단위로 나뉜다.
+     */
+    public static List<String> split(String content) {
+        List<String> passages = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String line : content.split("\n")) {
+            String block = line.strip();
+            if (block.isEmpty()) {
+                continue;
+            }
+            if (block.length() > MAX_PASSAGE_CHARS) {
+                flush(current, passages);
+                splitSentences(block, passages);
+                continue;
+            }
+            if (current.length() > 0 && current.length() + 1 + block.length() > MAX_PASSAGE_CHARS) {
+                flush(current, passages);
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(block);
+            if (current.length() >= MIN_PASSAGE_CHARS) {
+                flush(current, passages);
+            }
+        }
+        flush(current, passages);
+        return passages;
+    }
+
+    private static void splitSentences(String block, List<String> passages) {
+        StringBuilder current = new StringBuilder();
+        int sentenceStart = 0;
+        for (int i = 0; i < block.length(); i++) {
+            char c = block.charAt(i);
+            boolean sentenceEnd = (c == '.' || c == '?' || c == '!' || c == '。')
+                    && (i + 1 == block.length() || Character.isWhitespace(block.charAt(i + 1)));
+            if (sentenceEnd || i + 1 == block.length()) {
+                appendSentence(block.substring(sentenceStart, i + 1).strip(), current, passages);
+                sentenceStart = i + 1;
+            }
+        }
+        flush(current, passages);
+    }
+
+    private static void appendSentence(String sentence, StringBuilder current, List<String> passages) {
+        if (current.length() > 0 && current.length() + 1 + sentence.length() > MAX_PASSAGE_CHARS) {
+            flush(current, passages);
+        }
+        // 문장 하나가 너무 길면 글자 수로 자른다
+        while (sentence.length() > MAX_PASSAGE_CHARS) {
+            passages.add(sentence.substring(0, MAX_PASSAGE_CHARS));
+            sentence = sentence.substring(MAX_PASSAGE_CHARS).strip();
+        }
+        if (current.length() > 0) {
+            current.append(' ');
+        }
+        current.append(sentence);
+    }
+
+    private static void flush(StringBuilder current, List<String> passages) {
+        if (!current.isEmpty()) {
+            passages.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    /**
+     * passages 전체를 하나의 문서 집합으로 보고 각 passage의 BM25 점수를 계산한다.
+     */
+    public static double[] bm25(String query, List<String> passages) {
+        Set<String> queryTerms = tokenize(query);
+        int n = passages.size();
+        double[] scores = new double[n];
+        if (queryTerms.isEmpty()) {
+            return scores;
+        }
+
+        List<Map<String, Integer>> termFrequencies = new ArrayList<>(n);
+        int[] lengths = new int[n];
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        long totalLength = 0;
+
+        for (int i = 0; i < n; i++) {
+            Map<String, Integer> tf = new HashMap<>();
+            List<String> tokens = tokenList(passages.get(i));
+            for (String token : tokens) {
+                if (queryTerms.contains(token)) {
+                    tf.merge(token, 1, Integer::sum);
+                }
+            }
+            tf.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+            termFrequencies.add(tf);
+            lengths[i] = tokens.size();
+            totalLength += tokens.size();
+        }
+
+        double avgLength = Math.max(1.0, (double) totalLength / n);
+        for (int i = 0; i < n; i++) {
+            double score = 0.0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.get(i).entrySet()) {
+                int df = documentFrequency.get(entry.getKey());
+                double idf = Math.log(1.0 + (n - df + 0.5) / (df + 0.5));
+                int tf = entry.getValue();
+                score += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[i] / avgLength));
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    public static Set<String> tokenize(String text) {
+        return (text == null) ? Set.of() : new HashSet<>(tokenList(text));
+    }
+
+    private static List<String> tokenList(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(text.substring(start, i).toLowerCase(), tokens);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWord(String word, List<String> tokens) {
+        if (word.length() < 2 || !isHangul(word.charAt(0))) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 1 < word.length(); i++) {
+            tokens.add(word.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ai_search.common.text;
+
+/**
+ * 원격 토크나이저 호출 없이 쓰는 LLM 토큰 수 근사치 (SentencePiece 계열 기준, 약간 크게 잡는다).
+ * - 영문/숫자 단어: 4글자당 1토큰
+ * - 한글/한자/가나: 글자당 1토큰
+ * - 그 외 기호: 글자당 1토큰, 공백은 0
+ * 예산 계산용이므로 정확도보다 "넘치지 않는 쪽"을 택했다.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_LATIN_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        int tokens = 0;
+        int latinRun = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80 && Character.isLetterOrDigit(c)) {
+                latinRun++;
+                continue;
+            }
+            tokens += latinTokens(latinRun);
+            latinRun = 0;
+            if (!Character.isWhitespace(c)) {
+                tokens++;
+            }
+        }
+        return tokens + latinTokens(latinRun);
+    }
+
+    private static int latinTokens(int length) {
+        return (length + CHARS_PER_LATIN_TOKEN - 1) / CHARS_PER_LATIN_TOKEN;
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.ai_search.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.CacheManager;
+import com.example.ai_search.common.cache.BinaryValueSerializer;
+import com.example.ai_search.common.cache.CacheInvalidationListener;
+import com.example.ai_search.common.cache.CacheInvalidationListenerContainer;
+import com.example.ai_search.common.cache.CacheInvalidationPublisher;
+import com.example.ai_search.common.cache.TwoLevelCache;
+import com.example.ai_search.common.cache.TwoLevelCacheManager;
+import com.example.ai_search.common.cache.TwoLevelCacheManager.LocalCacheSpec;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCache;
-
-import org.springframework.cache.caffeine.CaffeineCacheManager;
-import org.springframework.cache.support.CompositeCacheManager;
-import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -15,27 +19,65 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
 
 @Configuration
 @EnableCaching
 @Profile("!test")
 public class CacheConfig {
 
-    @Bean
-    public CacheManager caffeineCacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager("sourceCache");
-        manager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(Duration.ofMinutes(5)));
-        return manager;
-    }
+    // sourceCache: Brave 검색 결과
+    @Value("${app.cache.source.ttl:5m}")
+    private Duration sourceTtl;
+
+    @Value("${app.cache.source.local-ttl:${app.cache.source.ttl:5m}}")
+    private Duration sourceLocalTtl;
+
+    @Value("${app.cache.source.local-max-size:1000}")
+    private long sourceLocalMaxSize;
+
+    // llmResultCache: LLM 답변 + 출처
+    // 여기 TTL은 hard TTL. 신선도 기준(soft TTL)은 app.search.swr.soft-ttl
+    @Value("${app.cache.llm-result.ttl:30m}")
+    private Duration llmResultTtl;
+
+    @Value("${app.cache.llm-result.local-ttl:${app.cache.llm-result.ttl:30m}}")
+    private Duration llmResultLocalTtl;
+
+    @Value("${app.cache.llm-result.local-max-size:500}")
+    private long llmResultLocalMaxSize;
+
+    // pageContentCache: URL별 추출 본문 (+ ETag/Last-Modified). 재검증 주기는 app.cache.page-content.fresh-ttl
+    @Value("${app.cache.page-content.ttl:24h}")
+    private Duration pageContentTtl;
+
+    @Value("${app.cache.page-content.local-ttl:1h}")
+    private Duration pageContentLocalTtl;
+
+    @Value("${app.cache.page-content.local-max-size:2000}")
+    private long pageContentLocalMaxSize;
+
+    @Value("${app.cache.invalidation-channel:ai-search:cache-invalidation}")
+    private String invalidationChannel;
+
+    // L2 값 형식. binary | json (읽기는 항상 둘 다. json은 롤링 배포 중 이전 버전 노드가 남아 있을 때)
+    @Value("${app.cache.serializer.format:binary}")
+    private String serializerFormat;
+
+    // 바이너리 값 본문이 이 크기(byte) 이상이면 LZ4 압축
+    @Value("${app.cache.serializer.compress-threshold:1024}")
+    private int compressThreshold;
 
     @Bean
     public RedisCacheConfiguration redisCacheConfiguration() {
@@ -45,34 +87,105 @@ public class CacheConfig {
                 )
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(
-                                new GenericJackson2JsonRedisSerializer()
+                                redisValueSerializer(serializerFormat, compressThreshold)
                         )
                 )
                 .entryTtl(Duration.ofMinutes(10));
     }
 
+    /**
+     * 캐시 값(답변, 출처, 페이지 본문)은 바이너리 codec으로, 그 외 값은 JSON(GenericJackson2JsonRedisSerializer)으로.
+     */
+    static RedisSerializer<Object> redisValueSerializer(String format, int compressThreshold) {
+        return new BinaryValueSerializer(
+                CacheValueCodecs.all(),
+                new GenericJackson2JsonRedisSerializer(),
+                !"json".equalsIgnoreCase(format),
+                compressThreshold
+        );
+    }
+
+    /**
+     * L2(Redis). 캐시별 TTL을 따로 둔다.
+     */
     @Bean
-    @Primary
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        RedisCacheConfiguration defaults = redisCacheConfiguration();
         return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(redisCacheConfiguration())
+                .cacheDefaults(defaults)
+                .withInitialCacheConfigurations(Map.of(
+                        "sourceCache", defaults.entryTtl(sourceTtl),
+                        "llmResultCache", defaults.entryTtl(llmResultTtl),
+                        "pageContentCache", defaults.entryTtl(pageContentTtl)
+                ))
                 .build();
     }
 
-//    @Primary
-//    @Bean
-//    public CompositeCacheManager compositeCacheManager(
-//            CacheManager redisCacheManager,
-//            CacheManager caffeineCacheManager
-//    ) {
-//        // 찾을 때: Caffeine 먼저 → 없으면 Redis
-//        CompositeCacheManager composite = new CompositeCacheManager(
-//                caffeineCacheManager,
-//                redisCacheManager
-//        );
-//        // 캐시 못찾아도 예외 안 던지게
-//        composite.setFallbackToNoOpCache(true);
-//        return composite;
-//    }
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, invalidationChannel);
+    }
+
+    /**
+     * L1(Caffeine) → L2(Redis) 2단계 캐시.
+     * CompositeCacheManager는 "캐시 이름"을 찾을 때만 순서대로 볼 뿐 값 단위 read-through가 아니라서 직접 구현.
+     */
+    @Bean
+    @Primary
+    public TwoLevelCacheManager twoLevelCacheManager(
+            RedisCacheManager redisCacheManager,
+            CacheInvalidationPublisher cacheInvalidationPublisher
+    ) {
+        return new TwoLevelCacheManager(
+                List.of(
+                        new LocalCacheSpec("sourceCache", sourceLocalMaxSize, sourceLocalTtl),
+                        new LocalCacheSpec("llmResultCache", llmResultLocalMaxSize, llmResultLocalTtl),
+                        new LocalCacheSpec("pageContentCache", pageContentLocalMaxSize, pageContentLocalTtl)
+                ),
+                redisCacheManager,
+                cacheInvalidationPublisher
+        );
+    }
+
+    /**
+     * cache.level.gets{cache, level, result}: L1(Caffeine) / L2(Redis) 단계별 hit·miss.
+     * L2 조회 수 = L1 miss 수, L2 miss = 최종 MISS.
+     * Spring이 캐시마다 등록하는 cache.gets{cache, cache_manager, name, result}와 태그 구성이 달라
+     * Prometheus에서는 같은 이름을 쓸 수 없으므로 이름을 나눈다.
+     */
+    @Bean
+    public MeterBinder twoLevelCacheMetrics(TwoLevelCacheManager twoLevelCacheManager) {
+        return registry -> {
+            for (String name : twoLevelCacheManager.getCacheNames()) {
+                TwoLevelCache cache = twoLevelCacheManager.getTwoLevelCache(name);
+                cacheGets(registry, cache, "l1", "hit", TwoLevelCache::getLocalHitCount);
+                cacheGets(registry, cache, "l1", "miss", c -> c.getRemoteHitCount() + c.getMissCount());
+                cacheGets(registry, cache, "l2", "hit", TwoLevelCache::getRemoteHitCount);
+                cacheGets(registry, cache, "l2", "miss", TwoLevelCache::getMissCount);
+            }
+        };
+    }
+
+    private static void cacheGets(MeterRegistry registry, TwoLevelCache cache, String level, String result,
+                                  ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("cache.level.gets", cache, count)
+                .tags("cache", cache.getName(), "level", level, "result", result)
+                .register(registry);
+    }
+
+    @Bean
+    public CacheInvalidationListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager twoLevelCacheManager,
+            CacheInvalidationPublisher cacheInvalidationPublisher
+    ) {
+        CacheInvalidationListenerContainer container = new CacheInvalidationListenerContainer(Duration.ofSeconds(5));
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(twoLevelCacheManager, cacheInvalidationPublisher.getNodeId()),
+                new ChannelTopic(cacheInvalidationPublisher.getChannel())
+        );
+        return container;
+    }
 
 }
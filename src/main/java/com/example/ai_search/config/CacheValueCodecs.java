@@ -0,0 +1,160 @@
+package com.example.ai_search.config;
+
+import com.example.ai_search.common.cache.ValueCodec;
+import com.example.ai_search.common.cache.ValueCodec.Input;
+import com.example.ai_search.common.cache.ValueCodec.Output;
+import com.example.ai_search.dto.CachedPageContent;
+import com.example.ai_search.dto.CachedSearchResult;
+import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SourceDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * L2(Redis)에 바이너리로 저장하는 캐시 값 codec.
+ * tag는 한 번 배포하면 배치를 바꾸지 않는다 (바꿀 때는 새 tag 추가, ValueCodec 참고).
+ */
+final class CacheValueCodecs {
+
+    static final int SEARCH_RESULT_V1 = 1;   // llmResultCache
+    static final int SOURCE_LIST_V1 = 2;     // sourceCache
+    static final int PAGE_CONTENT_V1 = 3;    // pageContentCache
+
+    private CacheValueCodecs() {
+    }
+
+    static List<ValueCodec<?>> all() {
+        return List.of(new SearchResultCodec(), new SourceListCodec(), new PageContentCodec());
+    }
+
+    /** cachedAtMillis, answer, sources (response가 null이면 answer/sources 대신 0) */
+    static final class SearchResultCodec implements ValueCodec<CachedSearchResult> {
+
+        @Override
+        public int tag() {
+            return SEARCH_RESULT_V1;
+        }
+
+        @Override
+        public boolean supports(Object value) {
+            return value instanceof CachedSearchResult result
+                    && (result.getResponse() == null || isSourceList(result.getResponse().getSources()));
+        }
+
+        @Override
+        public void write(CachedSearchResult value, Output out) {
+            out.writeVarLong(value.getCachedAtMillis());
+            SearchResponseDto response = value.getResponse();
+            out.writeByte(response == null ? 0 : 1);
+            if (response != null) {
+                out.writeString(response.getAnswer());
+                writeSources(response.getSources(), out);
+            }
+        }
+
+        @Override
+        public CachedSearchResult read(Input in) {
+            long cachedAtMillis = in.readVarLong();
+            SearchResponseDto response = null;
+            if (in.readByte() == 1) {
+                response = new SearchResponseDto(in.readString(), readSources(in));
+            }
+            return new CachedSearchResult(response, cachedAtMillis);
+        }
+    }
+
+    static final class SourceListCodec implements ValueCodec<List<SourceDto>> {
+
+        @Override
+        public int tag() {
+            return SOURCE_LIST_V1;
+        }
+
+        @Override
+        public boolean supports(Object value) {
+            return value instanceof List<?> && isSourceList(value);
+        }
+
+        @Override
+        public void write(List<SourceDto> value, Output out) {
+            writeSources(value, out);
+        }
+
+        @Override
+        public List<SourceDto> read(Input in) {
+            return readSources(in);
+        }
+    }
+
+    /** fetchedAtMillis, text, etag, lastModified */
+    static final class PageContentCodec implements ValueCodec<CachedPageContent> {
+
+        @Override
+        public int tag() {
+            return PAGE_CONTENT_V1;
+        }
+
+        @Override
+        public boolean supports(Object value) {
+            return value instanceof CachedPageContent;
+        }
+
+        @Override
+        public void write(CachedPageContent value, Output out) {
+            out.writeVarLong(value.getFetchedAtMillis());
+            out.writeString(value.getText());
+            out.writeString(value.getEtag());
+            out.writeString(value.getLastModified());
+        }
+
+        @Override
+        public CachedPageContent read(Input in) {
+            long fetchedAtMillis = in.readVarLong();
+            return new CachedPageContent(in.readString(), in.readString(), in.readString(), fetchedAtMillis);
+        }
+    }
+
+    // null 리스트, null 원소가 없는 SourceDto 리스트만 바이너리로 (그 외는 JSON)
+    private static boolean isSourceList(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (!(value instanceof List<?> list)) {
+            return false;
+        }
+        for (Object element : list) {
+            if (!(element instanceof SourceDto)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 개수 + 1 (0 = null), 원소마다 id, title, url, snippet
+    private static void writeSources(List<SourceDto> sources, Output out) {
+        if (sources == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(sources.size() + 1);
+        for (SourceDto source : sources) {
+            out.writeVarInt(source.getId());
+            out.writeString(source.getTitle());
+            out.writeString(source.getUrl());
+            out.writeString(source.getSnippet());
+        }
+    }
+
+    private static List<SourceDto> readSources(Input in) {
+        int count = in.readVarInt();
+        if (count == 0) {
+            return null;
+        }
+        List<SourceDto> sources = new ArrayList<>(Math.min(count - 1, 64));
+        for (int i = 0; i < count - 1; i++) {
+            sources.add(new SourceDto(in.readVarInt(), in.readString(), in.readString(), in.readString()));
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ai_search.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    // platform: 고정 크기 스레드 풀, virtual: 작업마다 virtual thread
+    @Value("${app.executor.mode:platform}")
+    private String executorMode;
+
+    @Value("${app.jsoup.thread-pool-size:8}")
+    private int jsoupPoolSize;
+
+    @Value("${llm.thread-pool-size:8}")
+    private int llmPoolSize;
+
+    @Value("${app.search.swr.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Value("${app.search.swr.refresh-queue-capacity:64}")
+    private int refreshQueueCapacity;
+
+    /**
+     * stale 답변 백그라운드 갱신용. 큐가 차면 RejectedExecutionException (호출 측에서 버림 처리).
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchRefreshExecutor(MeterRegistry meterRegistry) {
+        return monitored(new ThreadPoolExecutor(
+                refreshThreads,
+                refreshThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueCapacity),
+                namedThreadFactory("search-refresh-")
+        ), "search-refresh", meterRegistry);
+    }
+
+    /**
+     * Jsoup 본문 수집용. 동시성 상한은 풀 크기가 아니라 JsoupContentFetcher의 host별 permit이 담당.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService jsoupExecutor(MeterRegistry meterRegistry) {
+        return monitored(ioExecutor("jsoup-", jsoupPoolSize), "jsoup", meterRegistry);
+    }
+
+    /**
+     * Gemini 호출용. 동시성 상한은 GeminiAnswerGenerator의 permit(llm.max-concurrency)이 담당.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService llmExecutor(MeterRegistry meterRegistry) {
+        return monitored(ioExecutor("llm-", llmPoolSize), "llm", meterRegistry);
+    }
+
+    /**
+     * executor.queued / executor.active / executor.pool.size {name} 게이지 등록 (감싸지 않고 그대로 돌려준다).
+     * virtual 모드 executor는 큐가 없으므로 게이지가 생기지 않는다.
+     */
+    private static ExecutorService monitored(ExecutorService executor, String name, MeterRegistry meterRegistry) {
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private ExecutorService ioExecutor(String prefix, int poolSize) {
+        if ("virtual".equalsIgnoreCase(executorMode)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+        }
+        return Executors.newFixedThreadPool(poolSize, namedThreadFactory(prefix));
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
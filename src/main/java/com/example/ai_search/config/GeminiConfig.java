@@ -1,6 +1,7 @@
 package com.example.ai_search.config;
 
 import com.google.genai.Client;
+import com.google.genai.types.HttpOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,11 +12,18 @@ public class GeminiConfig {
     @Value("${llm.api.key}")
     private String llmApiKey;
 
+    // 비우면 SDK 기본 (https://generativelanguage.googleapis.com). 부하 테스트에서 stub 서버로 돌릴 때만 지정
+    @Value("${llm.api.base-url:}")
+    private String llmBaseUrl;
+
     @Bean
     public Client geminiClient() {
         // API 키를 명시적으로 넣어서 Developer API 사용
-        return Client.builder()
-                .apiKey(llmApiKey)
-                .build();
+        Client.Builder builder = Client.builder()
+                .apiKey(llmApiKey);
+        if (!llmBaseUrl.isBlank()) {
+            builder.httpOptions(HttpOptions.builder().baseUrl(llmBaseUrl).build());
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,91 @@
+package com.example.ai_search.config;
+
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 외부 API(Brave, Gemini)별 circuit breaker + bulkhead.
+ * 설정은 app.circuit-breaker.{brave|gemini}.* , 동시 호출 상한은 search.max-concurrency / llm.max-concurrency.
+ * 상태/호출 수는 upstream 태그로 Micrometer에 노출한다.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    private static final String PREFIX = "app.circuit-breaker.";
+
+    @Value("${search.max-concurrency:16}")
+    private int braveMaxConcurrency;
+
+    @Value("${llm.max-concurrency:8}")
+    private int geminiMaxConcurrency;
+
+    @Bean
+    public CircuitBreaker braveCircuitBreaker(Environment environment, MeterRegistry meterRegistry) {
+        return circuitBreaker("brave", environment, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker geminiCircuitBreaker(Environment environment, MeterRegistry meterRegistry) {
+        return circuitBreaker("gemini", environment, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead braveBulkhead(MeterRegistry meterRegistry) {
+        return bulkhead("brave", braveMaxConcurrency, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead geminiBulkhead(MeterRegistry meterRegistry) {
+        return bulkhead("gemini", geminiMaxConcurrency, meterRegistry);
+    }
+
+    private static CircuitBreaker circuitBreaker(String upstream, Environment environment, MeterRegistry meterRegistry) {
+        String prefix = PREFIX + upstream + ".";
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                upstream,
+                environment.getProperty(prefix + "failure-rate-threshold", Integer.class, 50),
+                environment.getProperty(prefix + "window-size", Integer.class, 20),
+                environment.getProperty(prefix + "minimum-calls", Integer.class, 10),
+                environment.getProperty(prefix + "open-duration", Duration.class, Duration.ofSeconds(10)),
+                environment.getProperty(prefix + "half-open-calls", Integer.class, 2)
+        );
+
+        // 0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN
+        Gauge.builder("upstream.circuit.state", circuitBreaker, cb -> cb.getState().code())
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        Gauge.builder("upstream.circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        FunctionCounter.builder("upstream.circuit.calls", circuitBreaker, CircuitBreaker::getSuccessCount)
+                .tags("upstream", upstream, "result", "success")
+                .register(meterRegistry);
+        FunctionCounter.builder("upstream.circuit.calls", circuitBreaker, CircuitBreaker::getFailureCount)
+                .tags("upstream", upstream, "result", "failure")
+                .register(meterRegistry);
+        FunctionCounter.builder("upstream.circuit.calls", circuitBreaker, CircuitBreaker::getRejectedCount)
+                .tags("upstream", upstream, "result", "rejected")
+                .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    private static Bulkhead bulkhead(String upstream, int maxConcurrent, MeterRegistry meterRegistry) {
+        Bulkhead bulkhead = new Bulkhead(upstream, maxConcurrent);
+        Gauge.builder("upstream.bulkhead.available", bulkhead, Bulkhead::getAvailable)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        FunctionCounter.builder("upstream.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount)
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+}
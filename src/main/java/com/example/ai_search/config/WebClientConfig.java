@@ -10,7 +10,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
@@ -20,6 +22,16 @@ public class WebClientConfig {
     @Value("${brave.api.base-url:https://api.search.brave.com}")
     private String braveBaseUrl;
 
+    // 출처 페이지 수집용 커넥션 풀 (reactor-netty는 원격 주소마다 풀을 따로 두므로 host별 상한)
+    @Value("${app.jsoup.max-connections-per-host:8}")
+    private int pageMaxConnectionsPerHost;
+
+    @Value("${app.jsoup.pending-acquire-timeout:2s}")
+    private Duration pagePendingAcquireTimeout;
+
+    @Value("${app.jsoup.max-idle-time:30s}")
+    private Duration pageMaxIdleTime;
+
     @Bean
     public WebClient braveWebClient(WebClient.Builder builder) {
         HttpClient httpClient = HttpClient.create()
@@ -31,4 +43,34 @@ public class WebClientConfig {
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pageConnectionProvider() {
+        return ConnectionProvider.builder("page-fetch")
+                .maxConnections(pageMaxConnectionsPerHost)
+                .pendingAcquireTimeout(pagePendingAcquireTimeout)
+                .maxIdleTime(pageMaxIdleTime)
+                .evictInBackground(pageMaxIdleTime)
+                .build();
+    }
+
+    /**
+     * 출처 페이지 HTML 수집용 (동기/논블로킹 경로 공용).
+     * keep-alive 커넥션 재사용, gzip/deflate, TLS면 ALPN으로 HTTP/2 협상.
+     * 본문 크기 제한은 JsoupContentFetcher가 스트림을 읽으면서 건다.
+     */
+    @Bean
+    public WebClient pageWebClient(WebClient.Builder builder, ConnectionProvider pageConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(pageConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2)
+                .compress(true)
+                .followRedirect(true);
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8")
+                .defaultHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0 (compatible; ai-search/0.1)")
+                .build();
+    }
 }
@@ -1,20 +1,38 @@
 package com.example.ai_search.controller;
 
 import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.service.SearchOverloadedException;
 import com.example.ai_search.service.SearchService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
 
 @Controller
 @AllArgsConstructor
 @Slf4j
 public class SearchController {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String OVERLOADED_MESSAGE = "현재 요청이 많아 검색을 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.";
+
     private final SearchService searchService;
 
     @GetMapping("/")
@@ -25,7 +43,8 @@ public class SearchController {
     @GetMapping("/search")
     public String searchPage(
             @RequestParam(name = "q", required = false)  String query,
-            Model model
+            Model model,
+            HttpServletResponse response
     ) {
 
         log.info("request start. traceId={}", MDC.get("traceId"));
@@ -33,7 +52,14 @@ public class SearchController {
         SearchResponseDto result = null;
 
         if (query != null && !query.isBlank()) {
-            result = searchService.search(query);
+            try {
+                result = searchService.search(query);
+            } catch (SearchOverloadedException e) {
+                // 과부하: 파이프라인도 캐시된 출처도 없음 → 안내 문구만 503으로
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+                result = new SearchResponseDto(OVERLOADED_MESSAGE, List.of());
+            }
         }
 
         model.addAttribute("query", query);
@@ -45,5 +71,57 @@ public class SearchController {
         return "search";
     }
 
+    /**
+     * 논블로킹 JSON 검색 (async servlet).
+     * 파이프라인이 I/O를 기다리는 동안 요청 스레드를 반납한다.
+     */
+    @GetMapping(value = "/api/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Mono<SearchResponseDto> searchApi(
+            @RequestParam(name = "q") String query
+    ) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+
+        log.info("async request start. traceId={}", MDC.get("traceId"));
+
+        return searchService.searchAsync(query);
+    }
+
+    /**
+     * 스트리밍 검색 (SSE).
+     * event: sources → token(여러 개) → done
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<Object>> searchStream(
+            @RequestParam(name = "q") String query
+    ) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "q must not be blank");
+        }
+
+        log.info("stream request start. traceId={}", MDC.get("traceId"));
+
+        return searchService.searchStream(query)
+                .map(e -> ServerSentEvent.builder(e.getData())
+                        .event(e.getEvent())
+                        .build());
+    }
+
+    /**
+     * 과부하로 거절된 /api/search 요청은 기다리게 하지 않고 바로 503.
+     */
+    @ExceptionHandler(SearchOverloadedException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> handleOverloaded(SearchOverloadedException e) {
+        log.warn("Search rejected (overloaded). traceId={}, reason={}", MDC.get("traceId"), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", OVERLOADED_MESSAGE));
+    }
+
 
 }
@@ -0,0 +1,21 @@
+package com.example.ai_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * pageContentCache에 저장되는 값 (key = URL).
+ * 추출한 본문과 함께 조건부 GET에 쓸 ETag / Last-Modified 를 들고 다닌다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPageContent {
+    private String text;
+    private String etag;
+    private String lastModified;
+    private long fetchedAtMillis;
+}
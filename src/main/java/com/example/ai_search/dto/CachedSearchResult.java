@@ -0,0 +1,19 @@
+package com.example.ai_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * llmResultCache에 저장되는 값.
+ * soft TTL 판단을 위해 저장 시각을 같이 들고 다닌다 (hard TTL은 Redis TTL).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedSearchResult {
+    private SearchResponseDto response;
+    private long cachedAtMillis;
+}
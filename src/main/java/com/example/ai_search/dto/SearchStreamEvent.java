@@ -0,0 +1,40 @@
+package com.example.ai_search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * /search/stream 으로 내려가는 SSE 이벤트 하나.
+ * - sources: Brave 결과 (가장 먼저)
+ * - token  : Gemini 답변 조각
+ * - done   : 스트림 종료
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchStreamEvent {
+
+    public static final String SOURCES = "sources";
+    public static final String TOKEN = "token";
+    public static final String DONE = "done";
+
+    private String event;
+    private Object data;
+
+    public static SearchStreamEvent sources(List<SourceDto> sources) {
+        return new SearchStreamEvent(SOURCES, sources);
+    }
+
+    public static SearchStreamEvent token(String text) {
+        return new SearchStreamEvent(TOKEN, text);
+    }
+
+    public static SearchStreamEvent done() {
+        return new SearchStreamEvent(DONE, "");
+    }
+}
@@ -1,9 +1,37 @@
 package com.example.ai_search.service;
 
 import com.example.ai_search.dto.SourceDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
 public interface AnswerGenerator {
     String generateAnswer(String query, List<SourceDto> sources, List<String> contents);
+
+    /**
+     * 논블로킹 버전. 기본 구현은 블로킹 호출을 boundedElastic으로 넘긴다.
+     */
+    default Mono<String> generateAnswerAsync(String query, List<SourceDto> sources, List<String> contents) {
+        return Mono.fromCallable(() -> generateAnswer(query, sources, contents))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 답변을 생성되는 대로 조각(chunk) 단위로 흘려보낸다.
+     * 스트리밍을 지원하지 않는 구현은 전체 답변을 한 조각으로 보낸다.
+     * 일부 조각을 보낸 뒤 실패하면 에러로 끝낸다 (조용히 끝내면 잘린 답변이 완성된 답변처럼 보인다).
+     */
+    default Flux<String> streamAnswer(String query, List<SourceDto> sources, List<String> contents) {
+        return Flux.defer(() -> Flux.just(generateAnswer(query, sources, contents)));
+    }
+
+    /**
+     * 지금 호출하면 외부 API를 부르지 않고 바로 fallback 답변이 나오는 상태인지 (circuit open).
+     * true면 상위 파이프라인은 본문 수집을 건너뛰고 바로 generateAnswer로 fallback을 받는다.
+     */
+    default boolean isCircuitOpen() {
+        return false;
+    }
 }
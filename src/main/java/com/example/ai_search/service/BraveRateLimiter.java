@@ -0,0 +1,118 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.ratelimit.RedisTokenBucket;
+import com.example.ai_search.common.ratelimit.TokenBucket;
+import com.example.ai_search.common.resilience.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Brave 초당 호출 한도(quota)를 넘지 않도록 호출 전에 토큰을 받는다. API key마다 bucket 하나.
+ * - local: 노드마다 TokenBucket (노드 수 × rate 가 quota를 넘지 않게 설정)
+ * - redis: 모든 노드가 Redis bucket 하나를 공유, Redis 장애 시 로컬 bucket으로 대신
+ * 토큰이 없으면 max-wait(요청 남은 시간 이하)까지 줄을 서서 기다리고, 그 안에 차례가 오지 않을 때만 거절한다.
+ */
+@Component
+@Slf4j
+public class BraveRateLimiter {
+
+    private static final String KEY_PREFIX = "ai-search:ratelimit:brave:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisMode;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final Duration maxWait;
+
+    private final Map<String, TokenBucket> localBuckets = new ConcurrentHashMap<>();
+    private final Map<String, RedisTokenBucket> redisBuckets = new ConcurrentHashMap<>();
+
+    private final Timer waitTimer;
+    private final Counter immediate;
+    private final Counter queued;
+    private final Counter rejected;
+
+    public BraveRateLimiter(
+            MeterRegistry meterRegistry,
+            StringRedisTemplate redisTemplate,
+            @Value("${app.rate-limit.brave.mode:local}") String mode,
+            @Value("${app.rate-limit.brave.permits-per-second:1}") double permitsPerSecond,
+            @Value("${app.rate-limit.brave.burst:1}") int burst,
+            @Value("${app.rate-limit.brave.max-wait:2s}") Duration maxWait
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redisMode = "redis".equalsIgnoreCase(mode);
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxWait = maxWait;
+
+        this.waitTimer = Timer.builder("brave.ratelimit.wait")
+                .description("Brave 호출 전 rate limiter 대기 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.immediate = Counter.builder("brave.ratelimit.requests").tag("result", "immediate").register(meterRegistry);
+        this.queued = Counter.builder("brave.ratelimit.requests").tag("result", "queued").register(meterRegistry);
+        this.rejected = Counter.builder("brave.ratelimit.requests").tag("result", "rejected").register(meterRegistry);
+        log.info("Brave rate limiter initialized. mode={}, permitsPerSecond={}, burst={}, maxWait={}",
+                redisMode ? "redis" : "local", permitsPerSecond, burst, maxWait);
+    }
+
+    /**
+     * 토큰을 받을 때까지 기다렸다가 완료된다. max-wait 또는 요청 마감 안에 차례가 오지 않으면
+     * CallNotPermittedException (재시도하지 않고 Brave fallback).
+     */
+    public Mono<Void> acquire(String apiKey, Deadline deadline) {
+        Duration allowedWait = deadline.cap(maxWait);
+        Mono<Long> reservation = Mono.fromCallable(() -> reserve(apiKey, allowedWait));
+        if (redisMode) {
+            reservation = reservation.subscribeOn(Schedulers.boundedElastic());
+        }
+        return reservation.flatMap(waitNanos -> {
+            if (waitNanos < 0) {
+                rejected.increment();
+                log.warn("Brave rate limit wait exceeds limit, reject. maxWaitMs={}", allowedWait.toMillis());
+                return Mono.error(new CallNotPermittedException("Brave rate limit exceeded"));
+            }
+            waitTimer.record(Duration.ofNanos(waitNanos));
+            if (waitNanos == 0) {
+                immediate.increment();
+                return Mono.empty();
+            }
+            queued.increment();
+            log.debug("Brave rate limited, queued. waitMs={}", Duration.ofNanos(waitNanos).toMillis());
+            return Mono.delay(Duration.ofNanos(waitNanos)).then();
+        });
+    }
+
+    private long reserve(String apiKey, Duration allowedWait) {
+        if (redisMode) {
+            RedisTokenBucket bucket = redisBuckets.computeIfAbsent(apiKey, key -> new RedisTokenBucket(
+                    redisTemplate, KEY_PREFIX + keyId(key), permitsPerSecond, burst));
+            var waitNanos = bucket.reserve(allowedWait);
+            if (waitNanos.isPresent()) {
+                return waitNanos.getAsLong();
+            }
+        }
+        return localBuckets.computeIfAbsent(apiKey, key -> new TokenBucket(permitsPerSecond, burst))
+                .reserve(allowedWait);
+    }
+
+    // Redis key에 API key 원문을 남기지 않는다
+    private static String keyId(String apiKey) {
+        return DigestUtils.md5DigestAsHex(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
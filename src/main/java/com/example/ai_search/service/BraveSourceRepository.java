@@ -1,8 +1,17 @@
 package com.example.ai_search.service;
 
 
+import com.example.ai_search.common.concurrent.SingleFlight;
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.deadline.DeadlineContext;
+import com.example.ai_search.common.jfr.BraveCallEvent;
+import com.example.ai_search.common.jfr.JfrEvents;
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CallNotPermittedException;
+import com.example.ai_search.common.resilience.CircuitBreaker;
 import com.example.ai_search.dto.BraveSearchResponse;
 import com.example.ai_search.dto.SourceDto;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -19,31 +28,163 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-@CacheConfig(cacheManager = "caffeineCacheManager", cacheNames = "sourceCache")
+@CacheConfig(cacheManager = "twoLevelCacheManager", cacheNames = "sourceCache")
 public class BraveSourceRepository implements SourceRepository{
 
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(200);
+
     private final WebClient braveWebClient;
 
+    // 시도 단위로 성공/실패를 기록하고, 열려 있으면 호출 없이 바로 빈 결과
+    private final CircuitBreaker braveCircuitBreaker;
+
+    // 재시도를 포함한 Brave 호출 하나가 자리 하나 (search.max-concurrency)
+    private final Bulkhead braveBulkhead;
+
+    // 시도(재시도 포함)마다 Brave quota 토큰을 받는다
+    private final BraveRateLimiter braveRateLimiter;
+
+    // upstream.retries{upstream=brave}
+    private final MeterRegistry meterRegistry;
+
     @Value("${search.api.key}")
     private String searchApiKey;
 
     @Value("${search.timeout-seconds:8}")
     private long searchTimeoutSeconds;
 
+    // sourceCache MISS가 동시에 난 경우 Brave 호출은 한 번만
+    private final SingleFlight<List<SourceDto>> braveSingleFlight = new SingleFlight<>("brave");
+
     @Override
-    @Cacheable(key = "#normalizedQuery")
+    @Cacheable(key = "#normalizedQuery", unless = "#result == null || #result.isEmpty()")
     public List<SourceDto> getSources(String normalizedQuery) {
+        Deadline deadline = DeadlineContext.current();
+        return braveSingleFlight.execute(normalizedQuery, () -> callBraveSearch(normalizedQuery, deadline));
+    }
+
+    /**
+     * 논블로킹 버전. sourceCache는 @Cacheable의 Mono 지원(Cache.retrieve)으로 공유하고,
+     * 동시 MISS는 동기 경로와 같은 single-flight로 합친다.
+     */
+    @Override
+    @Cacheable(key = "#normalizedQuery", unless = "#result == null || #result.isEmpty()")
+    public Mono<List<SourceDto>> getSourcesAsync(String normalizedQuery) {
+        // 공유 future이므로 한 구독자가 취소해도 다른 대기자에게 영향이 없게 suppressCancel
+        return Mono.deferContextual(ctx -> {
+            Deadline deadline = DeadlineContext.from(ctx);
+            return Mono.fromFuture(
+                    braveSingleFlight.executeAsync(normalizedQuery, () -> braveSearch(normalizedQuery, deadline).toFuture()),
+                    true
+            );
+        });
+    }
+
+    private List<SourceDto> callBraveSearch(String normalizedQuery, Deadline deadline) {
+        List<SourceDto> sources = braveSearch(normalizedQuery, deadline).block();
+        return (sources != null) ? sources : List.of();
+    }
+
+    /**
+     * 전체 타임아웃은 min(search.timeout-seconds, 요청 남은 시간).
+     * 직전 시도만큼의 시간도 남지 않았으면 재시도하지 않는다.
+     * circuit이 열려 있거나 bulkhead가 가득 차면 Brave를 부르지 않고 바로 빈 결과 (→ 상위에서 Brave fallback 문구).
+     * 시도마다 rate limiter 토큰을 먼저 받는다 (quota를 넘으면 잠깐 줄을 선다).
+     */
+    private Mono<List<SourceDto>> braveSearch(String normalizedQuery, Deadline deadline) {
 
         long start = System.currentTimeMillis();
-        log.info("Search requested. query='{}'", normalizedQuery);
+        log.info("Search requested. query='{}', {}", normalizedQuery, deadline);
+
+        if (deadline.isExpired()) {
+            log.warn("Brave search skipped (deadline exceeded). query='{}'", normalizedQuery);
+            return Mono.just(Collections.emptyList());
+        }
+        if (!braveCircuitBreaker.isCallPermitted()) {
+            log.warn("Brave search skipped (circuit open). query='{}'", normalizedQuery);
+            return Mono.just(Collections.emptyList());
+        }
 
         String traceId = MDC.get("traceId");
+        AtomicLong attemptStart = new AtomicLong();
+        AtomicInteger attempts = new AtomicInteger();
 
-        Mono<List<SourceDto>> mono = braveWebClient.get()
+        return Mono.defer(() -> {
+                    if (!braveBulkhead.tryAcquire()) {
+                        return Mono.error(new CallNotPermittedException("Brave bulkhead full"));
+                    }
+                    return braveRateLimiter.acquire(searchApiKey, deadline)
+                            .then(guardedAttempt(normalizedQuery, traceId, attempts))
+                            .doOnSubscribe(subscription -> attemptStart.set(System.currentTimeMillis()))
+                            .retryWhen(
+                                    Retry.backoff(2, RETRY_BACKOFF)
+                                            .filter(ex -> !(ex instanceof BraveClientException))
+                                            .filter(ex -> !(ex instanceof CallNotPermittedException))
+                                            .filter(ex -> canRetryWithin(deadline, attemptStart.get()))
+                                            .doBeforeRetry(signal -> meterRegistry
+                                                    .counter("upstream.retries", "upstream", "brave").increment())
+                            )
+                            .timeout(deadline.cap(Duration.ofSeconds(searchTimeoutSeconds)))
+                            .doFinally(signal -> braveBulkhead.release());
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Brave search failed, fallback to empty sources. reason={}", ex.toString());
+                    return Mono.just(Collections.emptyList());
+                })
+                .doOnNext(sources -> {
+                    long elapsed = System.currentTimeMillis() - start;
+                    log.info("Brave search done. query='{}', resultCount={}, elapsedMs={}",
+                            normalizedQuery, sources.size(), elapsed);
+                });
+    }
+
+    /**
+     * Brave 호출 한 번(시도). circuit permission을 받고 결과를 circuit에 기록한다.
+     * - 4xx는 요청 쪽 문제라 판단에서 뺀다
+     * - 전체 타임아웃으로 끊긴 시도는 실패(느린 호출)로 본다
+     * 시도마다 JFR BraveCallEvent를 남긴다.
+     */
+    private Mono<List<SourceDto>> guardedAttempt(String normalizedQuery, String traceId, AtomicInteger attempts) {
+        return Mono.defer(() -> {
+            if (!braveCircuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new CallNotPermittedException("Brave circuit open"));
+            }
+            BraveCallEvent event = new BraveCallEvent();
+            event.begin();
+            event.queryHash = JfrEvents.hash(normalizedQuery);
+            event.attempt = attempts.incrementAndGet();
+            return braveCall(normalizedQuery, traceId)
+                    .doOnSuccess(sources -> {
+                        braveCircuitBreaker.onSuccess();
+                        event.resultCount = (sources != null) ? sources.size() : 0;
+                        event.outcome = "ok";
+                    })
+                    .doOnError(ex -> {
+                        if (ex instanceof BraveClientException) {
+                            braveCircuitBreaker.onIgnored();
+                        } else {
+                            braveCircuitBreaker.onError();
+                        }
+                        event.outcome = JfrEvents.outcome(ex);
+                    })
+                    .doOnCancel(braveCircuitBreaker::onError)
+                    .doFinally(signal -> {
+                        if (event.outcome == null) {
+                            event.outcome = JfrEvents.CANCELLED;
+                        }
+                        event.commit();
+                    });
+        });
+    }
+
+    private Mono<List<SourceDto>> braveCall(String normalizedQuery, String traceId) {
+        return braveWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/res/v1/web/search")
                         .queryParam("q", normalizedQuery)
@@ -79,30 +220,19 @@ public class BraveSourceRepository implements SourceRepository{
                                         : 0
                         )
                 )
-                .map(this::toSources)
-                .retryWhen(
-                        Retry.backoff(2, Duration.ofMillis(200))
-                                .filter(ex -> !(ex instanceof BraveClientException))
-                )
-                .timeout(Duration.ofSeconds(searchTimeoutSeconds))
-                .onErrorResume(ex -> {
-                    log.warn("Brave search failed, fallback to empty sources. reason={}", ex.toString());
-                    return Mono.just(Collections.emptyList());
-                });
+                .map(BraveSourceRepository::toSources);
+    }
 
-        List<SourceDto> sources = mono.block();
-        if (sources == null) {
-            sources = List.of();
+    private boolean canRetryWithin(Deadline deadline, long attemptStartMillis) {
+        Duration lastAttempt = Duration.ofMillis(System.currentTimeMillis() - attemptStartMillis);
+        if (deadline.hasAtLeast(lastAttempt.plus(RETRY_BACKOFF))) {
+            return true;
         }
-
-        long elapsed = System.currentTimeMillis() - start;
-        log.info("Brave search done. query='{}', resultCount={}, elapsedMs={}",
-                normalizedQuery, sources.size(), elapsed);
-
-        return sources;
+        log.info("Brave retry skipped (not enough time left). lastAttemptMs={}, {}", lastAttempt.toMillis(), deadline);
+        return false;
     }
 
-    private List<SourceDto> toSources(BraveSearchResponse response) {
+    static List<SourceDto> toSources(BraveSearchResponse response) {
         if (response == null || response.getWeb() == null || response.getWeb().getResults() == null) {
             return List.of();
         }
@@ -1,9 +1,23 @@
 package com.example.ai_search.service;
 
 import com.example.ai_search.dto.SourceDto;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
 public interface ContentFetcher {
-    List<String> fetchContents(List<SourceDto> sources);
+
+    /**
+     * sources 순서대로 본문을 가져온다. query는 페이지에서 관련 있는 부분만 고르는 데 쓴다.
+     */
+    List<String> fetchContents(String query, List<SourceDto> sources);
+
+    /**
+     * 논블로킹 버전. 기본 구현은 블로킹 호출을 boundedElastic으로 넘긴다.
+     */
+    default Mono<List<String>> fetchContentsAsync(String query, List<SourceDto> sources) {
+        return Mono.fromCallable(() -> fetchContents(query, sources))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
@@ -1,25 +1,86 @@
 package com.example.ai_search.service;
 
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.deadline.DeadlineContext;
+import com.example.ai_search.common.jfr.GeminiAttemptEvent;
+import com.example.ai_search.common.jfr.JfrEvents;
+import com.example.ai_search.common.jfr.PromptBuildEvent;
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CallNotPermittedException;
+import com.example.ai_search.common.resilience.CircuitBreaker;
+import com.example.ai_search.common.text.TokenEstimator;
 import com.example.ai_search.dto.SourceDto;
 import com.google.genai.Client;
+import com.google.genai.ResponseStream;
 import com.google.genai.types.GenerateContentResponse;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class GeminiAnswerGenerator implements AnswerGenerator{
 
+    static final String FALLBACK_ANSWER = """
+            죄송합니다, 현재는 질문에 대한 답변을 생성할 수 없습니다.
+            잠시 후 다시 시도해 주세요.
+            (검색은 수행되었으므로 아래 출처들을 직접 참고해 주세요.)
+            """;
+
+    static final String EMPTY_ANSWER = "지금은 답변이 비어 있습니다. 나중에 다시 시도해 주세요.";
+
+    private static final String PROMPT_TEMPLATE = """
+            너는 '웹 출처 기반 답변 어시스턴트'이다.
+            아래의 출처들만 근거로, 한국어로 답변해라.
+            사실을 말할 때는 해당 출처 번호를 [1], [2] 처럼 문장 끝에 붙여라.
+            확실하지 않은 내용은 '확실하지 않음'이라고 적어라.
+
+            질문: %s
+
+            출처들:
+            %s
+            """;
+
+    private static final int MAX_ATTEMPTS = 2;
+    private static final long INITIAL_BACKOFF_MILLIS = 300L;
+
     private final Client geminiClient;
 
-    private final ExecutorService llmExecutor =
-            Executors.newFixedThreadPool(8);
+    private final ExecutorService llmExecutor;
+
+    private final Scheduler llmScheduler;
+
+    // Gemini 동시 호출 상한(llm.max-concurrency). 스레드 수가 아니라 bulkhead permit으로 제한한다 (virtual thread 모드에서도 유지)
+    private final Bulkhead geminiBulkhead;
+
+    // 시도 단위로 성공/실패를 기록하고, 열려 있으면 Gemini를 부르지 않고 바로 fallback
+    private final CircuitBreaker geminiCircuitBreaker;
+
+    private final PromptContextPacker promptContextPacker;
+
+    private final LlmHedgePolicy hedgePolicy;
+
+    // upstream.retries{upstream=gemini}
+    private final Counter retries;
 
     @Value("${llm.model}")
     private String llmModel;
@@ -27,54 +88,63 @@ public class GeminiAnswerGenerator implements AnswerGenerator{
     @Value("${llm.timeout-seconds:12}")
     private long llmTimeoutSeconds;
 
+    public GeminiAnswerGenerator(
+            Client geminiClient,
+            @Qualifier("llmExecutor") ExecutorService llmExecutor,
+            Bulkhead geminiBulkhead,
+            CircuitBreaker geminiCircuitBreaker,
+            PromptContextPacker promptContextPacker,
+            LlmHedgePolicy hedgePolicy,
+            MeterRegistry meterRegistry
+    ) {
+        this.geminiClient = geminiClient;
+        this.llmExecutor = llmExecutor;
+        this.llmScheduler = Schedulers.fromExecutorService(llmExecutor);
+        this.geminiBulkhead = geminiBulkhead;
+        this.geminiCircuitBreaker = geminiCircuitBreaker;
+        this.promptContextPacker = promptContextPacker;
+        this.hedgePolicy = hedgePolicy;
+        this.retries = meterRegistry.counter("upstream.retries", "upstream", "gemini");
+    }
+
     @Override
     public String generateAnswer(String query, List<SourceDto> sources, List<String> contents) {
 
         log.info("GeminiAnswerGenerator.generateAnswer() CALLED. query='{}'", query);
 
-        StringBuilder context = new StringBuilder();
-
-        for (int i = 0; i < Math.min(sources.size(), contents.size()); i++) {
-            SourceDto s = sources.get(i);
-            String c = contents.get(i);
-
-            context.append("[%d] 제목: %s\nURL: %s\n내용 일부:\n%s\n\n"
-                    .formatted(s.getId(), s.getTitle(), s.getUrl(), c));
+        if (isCircuitOpen()) {
+            log.warn("Gemini call skipped (circuit open). query='{}'", query);
+            return FALLBACK_ANSWER;
         }
 
-        String prompt = """
-                너는 '웹 출처 기반 답변 어시스턴트'이다.
-                아래의 출처들만 근거로, 한국어로 답변해라.
-                사실을 말할 때는 해당 출처 번호를 [1], [2] 처럼 문장 끝에 붙여라.
-                확실하지 않은 내용은 '확실하지 않음'이라고 적어라.
-
-                질문: %s
+        String prompt = buildPrompt(query, sources, contents);
+        String queryHash = JfrEvents.hash(query);
+        Deadline deadline = DeadlineContext.current();
 
-                출처들:
-                %s
-                """.formatted(query, context.toString());
-
-        int maxAttempts = 2;
-        long backoffMillis = 300L;
+        int maxAttempts = MAX_ATTEMPTS;
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (deadline.isExpired()) {
+                log.warn("Gemini call skipped (deadline exceeded). attempt={}, query='{}'", attempt, query);
+                break;
+            }
+            if (!geminiCircuitBreaker.tryAcquirePermission()) {
+                log.warn("Gemini call skipped (circuit open). attempt={}, query='{}'", attempt, query);
+                break;
+            }
+
             long start = System.currentTimeMillis();
-            CompletableFuture<GenerateContentResponse> future = null;
+            // 시도별 타임아웃: 최근 지연 분포 기반(adaptive) → llm.timeout-seconds → 요청 마감 순으로 줄인다
+            hedgePolicy.onAttempt();
+            Duration attemptTimeout = hedgePolicy.attemptTimeout(Duration.ofSeconds(llmTimeoutSeconds));
+            Deadline attemptDeadline = deadline.within(attemptTimeout);
+            List<Future<?>> calls = new ArrayList<>(2);
             try {
-                log.info("Gemini call start. attempt={}, query='{}', model={}",
-                        attempt, query, llmModel);
-
-                future = CompletableFuture.supplyAsync(
-                        () -> geminiClient.models.generateContent(
-                                llmModel,
-                                prompt,
-                                null
-                        ),
-                        llmExecutor
-                );
+                log.info("Gemini call start. attempt={}, query='{}', model={}, attemptTimeoutMs={}, {}",
+                        attempt, query, llmModel, attemptTimeout.toMillis(), deadline);
 
-                GenerateContentResponse response =
-                        future.get(llmTimeoutSeconds, TimeUnit.SECONDS);
+                GenerateContentResponse response = callHedged(prompt, queryHash, attemptDeadline, calls);
 
                 long elapsed = System.currentTimeMillis() - start;
                 String answer = response.text();
@@ -85,30 +155,44 @@ public class GeminiAnswerGenerator implements AnswerGenerator{
                         (answer != null ? answer.length() : 0));
 
                 log.debug("Gemini raw answer for query='{}': {}", query, answer);
+                geminiCircuitBreaker.onSuccess();
 
                 return (answer != null && !answer.isBlank())
                         ? answer
-                        : "지금은 답변이 비어 있습니다. 나중에 다시 시도해 주세요.";
+                        : EMPTY_ANSWER;
             } catch (TimeoutException e) {
                 long elapsed = System.currentTimeMillis() - start;
+                hedgePolicy.record(Duration.ofMillis(elapsed));
+                geminiCircuitBreaker.onError();
                 log.warn("Gemini call timeout. attempt={}, elapsedMs={}, query='{}'",
                         attempt, elapsed, query);
-                if (future != null) {
-                    future.cancel(true);
-                }
             } catch (Exception e) {
                 long elapsed = System.currentTimeMillis() - start;
+                if (e.getCause() instanceof CallNotPermittedException) {
+                    // bulkhead 포화는 Gemini 상태와 무관
+                    geminiCircuitBreaker.onIgnored();
+                } else {
+                    geminiCircuitBreaker.onError();
+                }
                 log.warn("Gemini call failed. attempt={}, elapsedMs={}, query='{}', reason={}",
                         attempt, elapsed, query, e.toString());
-                if (future != null) {
-                    future.cancel(true);
-                }
+            } finally {
+                // 끝난 호출에는 영향 없음. hedge에서 진 호출/타임아웃 난 호출은 interrupt (SDK가 반응하면 바로 permit 반납)
+                calls.forEach(call -> call.cancel(true));
             }
 
             if (attempt < maxAttempts) {
+                // 직전 시도만큼의 시간 + backoff 가 남지 않았으면 재시도해도 마감 전에 못 끝난다
+                long lastAttemptMs = System.currentTimeMillis() - start;
+                if (!deadline.hasAtLeast(Duration.ofMillis(lastAttemptMs + backoffMillis))) {
+                    log.info("Gemini retry skipped (not enough time left). lastAttemptMs={}, {}",
+                            lastAttemptMs, deadline);
+                    break;
+                }
                 try {
                     log.debug("Gemini retry sleep {} ms before next attempt", backoffMillis);
                     Thread.sleep(backoffMillis);
+                    retries.increment();
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     log.warn("Gemini retry sleep interrupted. aborting retries.");
@@ -117,12 +201,380 @@ public class GeminiAnswerGenerator implements AnswerGenerator{
                 backoffMillis *= 2;
             }
         }
-        log.error("Gemini call failed after {} attempts. query='{}'", maxAttempts, query);
+        log.error("Gemini call failed. maxAttempts={}, query='{}'", maxAttempts, query);
 
-        return """
-            죄송합니다, 현재는 질문에 대한 답변을 생성할 수 없습니다.
-            잠시 후 다시 시도해 주세요.
-            (검색은 수행되었으므로 아래 출처들을 직접 참고해 주세요.)
-            """;
+        return FALLBACK_ANSWER;
+    }
+
+    /**
+     * 논블로킹 버전. SDK의 async 클라이언트(CompletableFuture)를 그대로 이어 붙여
+     * 응답을 기다리는 동안 스레드를 잡고 있지 않는다. 재시도/타임아웃/fallback 규칙은 동기 버전과 같다.
+     */
+    @Override
+    public Mono<String> generateAnswerAsync(String query, List<SourceDto> sources, List<String> contents) {
+
+        log.info("GeminiAnswerGenerator.generateAnswerAsync() CALLED. query='{}'", query);
+
+        if (isCircuitOpen()) {
+            log.warn("Gemini async call skipped (circuit open). query='{}'", query);
+            return Mono.just(FALLBACK_ANSWER);
+        }
+
+        String prompt = buildPrompt(query, sources, contents);
+        String queryHash = JfrEvents.hash(query);
+        long start = System.currentTimeMillis();
+
+        return Mono.deferContextual(ctx -> {
+            Deadline deadline = DeadlineContext.from(ctx);
+            if (deadline.isExpired()) {
+                log.warn("Gemini async call skipped (deadline exceeded). query='{}'", query);
+                return Mono.just(FALLBACK_ANSWER);
+            }
+
+            Duration backoff = Duration.ofMillis(INITIAL_BACKOFF_MILLIS);
+            AtomicLong attemptStart = new AtomicLong();
+
+            return Mono.defer(() -> {
+                        attemptStart.set(System.currentTimeMillis());
+                        if (!geminiCircuitBreaker.tryAcquirePermission()) {
+                            return Mono.error(new CallNotPermittedException("Gemini circuit open"));
+                        }
+                        hedgePolicy.onAttempt();
+                        Duration attemptTimeout =
+                                hedgePolicy.attemptTimeout(deadline.cap(Duration.ofSeconds(llmTimeoutSeconds)));
+                        return hedgedAsync(prompt, queryHash, attemptTimeout)
+                                .timeout(attemptTimeout)
+                                .doOnError(TimeoutException.class, e -> hedgePolicy.record(attemptTimeout))
+                                .doOnSuccess(response -> geminiCircuitBreaker.onSuccess())
+                                .doOnError(e -> {
+                                    if (e instanceof CallNotPermittedException) {
+                                        geminiCircuitBreaker.onIgnored(); // bulkhead 포화는 Gemini 상태와 무관
+                                    } else {
+                                        geminiCircuitBreaker.onError();
+                                    }
+                                })
+                                .doOnCancel(geminiCircuitBreaker::onIgnored);
+                    })
+                    .doOnError(e -> log.warn("Gemini async call failed. query='{}', elapsedMs={}, reason={}",
+                            query, System.currentTimeMillis() - start, e.toString()))
+                    .retryWhen(Retry.fixedDelay(MAX_ATTEMPTS - 1, backoff)
+                            .filter(e -> !(e instanceof CallNotPermittedException))
+                            .filter(e -> deadline.hasAtLeast(
+                                    Duration.ofMillis(System.currentTimeMillis() - attemptStart.get()).plus(backoff)))
+                            .doBeforeRetry(signal -> retries.increment()))
+                    .map(response -> {
+                        String answer = response.text();
+                        log.info("Gemini async call success. elapsedMs={}, answerLength={}",
+                                System.currentTimeMillis() - start,
+                                (answer != null ? answer.length() : 0));
+                        return (answer != null && !answer.isBlank()) ? answer : EMPTY_ANSWER;
+                    })
+                    .onErrorResume(e -> {
+                        log.error("Gemini async call failed. maxAttempts={}, query='{}'", MAX_ATTEMPTS, query);
+                        return Mono.just(FALLBACK_ANSWER);
+                    });
+        });
+    }
+
+    /**
+     * 첫 호출이 hedge 지연(p95) 안에 끝나지 않으면 같은 프롬프트로 한 번 더 호출하고 먼저 성공한 응답을 쓴다.
+     * 시작한 호출은 calls에 담아 두고, 호출 측이 끝날 때 남은 것을 취소한다.
+     */
+    private GenerateContentResponse callHedged(String prompt, String queryHash, Deadline attemptDeadline,
+                                               List<Future<?>> calls)
+            throws Exception {
+        CompletableFuture<GenerateContentResponse> primary = submitCall(prompt, queryHash, attemptDeadline, false, calls);
+        CompletableFuture<GenerateContentResponse> result = primary;
+
+        Optional<Duration> hedgeDelay = hedgePolicy.hedgeDelay();
+        if (hedgeDelay.isPresent() && attemptDeadline.hasAtLeast(hedgeDelay.get())) {
+            try {
+                return primary.get(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (hedgePolicy.tryHedge()) {
+                    log.info("Gemini hedge fired. afterMs={}", hedgeDelay.get().toMillis());
+                    CompletableFuture<GenerateContentResponse> hedge =
+                            submitCall(prompt, queryHash, attemptDeadline, true, calls);
+                    result = firstSuccessful(primary, hedge);
+                }
+            }
+        }
+        return result.get(attemptDeadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * llmExecutor에 FutureTask로 제출한다. CompletableFuture.supplyAsync와 달리 cancel(true)가 실행 중인 스레드를 interrupt한다.
+     * permit 대기 중이면 바로 빠지지만, 이미 보낸 HTTP 호출은 SDK가 interrupt에 반응할 때만 끊긴다
+     * (platform thread의 blocking socket read는 보통 끝까지 기다림 → permit도 응답이 와야 반납).
+     * 결과는 돌려주는 CompletableFuture로 받고, 취소는 tasks에 담긴 Future로 한다.
+     */
+    private CompletableFuture<GenerateContentResponse> submitCall(String prompt, String queryHash,
+                                                                  Deadline attemptDeadline, boolean hedge,
+                                                                  List<Future<?>> tasks) {
+        CompletableFuture<GenerateContentResponse> result = new CompletableFuture<>();
+        tasks.add(llmExecutor.submit(() -> {
+            try {
+                result.complete(callWithPermit(prompt, queryHash, attemptDeadline, hedge));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * 둘 중 먼저 성공한 응답으로 완료. 둘 다 실패하면 나중 실패로 완료.
+     */
+    private CompletableFuture<GenerateContentResponse> firstSuccessful(
+            CompletableFuture<GenerateContentResponse> primary,
+            CompletableFuture<GenerateContentResponse> hedge
+    ) {
+        CompletableFuture<GenerateContentResponse> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> {
+            if (error == null) {
+                winner.complete(response);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((response, error) -> {
+            if (error == null) {
+                if (winner.complete(response)) {
+                    hedgePolicy.recordHedgeWon();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    /**
+     * 비동기 hedge. hedge 지연이 지나도 첫 호출이 값을 못 냈으면 (예산 안에서) 두 번째 호출을 구독하고,
+     * 먼저 값을 낸 쪽을 쓰고 나머지는 구독 취소한다.
+     */
+    private Mono<GenerateContentResponse> hedgedAsync(String prompt, String queryHash, Duration attemptTimeout) {
+        return Mono.defer(() -> {
+            if (!geminiBulkhead.tryAcquire()) {
+                return Mono.error(new CallNotPermittedException("Gemini bulkhead full"));
+            }
+            Mono<GenerateContentResponse> primary = callAsync(prompt, queryHash, false);
+            return hedgePolicy.hedgeDelay()
+                    .filter(delay -> delay.compareTo(attemptTimeout) < 0)
+                    .map(delay -> Mono.firstWithValue(
+                            primary,
+                            Mono.delay(delay).flatMap(tick -> hedgeAsync(prompt, queryHash, delay))))
+                    .orElse(primary);
+        });
+    }
+
+    /**
+     * hedge도 자기 permit으로 호출한다 (동시 Gemini 호출 ≤ llm.max-concurrency).
+     * 자리가 없으면 hedge 예산을 쓰지 않고 denied로 센다.
+     */
+    private Mono<GenerateContentResponse> hedgeAsync(String prompt, String queryHash, Duration delay) {
+        if (!geminiBulkhead.tryAcquire()) {
+            hedgePolicy.recordHedgeDenied();
+            return Mono.empty();
+        }
+        if (!hedgePolicy.tryHedge()) {
+            geminiBulkhead.release();
+            return Mono.empty();
+        }
+        log.info("Gemini async hedge fired. afterMs={}", delay.toMillis());
+        return callAsync(prompt, queryHash, true).doOnNext(response -> hedgePolicy.recordHedgeWon());
+    }
+
+    /**
+     * permit을 잡은 상태에서 부른다. 끝나면(성공/실패/hedge에서 져서 취소) permit을 반납한다.
+     */
+    private Mono<GenerateContentResponse> callAsync(String prompt, String queryHash, boolean hedge) {
+        return Mono.defer(() -> {
+            GeminiAttemptEvent event = attemptEvent(prompt, queryHash, "async", hedge);
+            return Mono.fromFuture(() -> geminiClient.async.models.generateContent(llmModel, prompt, null))
+                    .elapsed()
+                    .doOnNext(timed -> hedgePolicy.record(Duration.ofMillis(timed.getT1())))
+                    .map(Tuple2::getT2)
+                    .doOnNext(response -> succeeded(event, response))
+                    .doOnError(e -> event.outcome = JfrEvents.outcome(e))
+                    .doFinally(signal -> {
+                        commit(event);
+                        geminiBulkhead.release();
+                    });
+        });
+    }
+
+    /**
+     * permit을 받은 뒤에만 Gemini를 호출한다.
+     * 대기 시간도 호출 타임아웃에 포함되므로 남은 시간만큼만 기다린다.
+     * 지연 분포(와 JFR GeminiAttemptEvent)에는 permit 대기를 뺀 호출 시간만 기록한다.
+     */
+    private GenerateContentResponse callWithPermit(String prompt, String queryHash, Deadline attemptDeadline,
+                                                   boolean hedge) {
+        acquirePermit(attemptDeadline.remaining());
+        GeminiAttemptEvent event = attemptEvent(prompt, queryHash, "sync", hedge);
+        try {
+            long start = System.nanoTime();
+            GenerateContentResponse response = geminiClient.models.generateContent(llmModel, prompt, null);
+            hedgePolicy.record(Duration.ofNanos(System.nanoTime() - start));
+            succeeded(event, response);
+            return response;
+        } catch (RuntimeException e) {
+            event.outcome = JfrEvents.outcome(e);
+            throw e;
+        } finally {
+            commit(event);
+            geminiBulkhead.release();
+        }
+    }
+
+    private GeminiAttemptEvent attemptEvent(String prompt, String queryHash, String mode, boolean hedge) {
+        GeminiAttemptEvent event = new GeminiAttemptEvent();
+        event.begin();
+        event.queryHash = queryHash;
+        event.model = llmModel;
+        event.mode = mode;
+        event.hedge = hedge;
+        event.promptChars = prompt.length();
+        return event;
+    }
+
+    private static void succeeded(GeminiAttemptEvent event, GenerateContentResponse response) {
+        String answer = response.text();
+        event.answerChars = (answer != null) ? answer.length() : 0;
+        event.outcome = "ok";
+    }
+
+    // 취소(hedge에서 진 호출, 타임아웃)는 outcome 없이 끝난다
+    private static void commit(GeminiAttemptEvent event) {
+        if (event.outcome == null) {
+            event.outcome = JfrEvents.CANCELLED;
+        }
+        event.commit();
+    }
+
+    private void acquirePermit(Duration wait) {
+        if (!geminiBulkhead.tryAcquire(wait)) {
+            throw new CallNotPermittedException("Gemini bulkhead wait timed out");
+        }
+    }
+
+    /**
+     * circuit이 열려 있어 지금 호출하면 바로 fallback이 되는지. 상위에서 본문 수집 같은 앞 단계를 건너뛰는 데 쓴다.
+     */
+    @Override
+    public boolean isCircuitOpen() {
+        return !geminiCircuitBreaker.isCallPermitted();
+    }
+
+    /**
+     * 지시문 + 질문을 먼저 만들고, 남은 토큰 예산만큼만 출처 본문을 채운다 (PromptContextPacker).
+     */
+    String buildPrompt(String query, List<SourceDto> sources, List<String> contents) {
+        PromptBuildEvent event = new PromptBuildEvent();
+        event.begin();
+        String instructions = PROMPT_TEMPLATE.formatted(query, "");
+        PromptContextPacker.PackedContext packed = promptContextPacker.pack(
+                query, sources, contents, TokenEstimator.estimate(instructions));
+
+        String prompt = PROMPT_TEMPLATE.formatted(query, packed.context());
+        log.info("Prompt built. query='{}', promptTokens={}, contextTokens={}, budget={}, passages={}, duplicatesDropped={}",
+                query, TokenEstimator.estimate(prompt), packed.tokens(), promptContextPacker.getMaxPromptTokens(),
+                packed.passages(), packed.duplicates());
+
+        if (event.shouldCommit()) {
+            event.queryHash = JfrEvents.hash(query);
+            event.sources = sources.size();
+            event.passages = packed.passages();
+            event.duplicates = packed.duplicates();
+            event.promptTokens = TokenEstimator.estimate(prompt);
+            event.promptChars = prompt.length();
+            event.commit();
+        }
+        return prompt;
+    }
+
+    /**
+     * generateContentStream 으로 답변 조각을 받는 대로 흘려보낸다.
+     * - 첫 조각까지는 min(llmTimeoutSeconds, 요청 남은 시간)
+     * - 조각 사이 간격이 llmTimeoutSeconds를 넘으면 중단
+     * - 첫 조각 전에 실패하면 fallback 문구 한 조각으로 대체
+     * - 이미 일부 보냈으면 에러를 그대로 전달 (호출 측이 잘린 답변을 완성된 답변으로 캐시하지 않도록)
+     */
+    @Override
+    public Flux<String> streamAnswer(String query, List<SourceDto> sources, List<String> contents) {
+
+        log.info("GeminiAnswerGenerator.streamAnswer() CALLED. query='{}'", query);
+
+        if (isCircuitOpen()) {
+            log.warn("Gemini stream skipped (circuit open). query='{}'", query);
+            return Flux.just(FALLBACK_ANSWER);
+        }
+
+        String prompt = buildPrompt(query, sources, contents);
+        Duration idleTimeout = Duration.ofSeconds(llmTimeoutSeconds);
+        AtomicBoolean emitted = new AtomicBoolean(false);
+        long start = System.currentTimeMillis();
+
+        return Flux.deferContextual(ctx -> {
+            if (!geminiCircuitBreaker.tryAcquirePermission()) {
+                return Flux.error(new CallNotPermittedException("Gemini circuit open"));
+            }
+            Duration firstChunkTimeout = DeadlineContext.from(ctx).cap(idleTimeout);
+            return streamChunks(prompt, firstChunkTimeout)
+                    .timeout(Mono.delay(firstChunkTimeout), chunk -> Mono.delay(idleTimeout))
+                    .doOnComplete(geminiCircuitBreaker::onSuccess)
+                    .doOnError(e -> {
+                        if (e instanceof CallNotPermittedException) {
+                            geminiCircuitBreaker.onIgnored();
+                        } else {
+                            geminiCircuitBreaker.onError();
+                        }
+                    })
+                    .doOnCancel(geminiCircuitBreaker::onIgnored);
+        })
+                .doOnNext(chunk -> {
+                    if (emitted.compareAndSet(false, true)) {
+                        log.info("Gemini stream first chunk. query='{}', ttfbMs={}",
+                                query, System.currentTimeMillis() - start);
+                    }
+                })
+                .switchIfEmpty(Flux.just(EMPTY_ANSWER))
+                .doOnComplete(() -> log.info("Gemini stream done. query='{}', elapsedMs={}",
+                        query, System.currentTimeMillis() - start))
+                .onErrorResume(e -> {
+                    log.warn("Gemini stream failed. query='{}', elapsedMs={}, reason={}",
+                            query, System.currentTimeMillis() - start, e.toString());
+                    return emitted.get() ? Flux.error(e) : Flux.just(FALLBACK_ANSWER);
+                });
+    }
+
+    private Flux<String> streamChunks(String prompt, Duration permitWait) {
+        return Flux.<String>create(sink -> {
+            try {
+                acquirePermit(permitWait);
+            } catch (Exception e) {
+                sink.error(e);
+                return;
+            }
+            try (ResponseStream<GenerateContentResponse> stream =
+                         geminiClient.models.generateContentStream(llmModel, prompt, null)) {
+                for (GenerateContentResponse response : stream) {
+                    if (sink.isCancelled()) {
+                        break;
+                    }
+                    String text = response.text();
+                    if (text != null && !text.isEmpty()) {
+                        sink.next(text);
+                    }
+                }
+                sink.complete();
+            } catch (Exception e) {
+                sink.error(e);
+            } finally {
+                geminiBulkhead.release();
+            }
+        }).subscribeOn(llmScheduler);
     }
 }
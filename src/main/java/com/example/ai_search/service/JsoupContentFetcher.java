@@ -1,12 +1,34 @@
 package com.example.ai_search.service;
 
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.deadline.DeadlineContext;
+import com.example.ai_search.common.html.HtmlTextExtractor;
+import com.example.ai_search.common.html.MainContentSelector;
+import com.example.ai_search.common.jfr.JfrEvents;
+import com.example.ai_search.common.jfr.PageFetchEvent;
+import com.example.ai_search.common.text.PassageSelector;
+import com.example.ai_search.dto.CachedPageContent;
 import com.example.ai_search.dto.SourceDto;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.*;
 
@@ -14,28 +36,79 @@ import java.util.concurrent.*;
 @Slf4j
 public class JsoupContentFetcher implements ContentFetcher{
 
+    private static final List<MediaType> HTML_TYPES = List.of(
+            MediaType.TEXT_HTML, MediaType.APPLICATION_XHTML_XML, MediaType.TEXT_PLAIN
+    );
+
+    private final WebClient pageWebClient;
     private final ExecutorService jsoupExecutor;
+    private final int perHostConcurrency;
     private final int httpTimeout;
     private final int futureTimeout;
+    private final int maxBodyBytes;
+    private final PageContentCache pageContentCache;
+
+    // 페이지에서 읽는 최대 글자 수. 이 안에서 본문 블록을 고르고 pageContentCache에 저장한다
+    @Value("${app.jsoup.extract-max-chars:12000}")
+    private int extractMaxChars;
+
+    // 페이지당 LLM에 넘기는 글자 수. 본문 중 검색어와 관련 높은 passage만 이만큼 고른다
+    @Value("${app.jsoup.passage.char-budget:2000}")
+    private int passageCharBudget;
+
+    // all: 모든 페이지가 끝나거나 타임아웃될 때까지 대기
+    // progressive: 본문이 충분히 모이면(min-pages 또는 char-budget) 혹은 max-wait이 지나면 바로 반환
+    @Value("${app.jsoup.fetch-mode:progressive}")
+    private String fetchMode;
+
+    @Value("${app.jsoup.progressive.min-pages:2}")
+    private int progressiveMinPages;
+
+    @Value("${app.jsoup.progressive.char-budget:3000}")
+    private int progressiveCharBudget;
+
+    @Value("${app.jsoup.progressive.max-wait-ms:1500}")
+    private long progressiveMaxWaitMs;
+
+    // host별 동시 요청 제한. 오래 안 쓰인 host는 정리
+    private final Cache<String, Semaphore> hostPermits = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
 
     public JsoupContentFetcher(
-            @Value("${app.jsoup.thread-pool-size:8}") int poolSize,
+            WebClient pageWebClient,
+            @Qualifier("jsoupExecutor") ExecutorService jsoupExecutor,
+            @Value("${app.jsoup.per-host-concurrency:4}") int perHostConcurrency,
             @Value("${app.jsoup.http-timeout-ms:3000}") int httpTimeout,
-            @Value("${app.jsoup.future-timeout-ms:4000}") int futureTimeout
+            @Value("${app.jsoup.future-timeout-ms:4000}") int futureTimeout,
+            @Value("${app.jsoup.max-body-bytes:524288}") int maxBodyBytes,
+            PageContentCache pageContentCache
     ) {
-        this.jsoupExecutor = Executors.newFixedThreadPool(poolSize);
+        this.pageWebClient = pageWebClient;
+        this.jsoupExecutor = jsoupExecutor;
+        this.perHostConcurrency = perHostConcurrency;
         this.httpTimeout = httpTimeout;
         this.futureTimeout = futureTimeout;
+        this.maxBodyBytes = maxBodyBytes;
+        this.pageContentCache = pageContentCache;
     }
 
 
     @Override
-    public List<String> fetchContents(List<SourceDto> sources) {
+    public List<String> fetchContents(String query, List<SourceDto> sources) {
+
+        // 모든 페이지가 같은 마감을 공유한다: min(future-timeout-ms, 요청 남은 시간)
+        Deadline fetchDeadline = DeadlineContext.current().within(Duration.ofMillis(futureTimeout));
+        String queryHash = JfrEvents.hash(query);
+
+        if (isProgressive()) {
+            return fetchProgressively(query, queryHash, sources, fetchDeadline);
+        }
 
         List<CompletableFuture<String>> futures = sources.stream()
                 .map(source ->
                         CompletableFuture.supplyAsync(
-                                () -> fetchPageText(source.getUrl()),
+                                () -> passages(query, fetchPageTextWithPermit(source.getUrl(), fetchDeadline, queryHash)),
                                 jsoupExecutor
                         )
                 )
@@ -46,7 +119,7 @@ public class JsoupContentFetcher implements ContentFetcher{
         for (int i = 0; i < futures.size(); i++) {
             CompletableFuture<String> f = futures.get(i);
             try {
-                String text = f.get(futureTimeout, TimeUnit.MILLISECONDS);
+                String text = f.get(fetchDeadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
                 contents.add(text != null ? text : "");
             } catch (TimeoutException e) {
                 log.warn("Jsoup async timeout for source index={}", i);
@@ -61,26 +134,361 @@ public class JsoupContentFetcher implements ContentFetcher{
         return contents;
     }
 
-    private String fetchPageText(String url) {
+    /**
+     * 도착하는 순서대로 받다가 충분해지면 바로 반환하고, 남은(느린) 요청은 취소한다.
+     * 반환 리스트는 sources 순서를 유지하고 아직 못 받은 페이지는 ""로 채운다.
+     */
+    private List<String> fetchProgressively(String query, String queryHash, List<SourceDto> sources,
+                                            Deadline fetchDeadline) {
         long start = System.currentTimeMillis();
+        Deadline waitDeadline = fetchDeadline.within(Duration.ofMillis(progressiveMaxWaitMs));
+
+        CompletionService<PageText> completionService = new ExecutorCompletionService<>(jsoupExecutor);
+        List<Future<PageText>> futures = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            int index = i;
+            String url = sources.get(i).getUrl();
+            futures.add(completionService.submit(
+                    () -> new PageText(index, passages(query, fetchPageTextWithPermit(url, fetchDeadline, queryHash)))));
+        }
+
+        String[] contents = new String[sources.size()];
+        Arrays.fill(contents, "");
+        FetchProgress progress = new FetchProgress();
+
+        try {
+            int completed = 0;
+            while (completed < sources.size()) {
+                long waitNanos = waitDeadline.remaining().toNanos();
+                Future<PageText> done = (waitNanos > 0)
+                        ? completionService.poll(waitNanos, TimeUnit.NANOSECONDS)
+                        : null;
+                if (done == null) {
+                    break; // max-wait 또는 요청 마감
+                }
+                completed++;
+                if (take(done, contents, progress)) {
+                    break;
+                }
+            }
+            // 취소 전에 이미 끝나 있는 페이지는 기다리지 않고 마저 담는다
+            Future<PageText> ready;
+            while ((ready = completionService.poll()) != null) {
+                take(ready, contents, progress);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 이미 끝난 future에는 영향 없음. 진행 중인 fetch는 interrupt로 중단
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        log.info("Progressive fetch done. received={}/{}, nonEmpty={}, chars={}, elapsedMs={}",
+                progress.received, sources.size(), progress.nonEmpty, progress.chars,
+                System.currentTimeMillis() - start);
+
+        return Arrays.asList(contents);
+    }
+
+    /**
+     * 끝난 페이지 하나를 담는다. 한 페이지가 실패해도 ""로 두고 나머지는 계속 받는다.
+     * @return 충분히 모였으면 true
+     */
+    private static boolean take(Future<PageText> done, String[] contents, FetchProgress progress)
+            throws InterruptedException {
         try {
-            String text = Jsoup.connect(url)
-                    .timeout(httpTimeout)
-                    .get()
-                    .text();
+            PageText page = done.get();
+            contents[page.index()] = page.text();
+            return progress.add(page.text());
+        } catch (ExecutionException e) {
+            log.warn("Progressive fetch failed for one page. reason={}", String.valueOf(e.getCause()));
+            return false;
+        }
+    }
+
+    /**
+     * 논블로킹 버전. WebClient로 HTML을 받고, 파싱(CPU 작업)만 parallel 스케줄러에서 한다.
+     * 순서는 sources 순서를 유지하고, 실패한 URL은 ""로 채운다.
+     * progressive 모드면 충분히 모였을 때 나머지 구독을 끊는다 (= 요청 취소).
+     */
+    @Override
+    public Mono<List<String>> fetchContentsAsync(String query, List<SourceDto> sources) {
+        return Mono.deferContextual(ctx -> {
+            Duration timeout = DeadlineContext.from(ctx).cap(Duration.ofMillis(futureTimeout));
+            String queryHash = JfrEvents.hash(query);
 
-            if (text.length() > 2000) {
-                text = text.substring(0, 2000);
+            if (!isProgressive()) {
+                return Flux.fromIterable(sources)
+                        .flatMapSequential(source -> fetchPageTextAsync(source.getUrl(), timeout, queryHash)
+                                .map(text -> passages(query, text)))
+                        .collectList();
             }
 
+            FetchProgress progress = new FetchProgress();
+            Duration maxWait = DeadlineContext.from(ctx).cap(Duration.ofMillis(progressiveMaxWaitMs));
+
+            return Flux.range(0, sources.size())
+                    .flatMap(i -> fetchPageTextAsync(sources.get(i).getUrl(), timeout, queryHash)
+                            .map(text -> new PageText(i, passages(query, text))))
+                    .takeUntil(page -> progress.add(page.text()))
+                    .take(maxWait)
+                    .collectList()
+                    .map(pages -> {
+                        String[] contents = new String[sources.size()];
+                        Arrays.fill(contents, "");
+                        pages.forEach(page -> contents[page.index()] = page.text());
+                        log.info("Progressive fetch done (async). received={}/{}, nonEmpty={}, chars={}",
+                                progress.received, sources.size(), progress.nonEmpty, progress.chars);
+                        return Arrays.asList(contents);
+                    });
+        });
+    }
+
+    /**
+     * 캐시/추출된 본문(검색어와 무관)에서 이번 검색어에 맞는 passage만 passage.char-budget 만큼 고른다.
+     */
+    private String passages(String query, String mainContent) {
+        return PassageSelector.select(query, mainContent, passageCharBudget);
+    }
+
+    private boolean isProgressive() {
+        return "progressive".equalsIgnoreCase(fetchMode);
+    }
+
+    private record PageText(int index, String text) {
+    }
+
+    /**
+     * progressive 모드 종료 조건 추적. 한 번의 fetch 안에서만 쓰고 버린다.
+     */
+    private final class FetchProgress {
+        private int received;
+        private int nonEmpty;
+        private int chars;
+
+        /**
+         * @return 충분히 모였으면 true
+         */
+        synchronized boolean add(String text) {
+            received++;
+            if (text != null && !text.isEmpty()) {
+                nonEmpty++;
+                chars += text.length();
+            }
+            return nonEmpty >= progressiveMinPages || chars >= progressiveCharBudget;
+        }
+    }
+
+    private Mono<String> fetchPageTextAsync(String url, Duration timeout, String queryHash) {
+        long start = System.currentTimeMillis();
+
+        return pageText(url, timeout, queryHash)
+                .doOnNext(text -> log.debug("Async fetch success. url='{}', elapsedMs={}, textLen={}",
+                        url, System.currentTimeMillis() - start, text.length()))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch page text (async). url={}, elapsedMs={}, reason={}",
+                            url, System.currentTimeMillis() - start, e.toString());
+                    return Mono.just("");
+                })
+                .defaultIfEmpty("");
+    }
+
+    /**
+     * pageContentCache를 먼저 보고, fresh면 네트워크 없이 반환. 아니면 (조건부) GET.
+     */
+    private Mono<String> pageText(String url, Duration timeout, String queryHash) {
+        return pageContentCache.find(url)
+                .flatMap(cached -> {
+                    if (pageContentCache.isFresh(cached)) {
+                        pageContentCache.recordHit();
+                        return Mono.just(cached.getText());
+                    }
+                    return fetchRemote(url, cached, timeout, queryHash);
+                })
+                .switchIfEmpty(Mono.defer(() -> fetchRemote(url, null, timeout, queryHash)))
+                .timeout(timeout);
+    }
+
+    /**
+     * 공용 pageWebClient(커넥션 풀, gzip, HTTP/2)로 받은 본문을 DOM 없이 스트리밍으로 텍스트 추출하고,
+     * 링크 비율/텍스트 밀도로 본문 블록만 남긴다 (MainContentSelector).
+     * - cached가 있으면 If-None-Match / If-Modified-Since 로 재검증, 304면 cached 본문 재사용
+     * - HTML이 아니면 본문을 읽지 않고 실패 처리
+     * - extract-max-chars 글자가 차면 그 자리에서 구독을 끊는다 (나머지 바이트는 받지 않음)
+     * - 그 전에도 maxBodyBytes 이상은 읽지 않는다
+     * - 재검증 요청이 실패하면 cached(stale) 본문을 그대로 쓴다
+     * 조각마다 선형 토크나이즈만 하므로 Netty 스레드에서 바로 처리한다.
+     * 요청마다 JFR PageFetchEvent(host, 상태 코드, 읽은 바이트, 추출 글자 수, 결과)를 남긴다.
+     */
+    private Mono<String> fetchRemote(String url, CachedPageContent cached, Duration timeout, String queryHash) {
+        return Mono.defer(() -> {
+                    PageFetchEvent event = new PageFetchEvent();
+                    event.begin();
+                    event.queryHash = queryHash;
+                    event.host = JfrEvents.hostOf(url);
+                    event.revalidation = (cached != null);
+                    return exchange(url, cached, event)
+                            .timeout(timeout)
+                            .doOnError(e -> event.outcome = JfrEvents.outcome(e))
+                            .doFinally(signal -> {
+                                if (event.outcome == null) {
+                                    event.outcome = JfrEvents.CANCELLED;
+                                }
+                                event.commit();
+                            });
+                })
+                .onErrorResume(e -> {
+                    if (cached == null) {
+                        return Mono.error(e);
+                    }
+                    log.info("Page revalidation failed, serving stale content. url={}, reason={}", url, e.toString());
+                    return Mono.just(cached.getText());
+                });
+    }
+
+    private Mono<String> exchange(String url, CachedPageContent cached, PageFetchEvent event) {
+        return pageWebClient.get()
+                .uri(URI.create(url))
+                .headers(headers -> {
+                    if (cached == null) {
+                        return;
+                    }
+                    if (cached.getEtag() != null) {
+                        headers.setIfNoneMatch(cached.getEtag());
+                    }
+                    if (cached.getLastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    event.status = response.statusCode().value();
+                    if (cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        pageContentCache.recordRevalidated();
+                        pageContentCache.store(url, new CachedPageContent(
+                                cached.getText(), cached.getEtag(), cached.getLastModified(),
+                                System.currentTimeMillis()));
+                        event.outcome = "not_modified";
+                        return response.releaseBody().thenReturn(cached.getText());
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.releaseBody().then(Mono.<String>error(
+                                new IllegalStateException("HTTP " + response.statusCode().value())));
+                    }
+                    MediaType contentType = response.headers().contentType().orElse(null);
+                    if (contentType != null && HTML_TYPES.stream().noneMatch(contentType::isCompatibleWith)) {
+                        return response.releaseBody().then(Mono.<String>error(
+                                new IllegalStateException("Unsupported content type " + contentType)));
+                    }
+
+                    HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                    String etag = responseHeaders.getETag();
+                    String lastModified = responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED);
+
+                    // charset이 없으면 추출기가 첫 조각의 meta 태그로 판단
+                    HtmlTextExtractor extractor = new HtmlTextExtractor(
+                            (contentType != null) ? contentType.getCharset() : null, extractMaxChars);
+
+                    return DataBufferUtils.takeUntilByteCount(response.bodyToFlux(DataBuffer.class), maxBodyBytes)
+                            .map(buffer -> {
+                                event.bytes += buffer.readableByteCount();
+                                return feed(extractor, buffer);
+                            })
+                            .takeUntil(full -> full)
+                            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                            .then(Mono.fromCallable(() -> {
+                                String text = MainContentSelector.select(extractor.blocks());
+                                pageContentCache.recordMiss();
+                                pageContentCache.store(url, new CachedPageContent(
+                                        text, etag, lastModified, System.currentTimeMillis()));
+                                event.chars = text.length();
+                                event.outcome = "ok";
+                                return text;
+                            }));
+                });
+    }
+
+    private static boolean feed(HtmlTextExtractor extractor, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            boolean full = false;
+            while (iterator.hasNext() && !full) {
+                full = extractor.feed(iterator.next());
+            }
+            return full;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * 같은 host에 몰리는 요청을 perHostConcurrency개로 제한한다.
+     * permit 대기 시간도 future 타임아웃 안에 포함되므로, 남은 시간만큼만 기다리고 못 받으면 포기.
+     */
+    private String fetchPageTextWithPermit(String url, Deadline fetchDeadline, String queryHash) {
+        // fresh 캐시 HIT는 permit 없이 바로 (L1이면 즉시 반환)
+        CachedPageContent cached = lookupCached(url, fetchDeadline);
+        if (cached != null && pageContentCache.isFresh(cached)) {
+            pageContentCache.recordHit();
+            return cached.getText();
+        }
+
+        Semaphore permit = hostPermits.get(hostOf(url), host -> new Semaphore(perHostConcurrency));
+        long waitNanos = fetchDeadline.remaining().toNanos();
+
+        try {
+            if (waitNanos <= 0 || !permit.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                log.warn("Per-host permit wait timeout. url={}, perHostConcurrency={}", url, perHostConcurrency);
+                return "";
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+
+        try {
+            // 마감이 이미 지났으면 WebClient 응답 timeout 1ms로 바로 실패시킨다 (음수 Duration 방지)
+            int timeoutMs = (int) Math.max(1L, fetchDeadline.capMillis(httpTimeout));
+            return fetchPageText(url, timeoutMs, cached, queryHash);
+        } finally {
+            permit.release();
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return (host != null) ? host.toLowerCase() : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private CachedPageContent lookupCached(String url, Deadline fetchDeadline) {
+        try {
+            return pageContentCache.find(url).block(fetchDeadline.remaining());
+        } catch (Exception e) {
+            log.debug("Page content cache lookup skipped. url={}, reason={}", url, e.toString());
+            return null;
+        }
+    }
+
+    private String fetchPageText(String url, int timeoutMs, CachedPageContent cached, String queryHash) {
+        long start = System.currentTimeMillis();
+        try {
+            String text = fetchRemote(url, cached, Duration.ofMillis(timeoutMs), queryHash).block();
+            text = (text != null) ? text : "";
+
             long elapsed = System.currentTimeMillis() - start;
-            log.debug("Jsoup fetch success. url='{}', elapsedMs={}, textLen={}",
+            log.debug("Page fetch success. url='{}', elapsedMs={}, textLen={}",
                     url, elapsed, text.length());
 
             return text;
 
         } catch (Exception e) {
             long elapsed = System.currentTimeMillis() - start;
+            if (Thread.currentThread().isInterrupted() || Exceptions.unwrap(e) instanceof InterruptedException) {
+                log.debug("Page fetch cancelled. url={}, elapsedMs={}", url, elapsed);
+                return "";
+            }
             log.warn("Failed to fetch page text. url={}, elapsedMs={}, reason={}", url, elapsed, e.toString());
             return "";
         }
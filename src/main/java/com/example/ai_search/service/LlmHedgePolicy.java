@@ -0,0 +1,129 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.latency.HedgeBudget;
+import com.example.ai_search.common.latency.RollingLatencyWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Gemini 호출 지연 분포(최근 WINDOW_SIZE건)로 시도별 타임아웃과 hedge 시점을 정한다.
+ * - 시도 타임아웃: p99 × multiplier 를 [min, llm.timeout-seconds] 로 자른 값
+ * - hedge: 첫 호출이 p95 안에 안 끝나면 같은 프롬프트로 한 번 더 호출 (budget-percent 이내)
+ * 샘플이 MIN_SAMPLES보다 적을 때는 고정 타임아웃만 쓰고 hedge 하지 않는다.
+ */
+@Component
+@Slf4j
+public class LlmHedgePolicy {
+
+    private static final int WINDOW_SIZE = 200;
+    private static final int MIN_SAMPLES = 20;
+    private static final double TIMEOUT_PERCENTILE = 0.99;
+    // 버킷 적립 상한. 한가할 때 쌓인 토큰으로 한꺼번에 hedge가 몰리지 않게 한다
+    private static final double MAX_HEDGE_TOKENS = 10.0;
+
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final Duration minHedgeDelay;
+    private final double timeoutMultiplier;
+    private final Duration minTimeout;
+
+    private final RollingLatencyWindow latencies = new RollingLatencyWindow(WINDOW_SIZE, MIN_SAMPLES);
+    private final HedgeBudget hedgeBudget;
+
+    private final Counter hedgeFired;
+    private final Counter hedgeDenied;
+    private final Counter hedgeWon;
+
+    public LlmHedgePolicy(
+            MeterRegistry meterRegistry,
+            @Value("${llm.hedge.enabled:true}") boolean hedgeEnabled,
+            @Value("${llm.hedge.percentile:0.95}") double hedgePercentile,
+            @Value("${llm.hedge.budget-percent:10}") double hedgeBudgetPercent,
+            @Value("${llm.hedge.min-delay:200ms}") Duration minHedgeDelay,
+            @Value("${llm.adaptive-timeout.multiplier:2.0}") double timeoutMultiplier,
+            @Value("${llm.adaptive-timeout.min:2s}") Duration minTimeout
+    ) {
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = minHedgeDelay;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minTimeout = minTimeout;
+        this.hedgeBudget = new HedgeBudget(hedgeBudgetPercent / 100.0, MAX_HEDGE_TOKENS);
+
+        this.hedgeFired = Counter.builder("llm.hedge.requests").tag("result", "fired").register(meterRegistry);
+        this.hedgeDenied = Counter.builder("llm.hedge.requests").tag("result", "denied").register(meterRegistry);
+        this.hedgeWon = Counter.builder("llm.hedge.requests").tag("result", "won").register(meterRegistry);
+        Gauge.builder("llm.latency.p95", this, policy -> policy.latencies.percentile(0.95)
+                        .map(Duration::toMillis).orElse(-1L))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 원 호출(시도) 한 번마다 부른다. hedge 예산이 호출 수에 비례해 쌓인다.
+     */
+    public void onAttempt() {
+        hedgeBudget.onRequest();
+    }
+
+    /**
+     * 성공한 호출의 지연 시간. 타임아웃으로 끝난 호출은 타임아웃 값을 그대로 넣어 꼬리를 과소평가하지 않게 한다.
+     */
+    public void record(Duration latency) {
+        latencies.record(latency);
+    }
+
+    /**
+     * @param max 고정 상한 (llm.timeout-seconds, 요청 마감 반영)
+     */
+    public Duration attemptTimeout(Duration max) {
+        return latencies.percentile(TIMEOUT_PERCENTILE)
+                .map(p99 -> Duration.ofMillis((long) (p99.toMillis() * timeoutMultiplier)))
+                .map(adaptive -> adaptive.compareTo(minTimeout) < 0 ? minTimeout : adaptive)
+                .map(adaptive -> adaptive.compareTo(max) > 0 ? max : adaptive)
+                .orElse(max);
+    }
+
+    /**
+     * 첫 호출을 이만큼 기다린 뒤 hedge 한다. 비어 있으면 hedge 하지 않는다.
+     */
+    public Optional<Duration> hedgeDelay() {
+        if (!hedgeEnabled) {
+            return Optional.empty();
+        }
+        return latencies.percentile(hedgePercentile)
+                .map(p -> p.compareTo(minHedgeDelay) < 0 ? minHedgeDelay : p);
+    }
+
+    /**
+     * hedge 직전에 부른다. 예산이 없으면 false (첫 호출만 계속 기다린다).
+     */
+    public boolean tryHedge() {
+        if (hedgeBudget.tryAcquire()) {
+            hedgeFired.increment();
+            return true;
+        }
+        hedgeDenied.increment();
+        log.debug("Gemini hedge skipped (budget exhausted).");
+        return false;
+    }
+
+    /**
+     * hedge 시점에 bulkhead 자리가 없어 보내지 않았을 때.
+     */
+    public void recordHedgeDenied() {
+        hedgeDenied.increment();
+        log.debug("Gemini hedge skipped (bulkhead full).");
+    }
+
+    public void recordHedgeWon() {
+        hedgeWon.increment();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.dto.CachedPageContent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * URL 단위 본문 캐시 (검색어 캐시와 별개).
+ * - fresh-ttl 안: 네트워크 없이 바로 사용 (hit)
+ * - 그 이후: 조건부 GET으로 재검증 → 304면 재사용 (revalidated), 200이면 교체 (miss)
+ * - hit 비율은 page.content.cache.hit.ratio 게이지로 노출
+ */
+@Component
+@Slf4j
+public class PageContentCache {
+
+    static final String CACHE_NAME = "pageContentCache";
+
+    private final CacheManager cacheManager;
+    private final Duration freshTtl;
+
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter misses;
+
+    public PageContentCache(
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.page-content.fresh-ttl:1h}") Duration freshTtl
+    ) {
+        this.cacheManager = cacheManager;
+        this.freshTtl = freshTtl;
+
+        this.hits = requests(meterRegistry, "hit");
+        this.revalidated = requests(meterRegistry, "revalidated");
+        this.misses = requests(meterRegistry, "miss");
+
+        Gauge.builder("page.content.cache.hit.ratio", this, PageContentCache::hitRatio)
+                .description("pageContentCache hit ratio (304 재검증 포함)")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("page.content.cache.requests")
+                .description("page fetch 요청의 캐시 결과")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 비동기 조회 (Cache.retrieve). 없으면 empty.
+     */
+    public Mono<CachedPageContent> find(String url) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<?> future = cache.retrieve(url);
+            if (future == null) {
+                return Mono.empty();
+            }
+            return Mono.fromFuture(future).flatMap(result -> {
+                Object value = (result instanceof Cache.ValueWrapper wrapper) ? wrapper.get() : result;
+                return (value instanceof CachedPageContent page) ? Mono.just(page) : Mono.empty();
+            });
+        }).onErrorResume(e -> {
+            log.warn("Page content cache lookup failed. url={}, reason={}", url, e.toString());
+            return Mono.empty();
+        });
+    }
+
+    public boolean isFresh(CachedPageContent page) {
+        return System.currentTimeMillis() - page.getFetchedAtMillis() < freshTtl.toMillis();
+    }
+
+    /**
+     * 저장은 Redis 블로킹 호출이므로 boundedElastic에서 비동기로 (응답을 기다리게 하지 않는다).
+     */
+    public void store(String url, CachedPageContent page) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || page.getText() == null || page.getText().isEmpty()) {
+            return;
+        }
+        Mono.fromRunnable(() -> cache.put(url, page))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        ignored -> { },
+                        e -> log.warn("Page content cache put failed. url={}, reason={}", url, e.toString())
+                );
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    double hitRatio() {
+        double total = hits.count() + revalidated.count() + misses.count();
+        return (total == 0) ? 0.0 : (hits.count() + revalidated.count()) / total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ai_search.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/popularqueries
+ * - GET: 이 노드의 top-K(local), redis mode면 전체 top-K(global), 미리 채우기 결과/남은 예산(warm)
+ */
+@Component
+@Endpoint(id = "popularqueries")
+@RequiredArgsConstructor
+public class PopularQueriesEndpoint {
+
+    private final QueryPopularity queryPopularity;
+    private final PopularQueryWarmer popularQueryWarmer;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = queryPopularity.status();
+        status.put("warm", popularQueryWarmer.status());
+        return status;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.ratelimit.TokenBucket;
+import com.example.ai_search.common.sketch.HeavyHitters.Counted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인기 검색어의 답변을 TTL이 끝나기 전에 미리 채운다 (llmResultCache).
+ * - interval마다 QueryPopularity top-K 중 상위 top-k개, 최근 요청 min-count 이상만 본다
+ * - 답변이 없거나 refresh-ahead 시점이 지난 것만 SearchService.warm (백그라운드 갱신)
+ *   노드 간 lease를 잡은 노드만 갱신을 맡고 예산을 쓴다 → warmed는 실제로 맡은 갱신 수
+ * - 파이프라인(Brave + Gemini) 호출 예산: 분당 budget-per-minute, 한 번에 max-per-run개까지
+ * 사용자 요청의 refresh-ahead는 hit가 와야 돌지만, 이건 요청이 오기 전에 돌아 첫 요청도 HIT가 된다.
+ */
+@Component
+@Slf4j
+public class PopularQueryWarmer {
+
+    private final SearchService searchService;
+    private final QueryPopularity queryPopularity;
+    private final boolean enabled;
+    private final int topK;
+    private final long minCount;
+    private final int maxPerRun;
+    private final TokenBucket budget;
+
+    private final Counter warmed;
+    private final Counter skipped;
+    private final Counter overBudget;
+    private final Counter failed;
+
+    public PopularQueryWarmer(
+            MeterRegistry meterRegistry,
+            SearchService searchService,
+            QueryPopularity queryPopularity,
+            @Value("${app.popularity.warm.enabled:false}") boolean enabled,
+            @Value("${app.popularity.warm.top-k:20}") int topK,
+            @Value("${app.popularity.warm.min-count:3}") long minCount,
+            @Value("${app.popularity.warm.budget-per-minute:6}") int budgetPerMinute,
+            @Value("${app.popularity.warm.max-per-run:3}") int maxPerRun
+    ) {
+        this.searchService = searchService;
+        this.queryPopularity = queryPopularity;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.minCount = minCount;
+        this.maxPerRun = maxPerRun;
+        this.budget = new TokenBucket(budgetPerMinute / 60.0, Math.max(1, maxPerRun));
+
+        this.warmed = counter(meterRegistry, "warmed");
+        this.skipped = counter(meterRegistry, "skipped");
+        this.overBudget = counter(meterRegistry, "over_budget");
+        this.failed = counter(meterRegistry, "failed");
+        log.info("Popular query warmer initialized. enabled={}, topK={}, minCount={}, budgetPerMinute={}, maxPerRun={}",
+                enabled, topK, minCount, budgetPerMinute, maxPerRun);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.warm.requests")
+                .description("인기 검색어 미리 채우기 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.warm.interval:1m}",
+            initialDelayString = "${app.popularity.warm.interval:1m}")
+    public void warmPopular() {
+        if (enabled) {
+            warmOnce();
+        }
+    }
+
+    /**
+     * @return 이번에 갱신을 건 검색어 수
+     */
+    int warmOnce() {
+        List<Counted> candidates = queryPopularity.top().stream()
+                .filter(counted -> counted.count() >= minCount)
+                .limit(topK)
+                .toList();
+
+        int started = 0;
+        for (Counted candidate : candidates) {
+            if (started >= maxPerRun) {
+                break;
+            }
+            if (budget.getAvailable() < 1) {
+                overBudget.increment();
+                log.debug("Popular query warm budget exhausted. key='{}'", candidate.item());
+                break;
+            }
+            try {
+                // 이미 신선하거나 다른 노드가 갱신을 맡은 검색어는 예산을 쓰지 않는다
+                if (searchService.warm(candidate.item())) {
+                    budget.reserve(Duration.ZERO);
+                    warmed.increment();
+                    started++;
+                    log.info("Popular query warm scheduled. key='{}', count={}", candidate.item(), candidate.count());
+                } else {
+                    skipped.increment();
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Popular query warm failed. key='{}', reason={}", candidate.item(), e.toString());
+            }
+        }
+        return started;
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("budgetAvailable", Math.max(0, (long) Math.floor(budget.getAvailable())));
+        status.put("warmed", (long) warmed.count());
+        status.put("skipped", (long) skipped.count());
+        status.put("overBudget", (long) overBudget.count());
+        status.put("failed", (long) failed.count());
+        return status;
+    }
+}
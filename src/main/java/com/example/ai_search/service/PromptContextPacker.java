@@ -0,0 +1,212 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.text.PassageSelector;
+import com.example.ai_search.common.text.TokenEstimator;
+import com.example.ai_search.dto.SourceDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * 출처 본문들을 프롬프트 토큰 예산(llm.prompt.max-tokens) 안에 맞춰 넣는다.
+ * 1) 출처별 본문을 passage로 나누고, 앞선 출처와 (거의) 같은 passage는 버린다 (미러/복제 기사)
+ * 2) 전체 passage 기준 BM25로 관련도를 매기고, 출처 몫을 관련도 합에 비례해 나눈다 (최소 몫은 보장)
+ * 3) 출처마다 점수 높은 passage부터 몫만큼 채우고, 남은 예산은 전체에서 점수 순으로 채운다
+ * 출처 블록은 출처 순서, 블록 안 passage는 원래 순서로 이어 붙인다.
+ */
+@Component
+public class PromptContextPacker {
+
+    private static final String PASSAGE_SEPARATOR = " … ";
+
+    // 예산 중 출처 수로 균등하게 나누는 비율. 나머지는 관련도 비례
+    private static final double EVEN_SHARE = 0.3;
+
+    // 토큰 집합 Jaccard 유사도가 이 이상이면 중복 passage로 본다
+    private static final double DUPLICATE_SIMILARITY = 0.8;
+
+    private final int maxPromptTokens;
+
+    public PromptContextPacker(@Value("${llm.prompt.max-tokens:4000}") int maxPromptTokens) {
+        this.maxPromptTokens = maxPromptTokens;
+    }
+
+    /**
+     * 한 번의 packing 결과.
+     * @param context   프롬프트의 "출처들:" 아래에 들어갈 문자열
+     * @param tokens    context 추정 토큰 수
+     * @param passages  넣은 passage 수
+     * @param duplicates 중복으로 버린 passage 수
+     */
+    public record PackedContext(String context, int tokens, int passages, int duplicates) {
+    }
+
+    public int getMaxPromptTokens() {
+        return maxPromptTokens;
+    }
+
+    /**
+     * @param reservedTokens 지시문/질문 등 context 밖에서 이미 쓰는 토큰 수
+     */
+    public PackedContext pack(String query, List<SourceDto> sources, List<String> contents, int reservedTokens) {
+        int count = Math.min(sources.size(), contents.size());
+        List<Passage> passages = new ArrayList<>();
+        List<Set<String>> kept = new ArrayList<>();
+        List<Set<String>> current = new ArrayList<>();
+        int duplicates = 0;
+
+        for (int i = 0; i < count; i++) {
+            String content = contents.get(i);
+            if (content == null || content.isBlank()) {
+                continue;
+            }
+            int order = 0;
+            for (String text : PassageSelector.split(content)) {
+                Set<String> terms = PassageSelector.tokenize(text);
+                // 앞선 출처들과만 비교한다 (같은 페이지 안 문단끼리는 비교하지 않음)
+                if (isDuplicate(terms, kept)) {
+                    duplicates++;
+                    continue;
+                }
+                current.add(terms);
+                passages.add(new Passage(i, order++, text, TokenEstimator.estimate(text) + 1));
+            }
+            kept.addAll(current);
+            current.clear();
+        }
+
+        double[] scores = PassageSelector.bm25(query, passages.stream().map(Passage::text).toList());
+
+        // 출처 헤더(제목/URL)는 passage가 하나라도 들어간 출처만 쓰지만, 예산은 미리 떼어 둔다
+        int[] headerTokens = new int[count];
+        int budget = maxPromptTokens - reservedTokens;
+        for (int i = 0; i < count; i++) {
+            headerTokens[i] = TokenEstimator.estimate(header(sources.get(i)));
+        }
+        budget -= passages.stream().mapToInt(Passage::source).distinct().map(i -> headerTokens[i]).sum();
+
+        boolean[] selected = new boolean[passages.size()];
+        int used = fillShares(passages, scores, count, Math.max(0, budget), selected);
+        fillRemaining(passages, scores, Math.max(0, budget) - used, selected);
+
+        StringBuilder context = new StringBuilder();
+        int passageCount = 0;
+        for (int i = 0; i < count; i++) {
+            StringJoiner joiner = new StringJoiner(PASSAGE_SEPARATOR);
+            for (int p = 0; p < passages.size(); p++) {
+                if (selected[p] && passages.get(p).source() == i) {
+                    joiner.add(passages.get(p).text());
+                    passageCount++;
+                }
+            }
+            if (joiner.length() > 0) {
+                context.append(header(sources.get(i))).append(joiner).append("\n\n");
+            }
+        }
+
+        String packed = context.toString();
+        return new PackedContext(packed, TokenEstimator.estimate(packed), passageCount, duplicates);
+    }
+
+    private static String header(SourceDto source) {
+        return "[%d] 제목: %s\nURL: %s\n내용 일부:\n".formatted(source.getId(), source.getTitle(), source.getUrl());
+    }
+
+    private static boolean isDuplicate(Set<String> terms, List<Set<String>> kept) {
+        if (terms.isEmpty()) {
+            return false;
+        }
+        for (Set<String> other : kept) {
+            int common = 0;
+            for (String term : terms) {
+                if (other.contains(term)) {
+                    common++;
+                }
+            }
+            int union = terms.size() + other.size() - common;
+            if (union > 0 && (double) common / union >= DUPLICATE_SIMILARITY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 출처별 몫 = 예산 × (EVEN_SHARE / 출처 수 + (1 - EVEN_SHARE) × 관련도 비율). 몫 안에서 점수 순으로 채운다.
+     */
+    private static int fillShares(List<Passage> passages, double[] scores, int sourceCount, int budget,
+                                  boolean[] selected) {
+        double[] relevance = new double[sourceCount];
+        boolean[] present = new boolean[sourceCount];
+        for (int p = 0; p < passages.size(); p++) {
+            relevance[passages.get(p).source()] += scores[p];
+            present[passages.get(p).source()] = true;
+        }
+        int active = 0;
+        double totalRelevance = 0.0;
+        for (int i = 0; i < sourceCount; i++) {
+            if (present[i]) {
+                active++;
+                totalRelevance += relevance[i];
+            }
+        }
+        if (active == 0) {
+            return 0;
+        }
+
+        int used = 0;
+        for (int i = 0; i < sourceCount; i++) {
+            if (!present[i]) {
+                continue;
+            }
+            double ratio = (totalRelevance > 0) ? relevance[i] / totalRelevance : 1.0 / active;
+            int share = (int) (budget * (EVEN_SHARE / active + (1 - EVEN_SHARE) * ratio));
+
+            int sourceUsed = 0;
+            for (int p : ranked(passages, scores, i)) {
+                int cost = passages.get(p).tokens();
+                if (sourceUsed + cost <= share) {
+                    selected[p] = true;
+                    sourceUsed += cost;
+                }
+            }
+            used += sourceUsed;
+        }
+        return used;
+    }
+
+    private static void fillRemaining(List<Passage> passages, double[] scores, int remaining, boolean[] selected) {
+        int used = 0;
+        for (int p : ranked(passages, scores, -1)) {
+            int cost = passages.get(p).tokens();
+            if (!selected[p] && used + cost <= remaining) {
+                selected[p] = true;
+                used += cost;
+            }
+        }
+    }
+
+    /**
+     * 점수 내림차순(같으면 앞 출처/앞 passage 먼저) passage 인덱스. source < 0 이면 전체.
+     */
+    private static List<Integer> ranked(List<Passage> passages, double[] scores, int source) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int p = 0; p < passages.size(); p++) {
+            if (source < 0 || passages.get(p).source() == source) {
+                indexes.add(p);
+            }
+        }
+        indexes.sort(Comparator.comparingDouble((Integer p) -> scores[p]).reversed()
+                .thenComparingInt(p -> passages.get(p).source())
+                .thenComparingInt(p -> passages.get(p).order()));
+        return indexes;
+    }
+
+    private record Passage(int source, int order, String text, int tokens) {
+    }
+}
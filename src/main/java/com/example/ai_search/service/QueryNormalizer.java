@@ -1,25 +1,246 @@
 package com.example.ai_search.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.text.Normalizer;
+import java.util.List;
+
+/**
+ * 검색어를 캐시 key / Brave 검색어로 쓸 형태로 맞춘다. 요청마다(캐시 HIT 포함) 불리므로 한 번 훑어서 끝낸다.
+ * 1. NFKC (전각 → 반각, 합자 분해 등). ASCII + 완성형 한글만 있으면 건너뛴다
+ *    호환 자모(ㅋㅋ)는 NFKC가 조합용 자모로 바꿔 버리므로 그대로 둔다
+ * 2. 공백: 모든 Unicode 공백을 구분자로, 단어 사이는 공백 하나. zero-width/제어 문자는 지운다
+ * 3. 대소문자: locale과 무관한 case folding (터키어 locale의 I → ı 같은 문제 없음)
+ * 4. 단어 앞뒤의 문장 부호(? ! , . 따옴표 괄호 등)는 떼고, 단어 안(3.2, node.js, c++)은 둔다
+ * 5. (선택) 조사 제거: 분명한 조사만. 이/가/도/의처럼 명사 끝글자와 헷갈리는 조사는 영문/숫자 뒤에서만 (redis가, jpa의)
+ * 6. (선택) stop word 제거. 전부 stop word면 지우지 않는다
+ * 이미 정규화된 문자열이면 새 객체를 만들지 않고 그대로 돌려준다.
+ */
 @Component
 public class QueryNormalizer {
 
+    // 긴 것부터 비교
+    private static final String[] PARTICLES = {
+            "에서는", "으로는", "이라는",
+            "에서", "으로", "에게", "한테", "까지", "부터", "처럼", "이란", "라는", "에는", "로는",
+            "은", "는", "을", "를", "에"
+    };
+    // 명사 끝글자로도 흔해서 영문/숫자 바로 뒤에서만 조사로 본다 (강의, 정확도, 결과 ...)
+    private static final String[] AMBIGUOUS_PARTICLES = {"이", "가", "도", "와", "과", "로", "의", "만", "란"};
+    // 이 글자로 끝나는 말 뒤의 은/는/을 등은 용언 어미 (설정하는, 사용되는, 있는)
+    private static final String VERB_STEM_ENDINGS = "하되있없";
+
+    private final boolean stripParticles;
+    private final String[] stopWords;
+
+    public QueryNormalizer() {
+        this(false, List.of());
+    }
+
+    @Autowired
+    public QueryNormalizer(
+            @Value("${app.search.normalizer.strip-particles:false}") boolean stripParticles,
+            @Value("${app.search.normalizer.stop-words:}") List<String> stopWords
+    ) {
+        this.stripParticles = stripParticles;
+        this.stopWords = stopWords.stream()
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .map(QueryNormalizer::foldCase)
+                .toArray(String[]::new);
+    }
+
     public String normalize(String query) {
         if (query == null) return "";
 
-        // 1. trim
-        String q = query.trim();
+        String source = nfkc(query);
+        String result = scan(source, stopWords.length > 0);
+        if (result.isEmpty() && stopWords.length > 0) {
+            // 검색어가 전부 stop word면 지우지 않는다
+            result = scan(source, false);
+        }
+        return result;
+    }
+
+    /**
+     * 단어 단위로 훑는다. 결과가 source의 앞부분과 같은 동안은 길이(same)만 세고,
+     * 처음 달라지는 단어에서만 StringBuilder를 만든다.
+     */
+    private String scan(String s, boolean removeStopWords) {
+        StringBuilder out = null;
+        int same = 0;          // out == null 동안 결과 = s[0, same)
+        int length = s.length();
+        int i = 0;
+
+        while (i < length) {
+            int cp = s.codePointAt(i);
+            if (isSeparator(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+
+            int start = i;
+            boolean changed = false;
+            while (i < length) {
+                cp = s.codePointAt(i);
+                if (isSeparator(cp)) {
+                    break;
+                }
+                if (isIgnorable(cp) || fold(cp) != cp) {
+                    changed = true;
+                }
+                i += Character.charCount(cp);
+            }
+            int end = i;
+
+            while (start < end && isTrimmable(s.codePointAt(start))) {
+                start += Character.charCount(s.codePointAt(start));
+            }
+            while (end > start && isTrimmable(s.codePointBefore(end))) {
+                end -= Character.charCount(s.codePointBefore(end));
+            }
+            if (stripParticles) {
+                end = stripParticle(s, start, end);
+            }
+            if (start == end || (removeStopWords && isStopWord(s, start, end))) {
+                continue;
+            }
+
+            if (out == null) {
+                boolean inPlace = !changed && (same == 0 ? start == 0 : start == same + 1 && s.charAt(same) == ' ');
+                if (inPlace) {
+                    same = end;
+                    continue;
+                }
+                out = new StringBuilder(length).append(s, 0, same);
+            }
+            if (!out.isEmpty()) {
+                out.append(' ');
+            }
+            appendFolded(out, s, start, end);
+        }
+
+        if (out == null) {
+            return (same == length) ? s : s.substring(0, same);
+        }
+        return out.toString();
+    }
+
+    private int stripParticle(String s, int start, int end) {
+        for (String particle : PARTICLES) {
+            int stemEnd = end - particle.length();
+            if (stemEnd > start && s.startsWith(particle, stemEnd)) {
+                char last = s.charAt(stemEnd - 1);
+                boolean hangulStem = isHangulSyllable(last);
+                if (stemEnd - start >= (hangulStem ? 2 : 1) && VERB_STEM_ENDINGS.indexOf(last) < 0) {
+                    return stemEnd;
+                }
+            }
+        }
+        for (String particle : AMBIGUOUS_PARTICLES) {
+            int stemEnd = end - particle.length();
+            if (stemEnd > start && s.startsWith(particle, stemEnd)
+                    && Character.isLetterOrDigit(s.charAt(stemEnd - 1)) && s.charAt(stemEnd - 1) < 0x80) {
+                return stemEnd;
+            }
+        }
+        return end;
+    }
+
+    private boolean isStopWord(String s, int start, int end) {
+        for (String word : stopWords) {
+            if (word.length() == end - start && s.regionMatches(true, start, word, 0, word.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendFolded(StringBuilder out, String s, int start, int end) {
+        for (int i = start; i < end; ) {
+            int cp = s.codePointAt(i);
+            if (!isIgnorable(cp)) {
+                out.appendCodePoint(fold(cp));
+            }
+            i += Character.charCount(cp);
+        }
+    }
+
+    private static String foldCase(String word) {
+        StringBuilder out = new StringBuilder(word.length());
+        appendFolded(out, word, 0, word.length());
+        return out.toString();
+    }
+
+    private static int fold(int cp) {
+        if (cp < 0x80) {
+            return (cp >= 'A' && cp <= 'Z') ? cp + ('a' - 'A') : cp;
+        }
+        if (cp >= 0xAC00 && cp <= 0xD7A3) {
+            return cp;
+        }
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+
+    private static boolean isSeparator(int cp) {
+        if (cp < 0x80) {
+            return cp == ' ' || (cp >= 0x09 && cp <= 0x0D) || (cp >= 0x1C && cp <= 0x1F);
+        }
+        return Character.isWhitespace(cp) || Character.isSpaceChar(cp);
+    }
+
+    // zero-width space/joiner, BOM, 방향 표시, soft hyphen, 제어 문자
+    private static boolean isIgnorable(int cp) {
+        if (cp < 0x80) {
+            return cp < 0x20 || cp == 0x7F;
+        }
+        return (cp >= 0x80 && Character.getType(cp) == Character.FORMAT) || Character.isISOControl(cp);
+    }
 
-        // 2. lower-case (영문일 때만)
-        q = q.toLowerCase();
+    private static boolean isTrimmable(int cp) {
+        switch (cp) {
+            case '.', ',', '!', '?', ';', ':', '\'', '"', '`', 0x00A1, 0x00BF, 0x00B7, 0x3001, 0x3002:
+                return true;
+            default:
+                break;
+        }
+        if (cp < 0x80) {
+            return cp == '(' || cp == ')' || cp == '[' || cp == ']' || cp == '{' || cp == '}';
+        }
+        if (isIgnorable(cp)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.START_PUNCTUATION || type == Character.END_PUNCTUATION
+                || type == Character.INITIAL_QUOTE_PUNCTUATION || type == Character.FINAL_QUOTE_PUNCTUATION;
+    }
 
-        // 3. 중복 공백 제거
-        q = q.replaceAll("\\s+", " ");
+    private static String nfkc(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80 && !isHangulSyllable(c)) {
+                return Normalizer.isNormalized(s, Normalizer.Form.NFKC) ? s : nfkcKeepingJamo(s);
+            }
+        }
+        return s;
+    }
 
-        // 4. 끝에 생기는 불필요한 공백 제거
-        q = q.trim();
+    private static String nfkcKeepingJamo(String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        int from = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x3131 && c <= 0x318E) {
+                out.append(Normalizer.normalize(s.substring(from, i), Normalizer.Form.NFKC)).append(c);
+                from = i + 1;
+            }
+        }
+        return out.append(Normalizer.normalize(s.substring(from), Normalizer.Form.NFKC)).toString();
+    }
 
-        return q;
+    private static boolean isHangulSyllable(char c) {
+        return c >= 0xAC00 && c <= 0xD7A3;
     }
 }
@@ -0,0 +1,174 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.sketch.HeavyHitters;
+import com.example.ai_search.common.sketch.HeavyHitters.Counted;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 정규화된 검색어의 인기(최근 요청 수)를 집계한다. 요청마다 불리므로 고정 메모리 sketch 한 번 갱신으로 끝낸다.
+ * - 노드 로컬: HeavyHitters (count-min sketch + top-K heap), decay-interval마다 카운트를 절반으로
+ * - mode=redis: sync-interval마다 이 노드의 top-K를 Redis ZSET(노드별, TTL)으로 올리고,
+ *   살아 있는 노드들의 ZSET을 합쳐 전체 top-K를 만든다. Redis 장애 시 로컬 top-K로 대신
+ * PopularQueryWarmer가 top()을 보고 답변을 미리 채운다.
+ */
+@Component
+@Slf4j
+public class QueryPopularity {
+
+    private static final String KEY_PREFIX = "ai-search:popular:";
+    private static final String NODES_KEY = KEY_PREFIX + "nodes";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisMode;
+    private final int topK;
+    private final Duration syncInterval;
+    private final HeavyHitters heavyHitters;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    // 마지막 sync에서 합친 전체 top-K (redis mode). 조회마다 Redis를 부르지 않는다
+    private volatile List<Counted> globalTop = List.of();
+    private volatile long globalTopAtMillis;
+
+    public QueryPopularity(
+            MeterRegistry meterRegistry,
+            StringRedisTemplate redisTemplate,
+            @Value("${app.popularity.mode:local}") String mode,
+            @Value("${app.popularity.top-k:100}") int topK,
+            @Value("${app.popularity.sketch-depth:4}") int depth,
+            @Value("${app.popularity.sketch-width:2048}") int width,
+            @Value("${app.popularity.sync-interval:30s}") Duration syncInterval
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redisMode = "redis".equalsIgnoreCase(mode);
+        this.topK = topK;
+        this.syncInterval = syncInterval;
+        this.heavyHitters = new HeavyHitters(topK, depth, width);
+
+        Gauge.builder("search.popularity.tracked", heavyHitters, HeavyHitters::size)
+                .description("인기 검색어 top-K에 올라 있는 검색어 수 (노드 로컬)")
+                .register(meterRegistry);
+        log.info("Query popularity initialized. mode={}, topK={}, sketch={}x{}, nodeId={}",
+                redisMode ? "redis" : "local", topK, depth, width, nodeId);
+    }
+
+    public void record(String normalized) {
+        if (!normalized.isEmpty()) {
+            heavyHitters.add(normalized);
+        }
+    }
+
+    /**
+     * 인기 검색어 (많은 순). redis mode면 마지막 sync의 전체 top-K, 아직 없으면 로컬.
+     */
+    public List<Counted> top() {
+        List<Counted> global = globalTop;
+        boolean fresh = System.currentTimeMillis() - globalTopAtMillis < nodeTtl().toMillis();
+        return (redisMode && fresh && !global.isEmpty()) ? global : heavyHitters.top();
+    }
+
+    public List<Counted> localTop() {
+        return heavyHitters.top();
+    }
+
+    @Scheduled(fixedDelayString = "${app.popularity.decay-interval:10m}",
+            initialDelayString = "${app.popularity.decay-interval:10m}")
+    public void decay() {
+        heavyHitters.decay();
+        log.debug("Query popularity decayed. tracked={}", heavyHitters.size());
+    }
+
+    /**
+     * 이 노드의 top-K를 올리고 전체 top-K를 다시 합친다 (redis mode).
+     */
+    @Scheduled(fixedDelayString = "${app.popularity.sync-interval:30s}",
+            initialDelayString = "${app.popularity.sync-interval:30s}")
+    public void sync() {
+        if (!redisMode) {
+            return;
+        }
+        try {
+            publishLocal();
+            globalTop = mergeNodes();
+            globalTopAtMillis = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            log.warn("Query popularity sync failed. Use local top-K. reason={}", e.toString());
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mode", redisMode ? "redis" : "local");
+        status.put("nodeId", nodeId);
+        status.put("local", localTop());
+        if (redisMode) {
+            status.put("global", globalTop);
+            status.put("globalAtMillis", globalTopAtMillis);
+        }
+        return status;
+    }
+
+    private void publishLocal() {
+        List<Counted> local = heavyHitters.top();
+        String nodeKey = KEY_PREFIX + "node:" + nodeId;
+        long now = System.currentTimeMillis();
+
+        redisTemplate.delete(nodeKey);
+        if (!local.isEmpty()) {
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            for (Counted counted : local) {
+                tuples.add(TypedTuple.of(counted.item(), (double) counted.count()));
+            }
+            redisTemplate.opsForZSet().add(nodeKey, tuples);
+            redisTemplate.expire(nodeKey, nodeTtl());
+        }
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - nodeTtl().toMillis());
+    }
+
+    private List<Counted> mergeNodes() {
+        long now = System.currentTimeMillis();
+        Set<String> nodes = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, now - nodeTtl().toMillis(), Double.MAX_VALUE);
+        Map<String, Long> merged = new HashMap<>();
+        if (nodes != null) {
+            for (String node : nodes) {
+                Set<TypedTuple<String>> entries =
+                        redisTemplate.opsForZSet().reverseRangeWithScores(KEY_PREFIX + "node:" + node, 0, topK - 1);
+                if (entries == null) {
+                    continue;
+                }
+                for (TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        merged.merge(entry.getValue(), entry.getScore().longValue(), Long::sum);
+                    }
+                }
+            }
+        }
+        List<Counted> top = new ArrayList<>(merged.size());
+        merged.forEach((query, count) -> top.add(new Counted(query, count)));
+        top.sort(Comparator.comparingLong(Counted::count).reversed().thenComparing(Counted::item));
+        return (top.size() > topK) ? List.copyOf(top.subList(0, topK)) : top;
+    }
+
+    // sync를 두 번 놓친 노드는 죽은 것으로 보고 합치지 않는다
+    private Duration nodeTtl() {
+        return syncInterval.multipliedBy(3);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter;
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 캐시 MISS로 파이프라인(Brave → Jsoup → Gemini)을 새로 돌리는 요청의 admission control.
+ * 캐시 HIT과 single-flight로 합쳐진 요청은 자리를 쓰지 않는다.
+ * - 상한은 AdaptiveConcurrencyLimiter가 파이프라인 처리 시간으로 조절
+ * - HIGH: 출처가 이미 캐시에 있어 Brave를 건너뛰는(빨리 끝날) 요청 → limit 전체
+ * - LOW: 그 외 → limit × low-priority-share 까지만
+ * 거절은 기다리지 않고 바로 (호출 측이 캐시 출처만으로 응답하거나 503).
+ */
+@Component
+@Slf4j
+public class SearchAdmission {
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<Priority, Counter> admitted;
+    private final Map<Priority, Counter> rejected;
+    private final Counter degraded;
+
+    public SearchAdmission(
+            MeterRegistry meterRegistry,
+            @Value("${app.admission.enabled:true}") boolean enabled,
+            @Value("${app.admission.initial-limit:20}") int initialLimit,
+            @Value("${app.admission.min-limit:4}") int minLimit,
+            @Value("${app.admission.max-limit:200}") int maxLimit,
+            @Value("${app.admission.low-priority-share:0.8}") double lowPriorityShare
+    ) {
+        this.enabled = enabled;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, lowPriorityShare);
+
+        Gauge.builder("search.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("search.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        this.admitted = Map.of(
+                Priority.HIGH, counter(meterRegistry, "admitted", Priority.HIGH),
+                Priority.LOW, counter(meterRegistry, "admitted", Priority.LOW));
+        this.rejected = Map.of(
+                Priority.HIGH, counter(meterRegistry, "rejected", Priority.HIGH),
+                Priority.LOW, counter(meterRegistry, "rejected", Priority.LOW));
+        this.degraded = Counter.builder("search.admission.degraded").register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result, Priority priority) {
+        return Counter.builder("search.admission.requests")
+                .tag("result", result)
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 자리를 받았으면 Permit (끝나면 onSuccess/onDropped/onIgnored), 상한이면 empty
+     */
+    public Optional<Permit> tryAcquire(Priority priority) {
+        if (!enabled) {
+            return Optional.of(Permit.NOOP);
+        }
+        Optional<Permit> permit = limiter.tryAcquire(priority);
+        if (permit.isPresent()) {
+            admitted.get(priority).increment();
+        } else {
+            rejected.get(priority).increment();
+            log.warn("Search admission rejected. priority={}, limit={}, inflight={}",
+                    priority, limiter.getLimit(), limiter.getInFlight());
+        }
+        return permit;
+    }
+
+    /**
+     * 거절 대신 캐시된 출처만으로 응답했을 때.
+     */
+    public void recordDegraded() {
+        degraded.increment();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ai_search.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검색 파이프라인 지표.
+ * - search.stage.duration{stage, path}: 단계별 시간 (p50/p95/p99 + Prometheus histogram 버킷)
+ *   stage = brave | jsoup | llm | total, path = sync | async | stream
+ * - search.cache.requests{result}: llmResultCache 조회 결과 (hit | stale | refresh_ahead | semantic_hit | miss)
+ *   semantic_hit: 정확한 key는 MISS, 거의 같은 검색어의 답변으로 응답 (SemanticQueryCache)
+ * - search.fallback{reason}: fallback 응답 원인 (brave | llm | overload)
+ * 타임아웃 값은 stage별 p99를 보고 정한다.
+ */
+@Component
+public class SearchMetrics {
+
+    public enum Stage { BRAVE, JSOUP, LLM, TOTAL }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordStage(String path, Stage stage, long millis) {
+        String stageName = stage.name().toLowerCase();
+        timers.computeIfAbsent(path + ":" + stageName, key -> Timer.builder("search.stage.duration")
+                        .description("검색 파이프라인 단계별 처리 시간")
+                        .tag("stage", stageName)
+                        .tag("path", path)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(5))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(Duration.ofMillis(millis));
+    }
+
+    public void cacheRequest(String result) {
+        counter("search.cache.requests", "result", result).increment();
+    }
+
+    public void fallback(String reason) {
+        counter("search.fallback", "reason", reason).increment();
+    }
+
+    private Counter counter(String name, String tagKey, String tagValue) {
+        return counters.computeIfAbsent(name + ":" + tagValue,
+                key -> Counter.builder(name).tag(tagKey, tagValue).register(meterRegistry));
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ai_search.service;
+
+/**
+ * 동시 처리 상한(admission)에 걸려 파이프라인을 돌리지 못했고, 대신 줄 캐시 응답도 없을 때.
+ * 컨트롤러에서 503 (Retry-After)으로 바꾼다.
+ */
+public class SearchOverloadedException extends RuntimeException {
+
+    public SearchOverloadedException(String normalizedQuery) {
+        super("Search overloaded. query='" + normalizedQuery + "'");
+    }
+}
@@ -1,7 +1,23 @@
 package com.example.ai_search.service;
 
 import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SearchStreamEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface SearchService {
     SearchResponseDto search(String query);
+
+    /**
+     * 논블로킹 검색. Brave → 본문 → LLM을 스레드 점유 없이 이어 붙인다.
+     */
+    Mono<SearchResponseDto> searchAsync(String query);
+
+    Flux<SearchStreamEvent> searchStream(String query);
+
+    /**
+     * 정규화된 검색어의 답변을 미리 채우거나 만료 전에 갱신한다 (백그라운드).
+     * @return 이 노드가 갱신을 맡았으면 true, 아직 신선하거나 이미 (이 노드 또는 다른 노드에서) 갱신 중이면 false
+     */
+    boolean warm(String normalizedQuery);
 }
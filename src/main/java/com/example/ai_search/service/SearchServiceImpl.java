@@ -1,41 +1,738 @@
 package com.example.ai_search.service;
 
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Priority;
+import com.example.ai_search.common.concurrent.RedisLease;
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.deadline.DeadlineContext;
+import com.example.ai_search.common.jfr.JfrEvents;
+import com.example.ai_search.common.jfr.SearchPipelineEvent;
+import com.example.ai_search.common.log.MdcContext;
+import com.example.ai_search.common.concurrent.SingleFlight;
+import com.example.ai_search.dto.CachedSearchResult;
 import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SearchStreamEvent;
 import com.example.ai_search.dto.SourceDto;
+import com.example.ai_search.service.SearchMetrics.Stage;
 import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@CacheConfig(cacheManager = "redisCacheManager")
 public class SearchServiceImpl implements SearchService{
 
+    private static final String LLM_RESULT_CACHE = "llmResultCache";
+    private static final String SOURCE_CACHE = "sourceCache";
+
+    private static final String BRAVE_FALLBACK_ANSWER = """
+            죄송합니다, 현재는 외부 검색(Brave)에서 결과를 가져오지 못했습니다.
+            잠시 후 다시 시도해 주세요.
+            """;
+
+    private static final String OVERLOAD_ANSWER = """
+            죄송합니다, 현재 요청이 많아 답변을 생성하지 못했습니다.
+            잠시 후 다시 시도하시거나 아래 출처들을 직접 참고해 주세요.
+            """;
+
     private final SourceRepository sourceRepository;
     private final ContentFetcher contentFetcher;
     private final AnswerGenerator answerGenerator;
     private final QueryNormalizer queryNormalizer;
+    private final CacheManager cacheManager;            // @Primary = twoLevelCacheManager
+    private final ObjectProvider<RedisLease> redisLeaseProvider; // Redis 없으면 노드 로컬 single-flight만
+    private final Executor searchRefreshExecutor;
+    private final ObjectProvider<SearchAdmission> searchAdmissionProvider; // 없으면 admission control 없이 실행
+    private final ObjectProvider<SemanticQueryCache> semanticQueryCacheProvider; // 없으면 정확한 key로만 캐시 조회
+    private final ObjectProvider<QueryPopularity> queryPopularityProvider; // 없으면 인기 검색어 집계 X
+    private final SearchMetrics searchMetrics;
 
-    @Override
+    private final SingleFlight<SearchResponseDto> searchSingleFlight = new SingleFlight<>("search");
+
+    // 백그라운드 갱신 중인 key (노드 로컬 중복 제거)
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    // refresh-ahead 대상 판단용 최근 hit 수 (soft TTL 동안만 유지)
+    private com.github.benmanes.caffeine.cache.Cache<String, LongAdder> hitCounts;
+
+    // soft TTL이 지나면 stale로 보고 즉시 응답 + 백그라운드 갱신 (hard TTL = llmResultCache Redis TTL)
+    @Value("${app.search.swr.soft-ttl:10m}")
+    private Duration softTtl;
+
+    // 인기 key는 soft TTL의 이 비율만큼 지나면 미리 갱신
+    @Value("${app.search.swr.refresh-ahead-ratio:0.8}")
+    private double refreshAheadRatio;
+
+    @Value("${app.search.swr.popular-hit-threshold:5}")
+    private int popularHitThreshold;
+
+    @Value("${app.single-flight.lease-ttl:30s}")
+    private Duration leaseTtl;
+
+    @Value("${app.single-flight.wait-timeout:20s}")
+    private Duration leaseWaitTimeout;
 
-    @Cacheable(
-            cacheNames = "llmResultCache",
-            key = "@queryNormalizer.normalize(#query)",
-            unless = "#result == null || #root.target.isFallback(#result)"
-    )
+    @Value("${app.single-flight.poll-interval:200ms}")
+    private Duration leasePollInterval;
+
+    @PostConstruct
+    void initHitCounts() {
+        hitCounts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(softTtl)
+                .build();
+    }
+
+    @Override
     public SearchResponseDto search(String query) {
         String normalized = queryNormalizer.normalize(query);
-        return doSearchInternal(normalized);
+        recordPopularity(normalized);
+
+        CachedSearchResult cached = getCached(normalized);
+        if (cached != null) {
+            serveFromCache(normalized, cached);
+            return cached.getResponse();
+        }
+        SearchResponseDto similar = getSimilarCached(normalized);
+        if (similar != null) {
+            return similar;
+        }
+        log.info("Cache MISS. key='{}'", normalized);
+        searchMetrics.cacheRequest("miss");
+
+        // 같은 key로 동시에 MISS 난 요청들은 첫 요청의 파이프라인 결과를 같이 기다린다 (자리는 leader만 쓴다)
+        try {
+            return searchSingleFlight.execute(normalized, () -> loadWithLease(normalized));
+        } catch (SearchOverloadedException e) {
+            return degradedOrThrow(normalized, e);
+        }
+    }
+
+    /**
+     * 논블로킹 검색.
+     * - 캐시 조회는 Cache.retrieve (L1 HIT는 즉시, L2는 Lettuce 비동기)
+     * - 동시 MISS는 동기 경로와 같은 single-flight로 합친다 (노드 간 lease는 동기 경로에서만)
+     * - 캐시 쓰기만 boundedElastic에서 수행
+     */
+    @Override
+    public Mono<SearchResponseDto> searchAsync(String query) {
+        String normalized = queryNormalizer.normalize(query);
+        recordPopularity(normalized);
+        Deadline deadline = DeadlineContext.current();
+
+        return getCachedAsync(normalized)
+                .map(cached -> {
+                    serveFromCache(normalized, cached);
+                    return cached.getResponse();
+                })
+                .switchIfEmpty(Mono.defer(() -> getSimilarCachedAsync(normalized)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("Cache MISS (async). key='{}'", normalized);
+                    searchMetrics.cacheRequest("miss");
+                    return Mono.fromFuture(
+                            searchSingleFlight.executeAsync(normalized, () -> admitAsync(normalized, doSearchAsync(normalized))
+                                    .flatMap(dto -> Mono.fromRunnable(MdcContext.wrap(() -> cacheIfNotFallback(normalized, dto)))
+                                            .subscribeOn(Schedulers.boundedElastic())
+                                            .thenReturn(dto))
+                                    .contextWrite(DeadlineContext.attach(deadline))
+                                    .toFuture()),
+                            true
+                    ).onErrorResume(SearchOverloadedException.class, e ->
+                            Mono.fromCallable(MdcContext.wrap(() -> degradedOrThrow(normalized, e)))
+                                    .subscribeOn(Schedulers.boundedElastic()));
+                }));
+    }
+
+    private Mono<SearchResponseDto> admitAsync(String normalized, Mono<SearchResponseDto> pipeline) {
+        return Mono.defer(() -> {
+            Optional<Permit> admitted = tryAdmit(normalized);
+            if (admitted.isEmpty()) {
+                return Mono.error(new SearchOverloadedException(normalized));
+            }
+            Permit permit = admitted.get();
+            return pipeline
+                    .doOnSuccess(dto -> completePermit(permit, dto))
+                    .doOnError(e -> permit.onDropped())
+                    .doOnCancel(permit::onIgnored);
+        });
+    }
+
+    private Mono<SearchResponseDto> doSearchAsync(String normalized) {
+        return Mono.defer(() -> {
+            SearchPipelineEvent event = pipelineEvent("async", normalized);
+            return runPipelineAsync(normalized)
+                    .doOnNext(dto -> finish(event, dto))
+                    .doOnError(e -> event.outcome = JfrEvents.outcome(e))
+                    .doFinally(signal -> {
+                        if (event.outcome == null) {
+                            event.outcome = JfrEvents.CANCELLED;
+                        }
+                        event.commit();
+                    });
+        });
+    }
+
+    private Mono<SearchResponseDto> runPipelineAsync(String normalized) {
+        long totalStart = System.currentTimeMillis();
+        log.info("Search pipeline start (async). normalized='{}'", normalized);
+
+        return sourceRepository.getSourcesAsync(normalized)
+                .defaultIfEmpty(List.of())
+                .flatMap(sources -> {
+                    long braveMs = System.currentTimeMillis() - totalStart;
+
+                    searchMetrics.recordStage("async", Stage.BRAVE, braveMs);
+
+                    if (sources.isEmpty()) {
+                        log.warn("No sources from sourceRepository (async). Skip Jsoup/LLM. query='{}', braveMs={}",
+                                normalized, braveMs);
+                        searchMetrics.fallback("brave");
+                        return Mono.just(new SearchResponseDto(BRAVE_FALLBACK_ANSWER, List.of()));
+                    }
+
+                    long jsoupStart = System.currentTimeMillis();
+                    Mono<List<String>> contentsMono = answerGenerator.isCircuitOpen()
+                            ? Mono.just(skipContents(normalized, sources))
+                            : contentFetcher.fetchContentsAsync(normalized, sources);
+                    return contentsMono
+                            .flatMap(contents -> {
+                                long jsoupMs = System.currentTimeMillis() - jsoupStart;
+                                long llmStart = System.currentTimeMillis();
+                                searchMetrics.recordStage("async", Stage.JSOUP, jsoupMs);
+
+                                return answerGenerator.generateAnswerAsync(normalized, sources, contents)
+                                        .map(answer -> {
+                                            long llmMs = System.currentTimeMillis() - llmStart;
+                                            searchMetrics.recordStage("async", Stage.LLM, llmMs);
+                                            searchMetrics.recordStage("async", Stage.TOTAL, System.currentTimeMillis() - totalStart);
+                                            log.info("Search pipeline summary (async). query='{}', sources={}, braveMs={}, jsoupMs={}, llmMs={}, totalMs={}",
+                                                    normalized, sources.size(), braveMs, jsoupMs, llmMs,
+                                                    System.currentTimeMillis() - totalStart);
+                                            SearchResponseDto dto = new SearchResponseDto(answer, sources);
+                                            if (isFallback(dto)) {
+                                                searchMetrics.fallback("llm");
+                                            }
+                                            return dto;
+                                        });
+                            });
+                });
+    }
+
+    private Mono<CachedSearchResult> getCachedAsync(String normalized) {
+        Cache cache = cacheManager.getCache(LLM_RESULT_CACHE);
+        if (cache == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            CompletableFuture<?> future = cache.retrieve(normalized);
+            if (future == null) {
+                return Mono.empty();
+            }
+            return Mono.fromFuture(future).flatMap(result -> {
+                Object value = (result instanceof Cache.ValueWrapper wrapper) ? wrapper.get() : result;
+                return (value instanceof CachedSearchResult cached) ? Mono.just(cached) : Mono.empty();
+            });
+        });
+    }
+
+    /**
+     * SSE용 스트리밍 검색.
+     * - 캐시 HIT: sources → 답변 전체(한 조각) → done
+     * - MISS: Brave 결과가 나오자마자 sources 이벤트, 이후 Gemini 조각을 token 이벤트로 전달
+     * - 스트림이 정상 종료되면 합쳐진 답변을 일반 검색과 같은 규칙으로 캐시
+     */
+    @Override
+    public Flux<SearchStreamEvent> searchStream(String query) {
+        String normalized = queryNormalizer.normalize(query);
+        recordPopularity(normalized);
+        Deadline deadline = DeadlineContext.current();
+
+        return Flux.defer(() -> {
+            CachedSearchResult cached = getCached(normalized);
+            if (cached != null) {
+                serveFromCache(normalized, cached);
+                return Flux.just(
+                        SearchStreamEvent.sources(cached.getResponse().getSources()),
+                        SearchStreamEvent.token(cached.getResponse().getAnswer()),
+                        SearchStreamEvent.done()
+                );
+            }
+            SearchResponseDto similar = getSimilarCached(normalized);
+            if (similar != null) {
+                return Flux.just(
+                        SearchStreamEvent.sources(similar.getSources()),
+                        SearchStreamEvent.token(similar.getAnswer()),
+                        SearchStreamEvent.done()
+                );
+            }
+            log.info("Cache MISS (stream). key='{}'", normalized);
+            searchMetrics.cacheRequest("miss");
+
+            Optional<Permit> admitted = tryAdmit(normalized);
+            if (admitted.isEmpty()) {
+                // SSE는 이미 이벤트 형식으로 응답하므로 503 대신 캐시 출처(없으면 빈 출처) + 안내 문구
+                SearchResponseDto degraded = degradedResponse(normalized);
+                return Flux.just(
+                        SearchStreamEvent.sources(degraded.getSources()),
+                        SearchStreamEvent.token(degraded.getAnswer()),
+                        SearchStreamEvent.done()
+                );
+            }
+            Permit permit = admitted.get();
+
+            long totalStart = System.currentTimeMillis();
+
+            return Mono.fromCallable(MdcContext.wrap(DeadlineContext.wrap(deadline, () -> sourceRepository.getSources(normalized))))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(sources -> {
+                        searchMetrics.recordStage("stream", Stage.BRAVE, System.currentTimeMillis() - totalStart);
+                        if (sources == null || sources.isEmpty()) {
+                            log.warn("No sources from sourceRepository (stream). query='{}'", normalized);
+                            searchMetrics.fallback("brave");
+                            return Flux.just(
+                                    SearchStreamEvent.sources(List.of()),
+                                    SearchStreamEvent.token(BRAVE_FALLBACK_ANSWER),
+                                    SearchStreamEvent.done()
+                            );
+                        }
+
+                        StringBuilder answer = new StringBuilder();
+                        AtomicBoolean truncated = new AtomicBoolean(false);
+                        long jsoupStart = System.currentTimeMillis();
+
+                        Flux<SearchStreamEvent> tokens = Mono
+                                .fromCallable(MdcContext.wrap(DeadlineContext.wrap(deadline, () -> answerGenerator.isCircuitOpen()
+                                        ? skipContents(normalized, sources)
+                                        : contentFetcher.fetchContents(normalized, sources))))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .doOnNext(contents -> searchMetrics.recordStage("stream", Stage.JSOUP,
+                                        System.currentTimeMillis() - jsoupStart))
+                                .flatMapMany(contents -> answerGenerator.streamAnswer(normalized, sources, contents)
+                                        // 일부 조각을 보낸 뒤 실패: 받은 데까지만 보여 주고 done에서 잘린 답변으로 처리 (캐시 X)
+                                        .onErrorResume(e -> {
+                                            truncated.set(true);
+                                            log.warn("Search stream answer truncated. query='{}', answerLength={}, reason={}",
+                                                    normalized, answer.length(), e.toString());
+                                            return Flux.empty();
+                                        }))
+                                .doOnNext(answer::append)
+                                .map(SearchStreamEvent::token);
+
+                        Mono<SearchStreamEvent> done = Mono.fromCallable(MdcContext.wrap(() -> {
+                            SearchResponseDto dto = new SearchResponseDto(answer.toString(), sources);
+                            searchMetrics.recordStage("stream", Stage.TOTAL, System.currentTimeMillis() - totalStart);
+                            if (truncated.get() || isFallback(dto)) {
+                                searchMetrics.fallback("llm");
+                            }
+                            if (truncated.get()) {
+                                permit.onDropped();
+                            } else {
+                                completePermit(permit, dto);
+                                cacheIfNotFallback(normalized, dto);
+                            }
+                            log.info("Search stream summary. query='{}', sources={}, answerLength={}, truncated={}, totalMs={}",
+                                    normalized, sources.size(), answer.length(), truncated.get(),
+                                    System.currentTimeMillis() - totalStart);
+                            return SearchStreamEvent.done();
+                        }));
+
+                        return Flux.just(SearchStreamEvent.sources(sources))
+                                .concatWith(tokens)
+                                .concatWith(done);
+                    })
+                    // 출처가 없어 done 전에 끝난 경우도 여기서 자리를 돌려준다 (Permit은 한 번만 반영)
+                    .doOnComplete(permit::onDropped)
+                    .doOnError(e -> permit.onDropped())
+                    .doOnCancel(permit::onIgnored);
+        }).contextWrite(DeadlineContext.attach(deadline));
+    }
+
+    /**
+     * admission control. 출처가 이미 캐시에 있으면(Brave 생략, 빨리 끝남) HIGH 우선순위.
+     */
+    private Optional<Permit> tryAdmit(String normalized) {
+        SearchAdmission admission = searchAdmissionProvider.getIfAvailable();
+        if (admission == null) {
+            return Optional.of(Permit.NOOP);
+        }
+        Priority priority = cachedSources(normalized).isEmpty() ? Priority.LOW : Priority.HIGH;
+        return admission.tryAcquire(priority);
+    }
+
+    /**
+     * fallback(타임아웃/외부 API 실패)은 과부하 신호로 보고 limit을 줄인다.
+     */
+    private void completePermit(Permit permit, SearchResponseDto dto) {
+        if (isFallback(dto)) {
+            permit.onDropped();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    /**
+     * admission 거절 시 캐시된 출처만으로 응답한다. 출처도 없으면 그대로 던져 503.
+     */
+    private SearchResponseDto degradedOrThrow(String normalized, SearchOverloadedException e) {
+        SearchResponseDto degraded = degradedResponse(normalized);
+        if (degraded.getSources().isEmpty()) {
+            throw e;
+        }
+        return degraded;
+    }
+
+    private SearchResponseDto degradedResponse(String normalized) {
+        searchMetrics.fallback("overload");
+        List<SourceDto> sources = cachedSources(normalized);
+        if (!sources.isEmpty()) {
+            SearchAdmission admission = searchAdmissionProvider.getIfAvailable();
+            if (admission != null) {
+                admission.recordDegraded();
+            }
+            log.warn("Search overloaded. Serve cached sources only. key='{}', sources={}", normalized, sources.size());
+        }
+        return new SearchResponseDto(OVERLOAD_ANSWER, sources); // fallback → 캐시 X
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SourceDto> cachedSources(String normalized) {
+        Cache cache = cacheManager.getCache(SOURCE_CACHE);
+        if (cache == null) {
+            return List.of();
+        }
+        try {
+            Cache.ValueWrapper wrapper = cache.get(normalized);
+            return (wrapper != null && wrapper.get() instanceof List<?> sources)
+                    ? (List<SourceDto>) sources
+                    : List.of();
+        } catch (RuntimeException e) {
+            log.warn("Source cache lookup failed. key='{}', reason={}", normalized, e.toString());
+            return List.of();
+        }
+    }
+
+    /**
+     * stale-while-revalidate + refresh-ahead.
+     * 어떤 경우든 캐시 값은 바로 돌려주고, 갱신은 bounded executor에서 돈다.
+     */
+    private void serveFromCache(String normalized, CachedSearchResult cached) {
+        long ageMs = System.currentTimeMillis() - cached.getCachedAtMillis();
+        long hits = recordHit(normalized);
+        rememberForSimilar(normalized); // 다른 노드가 캐시한 답변도 이 노드의 유사 검색 색인에 올린다
+
+        if (ageMs >= softTtl.toMillis()) {
+            log.info("Cache HIT (stale). key='{}', ageMs={}", normalized, ageMs);
+            searchMetrics.cacheRequest("stale");
+            scheduleRefresh(normalized, "stale");
+        } else if (hits >= popularHitThreshold && ageMs >= softTtl.toMillis() * refreshAheadRatio) {
+            log.info("Cache HIT (refresh-ahead). key='{}', ageMs={}, hits={}", normalized, ageMs, hits);
+            searchMetrics.cacheRequest("refresh_ahead");
+            scheduleRefresh(normalized, "refresh-ahead");
+        } else {
+            log.info("Cache HIT. key='{}'", normalized);
+            searchMetrics.cacheRequest("hit");
+        }
+    }
+
+    private long recordHit(String normalized) {
+        LongAdder counter = hitCounts.get(normalized, k -> new LongAdder());
+        counter.increment();
+        return counter.sum();
+    }
+
+    /**
+     * 인기 검색어 미리 채우기 (PopularQueryWarmer).
+     * 답변이 없거나 refresh-ahead 시점(soft TTL × ratio)이 지났을 때만 백그라운드 갱신을 건다.
+     * 노드 간 lease를 여기서 먼저 잡아, 모든 노드가 같은 전체 top-K를 보더라도 갱신을 맡은 한 노드만 true.
+     * @return 이 노드가 갱신을 맡았으면 true
+     */
+    @Override
+    public boolean warm(String normalized) {
+        CachedSearchResult cached = getCached(normalized);
+        if (cached != null
+                && System.currentTimeMillis() - cached.getCachedAtMillis() < softTtl.toMillis() * refreshAheadRatio) {
+            return false;
+        }
+        String reason = (cached == null) ? "warm-miss" : "warm";
+
+        RedisLease redisLease = redisLeaseProvider.getIfAvailable();
+        if (redisLease == null) {
+            return scheduleRefresh(normalized, reason, null);
+        }
+        String leaseKey = "search:" + normalized;
+        Optional<String> token = redisLease.tryAcquire(leaseKey, leaseTtl);
+        if (token.isEmpty()) {
+            log.debug("Search warm skipped (lease held by another node). key='{}'", normalized);
+            return false;
+        }
+        if (!scheduleRefresh(normalized, reason, token.get())) {
+            redisLease.release(leaseKey, token.get());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean scheduleRefresh(String normalized, String reason) {
+        return scheduleRefresh(normalized, reason, null);
+    }
+
+    /**
+     * @param leaseToken 호출 측이 이미 잡은 lease (없으면 null → refresh에서 잡는다). 넘긴 lease는 refresh가 푼다
+     */
+    private boolean scheduleRefresh(String normalized, String reason, String leaseToken) {
+        if (!refreshing.add(normalized)) {
+            return false; // 이미 이 노드에서 갱신 중
+        }
+        try {
+            searchRefreshExecutor.execute(() -> {
+                try {
+                    refresh(normalized, reason, leaseToken);
+                } finally {
+                    refreshing.remove(normalized);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(normalized);
+            log.warn("Search refresh rejected (queue full). key='{}', reason={}", normalized, reason);
+            return false;
+        }
+    }
+
+    /**
+     * 캐시를 건너뛰고 파이프라인을 다시 돌려 덮어쓴다.
+     * 다른 노드가 이미 갱신 중(lease 보유)이면 건너뛴다. fallback이면 기존 값을 hard TTL까지 계속 쓴다.
+     */
+    private void refresh(String normalized, String reason, String leaseToken) {
+        RedisLease redisLease = redisLeaseProvider.getIfAvailable();
+        String leaseKey = "search:" + normalized;
+        Optional<String> token;
+        if (leaseToken != null) {
+            token = Optional.of(leaseToken);
+        } else {
+            token = (redisLease != null)
+                    ? redisLease.tryAcquire(leaseKey, leaseTtl)
+                    : Optional.of("local");
+        }
+
+        if (token.isEmpty()) {
+            log.debug("Search refresh skipped (lease held by another node). key='{}'", normalized);
+            return;
+        }
+
+        try {
+            log.info("Search refresh start. key='{}', reason={}", normalized, reason);
+            searchSingleFlight.execute(normalized, () -> searchAndCache(normalized));
+        } catch (Exception e) {
+            log.warn("Search refresh failed. key='{}', reason={}", normalized, e.toString());
+        } finally {
+            if (redisLease != null) {
+                redisLease.release(leaseKey, token.get());
+            }
+        }
+    }
+
+    /**
+     * 노드 간 single-flight.
+     * - lease를 잡은 노드만 파이프라인 실행
+     * - 못 잡은 노드는 lease가 풀리거나 캐시가 채워질 때까지 캐시를 polling
+     * - 대기 시간을 넘기거나 leader가 fallback으로 끝나면(캐시 X) 직접 실행
+     */
+    private SearchResponseDto loadWithLease(String normalized) {
+        // 앞선 leader가 방금 채웠을 수 있음
+        CachedSearchResult cached = getCached(normalized);
+        if (cached != null) {
+            return cached.getResponse();
+        }
+
+        RedisLease redisLease = redisLeaseProvider.getIfAvailable();
+        if (redisLease == null) {
+            return admitAndSearch(normalized);
+        }
+
+        String leaseKey = "search:" + normalized;
+        Optional<String> token = redisLease.tryAcquire(leaseKey, leaseTtl);
+
+        if (token.isEmpty()) {
+            log.info("Search lease held by another node. wait for cache. key='{}'", normalized);
+            SearchResponseDto shared = waitForRemoteResult(normalized, leaseKey, redisLease);
+            if (shared != null) {
+                return shared;
+            }
+            log.info("Search lease wait ended without cached result. run pipeline. key='{}'", normalized);
+            return admitAndSearch(normalized);
+        }
+
+        try {
+            return admitAndSearch(normalized);
+        } finally {
+            redisLease.release(leaseKey, token.get());
+        }
+    }
+
+    /**
+     * 이 노드가 파이프라인을 직접 돌릴 때만 admission 자리를 받는다.
+     * 다른 노드 결과를 polling으로 기다리는 동안은 자리를 잡지 않는다 (limiter 지연 표본도 파이프라인 시간만).
+     */
+    private SearchResponseDto admitAndSearch(String normalized) {
+        Permit permit = tryAdmit(normalized).orElseThrow(() -> new SearchOverloadedException(normalized));
+        try {
+            SearchResponseDto dto = searchAndCache(normalized);
+            completePermit(permit, dto);
+            return dto;
+        } catch (RuntimeException e) {
+            permit.onDropped();
+            throw e;
+        }
+    }
+
+    private SearchResponseDto waitForRemoteResult(String normalized, String leaseKey, RedisLease redisLease) {
+        // 요청 마감보다 오래 기다리지 않는다
+        long deadline = System.currentTimeMillis() + DeadlineContext.current().capMillis(leaseWaitTimeout.toMillis());
+
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(leasePollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            CachedSearchResult cached = getCached(normalized);
+            if (cached != null) {
+                log.info("Cache HIT after lease wait. key='{}'", normalized);
+                return cached.getResponse();
+            }
+            if (!redisLease.isHeld(leaseKey)) {
+                // leader 종료 → 마지막으로 한 번 더 확인
+                CachedSearchResult last = getCached(normalized);
+                return (last != null) ? last.getResponse() : null;
+            }
+        }
+        return null;
+    }
+
+    private SearchResponseDto searchAndCache(String normalized) {
+        SearchResponseDto dto = doSearchInternal(normalized);
+        cacheIfNotFallback(normalized, dto);
+        return dto;
+    }
+
+    private void cacheIfNotFallback(String normalized, SearchResponseDto dto) {
+        if (dto == null || isFallback(dto)) {
+            log.info("Cache PUT skipped (fallback). key='{}'", normalized);
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(LLM_RESULT_CACHE);
+        if (cache != null) {
+            cache.put(normalized, new CachedSearchResult(dto, System.currentTimeMillis()));
+            log.info("Cache PUT. key='{}'", normalized);
+            rememberForSimilar(normalized);
+        }
+    }
+
+    /**
+     * 정확한 key가 MISS일 때 거의 같은 검색어의 캐시 답변 (SemanticQueryCache mode=on일 때만).
+     */
+    private SearchResponseDto getSimilarCached(String normalized) {
+        SemanticQueryCache semantic = semanticQueryCacheProvider.getIfAvailable();
+        if (semantic == null) {
+            return null;
+        }
+        return semantic.findSimilar(normalized)
+                .map(key -> serveSimilar(semantic, normalized, key, getCached(key)))
+                .orElse(null);
+    }
+
+    private Mono<SearchResponseDto> getSimilarCachedAsync(String normalized) {
+        SemanticQueryCache semantic = semanticQueryCacheProvider.getIfAvailable();
+        if (semantic == null) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(semantic.findSimilar(normalized))
+                .flatMap(key -> getCachedAsync(key)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .mapNotNull(cached -> serveSimilar(semantic, normalized, key, cached.orElse(null))));
+    }
+
+    // soft TTL 안의 값만 쓴다 (stale 값은 다른 검색어로 넘기지 않고, 갱신도 원래 key 요청에 맡긴다)
+    private SearchResponseDto serveSimilar(SemanticQueryCache semantic, String normalized, String key,
+                                           CachedSearchResult cached) {
+        if (cached == null) {
+            semantic.forget(key);
+            return null;
+        }
+        if (System.currentTimeMillis() - cached.getCachedAtMillis() >= softTtl.toMillis()) {
+            return null;
+        }
+        log.info("Cache HIT (semantic). key='{}', matched='{}'", normalized, key);
+        searchMetrics.cacheRequest("semantic_hit");
+        return cached.getResponse();
+    }
+
+    private void rememberForSimilar(String normalized) {
+        SemanticQueryCache semantic = semanticQueryCacheProvider.getIfAvailable();
+        if (semantic != null) {
+            semantic.remember(normalized);
+        }
+    }
+
+    private void recordPopularity(String normalized) {
+        QueryPopularity popularity = queryPopularityProvider.getIfAvailable();
+        if (popularity != null) {
+            popularity.record(normalized);
+        }
+    }
+
+    private CachedSearchResult getCached(String normalized) {
+        Cache cache = cacheManager.getCache(LLM_RESULT_CACHE);
+        if (cache == null) {
+            return null;
+        }
+        // 이전 형식(SearchResponseDto) 값은 MISS로 보고 파이프라인 결과로 덮어쓴다 (배포 중 이전 버전 노드가 쓴 값 포함)
+        Cache.ValueWrapper wrapper = cache.get(normalized);
+        return (wrapper != null && wrapper.get() instanceof CachedSearchResult cached) ? cached : null;
     }
 
     private SearchResponseDto doSearchInternal(String normalized) {
+        SearchPipelineEvent event = pipelineEvent("sync", normalized);
+        try {
+            SearchResponseDto dto = runPipeline(normalized);
+            finish(event, dto);
+            return dto;
+        } catch (RuntimeException e) {
+            event.outcome = JfrEvents.outcome(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private SearchResponseDto runPipeline(String normalized) {
 
         long totalStart = System.currentTimeMillis();
         log.info("Search pipeline start. normalized='{}'", normalized);
@@ -43,46 +740,76 @@ public class SearchServiceImpl implements SearchService{
         long braveStart = System.currentTimeMillis();
         List<SourceDto> sources = sourceRepository.getSources(normalized);
         long braveMs = System.currentTimeMillis() - braveStart;
+        searchMetrics.recordStage("sync", Stage.BRAVE, braveMs);
 
         if (sources == null || sources.isEmpty()) {
             long totalMs = System.currentTimeMillis() - totalStart;
 
             log.warn("No sources from sourceRepository. Skip Jsoup/LLM. query='{}', braveMs={}, totalMs={}",
                     normalized, braveMs, totalMs);
+            searchMetrics.fallback("brave");
 
-            String answer = """
-                    죄송합니다, 현재는 외부 검색(Brave)에서 결과를 가져오지 못했습니다.
-                    잠시 후 다시 시도해 주세요.
-                    """;
-
-            return new SearchResponseDto(answer, List.of()); // fallback → unless에 걸려서 캐시 X
+            return new SearchResponseDto(BRAVE_FALLBACK_ANSWER, List.of()); // fallback → isFallback에 걸려서 캐시 X
         }
         long jsoupStart = System.currentTimeMillis();
-        List<String> contents = contentFetcher.fetchContents(sources);
+        List<String> contents = answerGenerator.isCircuitOpen()
+                ? skipContents(normalized, sources)
+                : contentFetcher.fetchContents(normalized, sources);
         long jsoupMs = System.currentTimeMillis() - jsoupStart;
+        searchMetrics.recordStage("sync", Stage.JSOUP, jsoupMs);
 
         long llmStart = System.currentTimeMillis();
         String answer = answerGenerator.generateAnswer(normalized, sources, contents);
         long llmMs = System.currentTimeMillis() - llmStart;
+        searchMetrics.recordStage("sync", Stage.LLM, llmMs);
 
         long totalMs = System.currentTimeMillis() - totalStart;
+        searchMetrics.recordStage("sync", Stage.TOTAL, totalMs);
 
         SearchResponseDto dto = new SearchResponseDto(answer, sources);
+        if (isFallback(dto)) {
+            searchMetrics.fallback("llm");
+        }
 
         log.info(
-                "Search pipeline summary. query='{}', sources={}, braveMs={}, jsoupMs={}, llmMs={}, totalMs={}",
+                "Search pipeline summary. query='{}', sources={}, braveMs={}, jsoupMs={}, llmMs={}, totalMs={}, {}",
                 normalized,
                 sources.size(),
                 braveMs,
                 jsoupMs,
                 llmMs,
-                totalMs
+                totalMs,
+                DeadlineContext.current()
         );
 
 
         return dto;
     }
 
+    /**
+     * JFR: 파이프라인 한 번을 감싸는 구간. 하위 단계 이벤트와 Query Hash로 묶인다.
+     */
+    private SearchPipelineEvent pipelineEvent(String path, String normalized) {
+        SearchPipelineEvent event = new SearchPipelineEvent();
+        event.begin();
+        event.path = path;
+        event.queryHash = JfrEvents.hash(normalized);
+        return event;
+    }
+
+    private void finish(SearchPipelineEvent event, SearchResponseDto dto) {
+        event.sources = (dto.getSources() != null) ? dto.getSources().size() : 0;
+        event.outcome = isFallback(dto) ? "fallback" : "ok";
+    }
+
+    /**
+     * LLM circuit이 열려 있으면 답변은 어차피 fallback이므로 본문 수집(수 초)을 건너뛴다.
+     */
+    private List<String> skipContents(String normalized, List<SourceDto> sources) {
+        log.warn("LLM circuit open. Skip Jsoup. query='{}', sources={}", normalized, sources.size());
+        return Collections.nCopies(sources.size(), "");
+    }
+
     /**
      * 이 SearchResponseDto가 "fallback 응답"인지 여부를 판단하는 헬퍼.
      * - sources가 비었으면 fallback으로 간주
@@ -101,7 +828,8 @@ public class SearchServiceImpl implements SearchService{
         if (answer == null) return true;
 
         if (answer.contains("현재는 질문에 대한 답변을 생성할 수 없습니다.")
-                || answer.contains("외부 검색(Brave)에서 결과를 가져오지 못했습니다.")) {
+                || answer.contains("외부 검색(Brave)에서 결과를 가져오지 못했습니다.")
+                || answer.contains("현재 요청이 많아 답변을 생성하지 못했습니다.")) {
             return true;
         }
 
@@ -0,0 +1,33 @@
+package com.example.ai_search.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/semanticcache
+ * - GET: mode, hit/shadow hit/miss 수, 최근 찾은 (검색어, 찾은 key, 유사도) 목록 → 오탐 점검
+ * - POST {"query": ..., "matched": ...}: 잘못 묶인 쌍을 오탐으로 보고 (이 노드에서 다시 쓰지 않음, search.semantic.false.hits 증가)
+ */
+@Component
+@Endpoint(id = "semanticcache")
+@RequiredArgsConstructor
+public class SemanticCacheEndpoint {
+
+    private final SemanticQueryCache semanticQueryCache;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return semanticQueryCache.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reject(String query, String matched) {
+        semanticQueryCache.reject(query, matched);
+        return semanticQueryCache.status();
+    }
+}
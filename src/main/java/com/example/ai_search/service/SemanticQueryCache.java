@@ -0,0 +1,215 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.text.MinHashIndex;
+import com.example.ai_search.common.text.MinHashIndex.Match;
+import com.example.ai_search.common.text.PassageSelector;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * 정확히 같은 key가 없을 때, 최근 답변한 검색어 중 거의 같은 검색어의 llmResultCache key를 찾는다.
+ * - 특징: 동의어(스프링 → spring 등)를 맞추고 군더더기 말(방법, 어떻게, how ...)을 뺀 뒤
+ *   PassageSelector 토큰(영문/숫자 단어 + 한글 bigram)
+ * - 색인: MinHashIndex (LSH 후보 → 정확한 Jaccard 확인), 노드 로컬. 답변을 캐시하거나 캐시 HIT할 때 등록
+ * - 숫자가 든 토큰(버전, 연도)이 하나라도 다르면 비슷해도 다른 검색어로 본다 (spring boot 2 ≠ 3)
+ * - mode: off | shadow(찾기만 하고 응답은 파이프라인으로, 오탐 점검용) | on
+ * 찾은 쌍은 최근 audit-size건을 남겨 /actuator/semanticcache 에서 보고, 잘못된 쌍은 reject로 다시 쓰지 않게 한다.
+ */
+@Component
+@Slf4j
+public class SemanticQueryCache {
+
+    public enum Mode { OFF, SHADOW, ON }
+
+    public record AuditEntry(String query, String matched, double similarity, boolean served, long atMillis) {
+    }
+
+    private final Mode mode;
+    private final double threshold;
+    private final int auditSize;
+    private final Map<String, String> synonyms;
+    private final Set<String> stopWords;
+    private final MinHashIndex index;
+
+    // 오탐으로 보고된 (검색어, 찾은 key) 쌍
+    private final Cache<String, Boolean> rejectedPairs = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final Deque<AuditEntry> audits = new ArrayDeque<>();
+
+    private final Counter hits;
+    private final Counter shadowHits;
+    private final Counter misses;
+    private final Counter falseHits;
+    private final DistributionSummary similarity;
+
+    public SemanticQueryCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.search.semantic.mode:shadow}") String mode,
+            @Value("${app.search.semantic.threshold:0.8}") double threshold,
+            @Value("${app.search.semantic.max-entries:10000}") int maxEntries,
+            @Value("${app.search.semantic.audit-size:200}") int auditSize,
+            @Value("${app.search.semantic.synonyms:}") List<String> synonyms,
+            @Value("${app.search.semantic.stop-words:}") List<String> stopWords
+    ) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase());
+        this.threshold = threshold;
+        this.auditSize = auditSize;
+        this.synonyms = parseSynonyms(synonyms);
+        this.stopWords = stopWords.stream().map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet());
+        this.index = new MinHashIndex(maxEntries);
+
+        this.hits = counter(meterRegistry, "hit");
+        this.shadowHits = counter(meterRegistry, "shadow_hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.falseHits = Counter.builder("search.semantic.false.hits")
+                .description("오탐으로 보고된 유사 검색어 쌍 (/actuator/semanticcache reject)")
+                .register(meterRegistry);
+        this.similarity = DistributionSummary.builder("search.semantic.similarity")
+                .description("찾은 유사 검색어의 Jaccard 유사도")
+                .publishPercentiles(0.05, 0.5)
+                .register(meterRegistry);
+        Gauge.builder("search.semantic.indexed", index, MinHashIndex::size).register(meterRegistry);
+        log.info("Semantic query cache initialized. mode={}, threshold={}, maxEntries={}, synonyms={}, stopWords={}",
+                this.mode, threshold, maxEntries, this.synonyms.size(), this.stopWords.size());
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.semantic.requests")
+                .description("정확한 key MISS 후 유사 검색어 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 정확한 key가 MISS일 때 부른다. mode=on이고 비슷한 검색어가 있으면 그 key.
+     * shadow면 찾은 결과를 지표/audit에만 남기고 empty.
+     */
+    public Optional<String> findSimilar(String normalized) {
+        if (mode == Mode.OFF) {
+            return Optional.empty();
+        }
+        Set<String> tokens = features(normalized);
+        Optional<Match> match = index.findMostSimilar(tokens, threshold, normalized)
+                .filter(m -> sameNumbers(tokens, features(m.key())))
+                .filter(m -> rejectedPairs.getIfPresent(pair(normalized, m.key())) == null);
+        if (match.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        Match found = match.get();
+        boolean serve = mode == Mode.ON;
+        (serve ? hits : shadowHits).increment();
+        similarity.record(found.similarity());
+        audit(new AuditEntry(normalized, found.key(), found.similarity(), serve, System.currentTimeMillis()));
+        log.info("Semantic cache match. key='{}', matched='{}', similarity={}, served={}",
+                normalized, found.key(), String.format("%.2f", found.similarity()), serve);
+        return serve ? Optional.of(found.key()) : Optional.empty();
+    }
+
+    /**
+     * 답변이 캐시에 있는 검색어를 색인한다.
+     */
+    public void remember(String normalized) {
+        if (mode != Mode.OFF) {
+            index.put(normalized, features(normalized));
+        }
+    }
+
+    /**
+     * 찾은 key의 캐시 값이 없어졌으면(만료/삭제) 색인에서도 뺀다.
+     */
+    public void forget(String normalized) {
+        index.remove(normalized);
+    }
+
+    /**
+     * 오탐 보고. 이 쌍은 다시 찾지 않는다 (노드 로컬).
+     */
+    public void reject(String query, String matched) {
+        rejectedPairs.put(pair(query, matched), Boolean.TRUE);
+        falseHits.increment();
+        log.warn("Semantic cache match rejected. query='{}', matched='{}'", query, matched);
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mode", mode.name().toLowerCase());
+        status.put("threshold", threshold);
+        status.put("indexed", index.size());
+        status.put("hits", (long) hits.count());
+        status.put("shadowHits", (long) shadowHits.count());
+        status.put("misses", (long) misses.count());
+        status.put("falseHits", (long) falseHits.count());
+        synchronized (audits) {
+            status.put("recent", new ArrayList<>(audits));
+        }
+        return status;
+    }
+
+    Set<String> features(String normalized) {
+        StringJoiner words = new StringJoiner(" ");
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String canonical = synonyms.getOrDefault(word, word);
+            if (!stopWords.contains(canonical)) {
+                words.add(canonical);
+            }
+        }
+        return PassageSelector.tokenize(words.toString());
+    }
+
+    private void audit(AuditEntry entry) {
+        synchronized (audits) {
+            audits.addFirst(entry);
+            while (audits.size() > auditSize) {
+                audits.removeLast();
+            }
+        }
+    }
+
+    private static boolean sameNumbers(Set<String> a, Set<String> b) {
+        return numbers(a).equals(numbers(b));
+    }
+
+    private static Set<String> numbers(Set<String> tokens) {
+        return tokens.stream().filter(t -> t.chars().anyMatch(Character::isDigit)).collect(Collectors.toSet());
+    }
+
+    private static String pair(String query, String matched) {
+        return query + '\u0000' + matched;
+    }
+
+    // "스프링=spring, 자바=java" 형태. 왼쪽 단어를 오른쪽 단어로 맞춘다
+    private static Map<String, String> parseSynonyms(List<String> entries) {
+        Map<String, String> synonyms = new HashMap<>();
+        for (String entry : entries) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            synonyms.put(entry.substring(0, eq).trim().toLowerCase(), entry.substring(eq + 1).trim().toLowerCase());
+        }
+        return synonyms;
+    }
+}
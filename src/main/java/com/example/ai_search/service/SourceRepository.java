@@ -1,9 +1,19 @@
 package com.example.ai_search.service;
 
 import com.example.ai_search.dto.SourceDto;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
 public interface SourceRepository {
     List<SourceDto> getSources(String query);
+
+    /**
+     * 논블로킹 버전. 기본 구현은 블로킹 호출을 boundedElastic으로 넘긴다.
+     */
+    default Mono<List<SourceDto>> getSourcesAsync(String query) {
+        return Mono.fromCallable(() -> getSources(query))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
 }
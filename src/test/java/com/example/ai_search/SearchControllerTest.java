@@ -1,17 +1,28 @@
 package com.example.ai_search;
 
 import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SearchStreamEvent;
+import com.example.ai_search.dto.SourceDto;
+import com.example.ai_search.service.SearchOverloadedException;
 import com.example.ai_search.service.SearchService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,4 +70,90 @@ public class SearchControllerTest {
                 .andExpect(model().attribute("query", query))
                 .andExpect(model().attribute("result", dummy));
     }
+
+    @Test
+    @DisplayName("/search/stream 은 sources → token → done 순서로 SSE 이벤트를 보낸다")
+    void searchStream_sendsSourcesThenTokensThenDone() throws Exception {
+        // given
+        String query = "스프링 부트";
+        Mockito.when(searchService.searchStream(query)).thenReturn(Flux.just(
+                SearchStreamEvent.sources(List.of(new SourceDto(1, "Spring", "https://spring.io", "snippet"))),
+                SearchStreamEvent.token("첫 조각 "),
+                SearchStreamEvent.token("두번째 조각"),
+                SearchStreamEvent.done()
+        ));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/search/stream").param("q", query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        int sourcesIdx = body.indexOf("event:sources");
+        int tokenIdx = body.indexOf("event:token");
+        int doneIdx = body.indexOf("event:done");
+
+        assertThat(sourcesIdx).isGreaterThanOrEqualTo(0);
+        assertThat(tokenIdx).isGreaterThan(sourcesIdx);
+        assertThat(doneIdx).isGreaterThan(tokenIdx);
+        assertThat(body).contains("https://spring.io").contains("첫 조각").contains("두번째 조각");
+    }
+
+    @Test
+    @DisplayName("/search/stream 에 빈 쿼리를 주면 400을 반환한다")
+    void searchStream_blankQuery_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/search/stream").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("/api/search 는 searchAsync 결과를 JSON으로 반환한다")
+    void searchApi_returnsJsonFromAsyncPipeline() throws Exception {
+        // given
+        String query = "스프링 부트";
+        SearchResponseDto dto = new SearchResponseDto(
+                "비동기 답변",
+                List.of(new SourceDto(1, "Spring", "https://spring.io", "snippet"))
+        );
+        Mockito.when(searchService.searchAsync(query)).thenReturn(Mono.just(dto));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/search").param("q", query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.answer").value("비동기 답변"))
+                .andExpect(jsonPath("$.sources[0].url").value("https://spring.io"));
+    }
+
+    @Test
+    @DisplayName("/api/search 가 과부하로 거절되면 바로 503 + Retry-After를 반환한다")
+    void searchApi_returns503_whenOverloaded() throws Exception {
+        // given
+        String query = "스프링 부트";
+        Mockito.when(searchService.searchAsync(query))
+                .thenReturn(Mono.error(new SearchOverloadedException(query)));
+
+        // when
+        MvcResult mvcResult = mockMvc.perform(get("/api/search").param("q", query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").exists());
+    }
 }
@@ -0,0 +1,95 @@
+package com.example.ai_search.common.admission;
+
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.example.ai_search.common.admission.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("limit을 넘으면 바로 거절하고, LOW 우선순위는 limit × share 까지만 받는다")
+    void rejectsOverLimit_andReservesHeadroomForHighPriority() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.8, now::get);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(Priority.LOW)).isPresent();
+        }
+        assertThat(limiter.tryAcquire(Priority.LOW)).isEmpty();
+
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isPresent();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isPresent();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isEmpty();
+
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+        assertThat(limiter.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("처리 시간이 늘지 않은 채 자리가 차 있으면 limit을 늘린다")
+    void increasesLimit_whenLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.0, now::get);
+
+        runBatch(limiter, 10, Duration.ofMillis(500));
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("처리 시간이 기준보다 크게 늘면(대기열) limit을 줄인다")
+    void decreasesLimit_whenLatencyInflates() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 1.0, now::get);
+
+        runBatch(limiter, 1, Duration.ofMillis(500)); // 기준(rttNoLoad) 500ms
+        int before = limiter.getLimit();
+        runBatch(limiter, 40, Duration.ofSeconds(3));
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("drop(타임아웃/fallback)이면 limit을 줄이고 min-limit 아래로는 내려가지 않는다")
+    void decreasesLimitOnDrop_boundedByMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 1.0, now::get);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire(Priority.HIGH).orElseThrow().onDropped();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Permit은 여러 번 끝내도 한 번만 반영된다")
+    void permit_releasedOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 1.0, now::get);
+
+        Optional<Permit> permit = limiter.tryAcquire(Priority.HIGH);
+        limiter.tryAcquire(Priority.HIGH);
+        permit.orElseThrow().onIgnored();
+        permit.orElseThrow().onSuccess();
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private void runBatch(AdaptiveConcurrencyLimiter limiter, int concurrency, Duration latency) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            limiter.tryAcquire(Priority.HIGH).ifPresent(permits::add);
+        }
+        now.addAndGet(latency.toNanos());
+        permits.forEach(Permit::onSuccess);
+    }
+}
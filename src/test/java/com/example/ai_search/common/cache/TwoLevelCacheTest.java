@@ -0,0 +1,107 @@
+package com.example.ai_search.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCache remote;
+    private CacheInvalidationPublisher publisher;
+    private TwoLevelCacheManager manager;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("llmResultCache"));
+        SimpleCacheManager remoteManager = new SimpleCacheManager();
+        remoteManager.setCaches(List.of(remote));
+        remoteManager.afterPropertiesSet();
+
+        publisher = mock(CacheInvalidationPublisher.class);
+        when(publisher.getNodeId()).thenReturn("node-a");
+
+        manager = new TwoLevelCacheManager(
+                List.of(new TwoLevelCacheManager.LocalCacheSpec("llmResultCache", 100, Duration.ofMinutes(10))),
+                remoteManager,
+                publisher
+        );
+        cache = manager.getTwoLevelCache("llmResultCache");
+    }
+
+    @Test
+    @DisplayName("L2에만 있는 값은 한 번 읽은 뒤 L1에서 응답되어 L2를 다시 보지 않는다")
+    void get_readsThroughToRemoteOnce_thenServesFromLocal() {
+        remote.put("spring boot", "answer");
+
+        assertThat(cache.get("spring boot", String.class)).isEqualTo("answer");
+        assertThat(cache.get("spring boot", String.class)).isEqualTo("answer");
+
+        verify(remote, times(1)).get("spring boot");
+    }
+
+    @Test
+    @DisplayName("put은 L1/L2 모두에 쓰고 다른 노드에 무효화 메시지를 보낸다")
+    void put_writesThroughBothLevels_andPublishesEvict() {
+        cache.put("spring boot", "answer");
+
+        assertThat(remote.get("spring boot", String.class)).isEqualTo("answer");
+        assertThat(cache.get("spring boot", String.class)).isEqualTo("answer");
+        verify(remote, never()).get("spring boot");
+        verify(publisher).publishEvict("llmResultCache", "spring boot");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 메시지를 받으면 L1만 비우고 다음 조회는 L2에서 새 값을 읽는다")
+    void remoteInvalidation_evictsOnlyLocal() {
+        cache.put("spring boot", "old");
+        remote.put("spring boot", "new"); // 다른 노드가 L2를 갱신한 상황
+
+        CacheInvalidationListener listener = new CacheInvalidationListener(manager, "node-a");
+        listener.onMessage(message("node-b|llmResultCache|EVICT|spring boot"), null);
+
+        assertThat(cache.get("spring boot", String.class)).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("자기 자신이 보낸 무효화 메시지는 무시한다")
+    void remoteInvalidation_ignoresOwnMessages() {
+        cache.put("spring boot", "answer");
+        clearInvocations(remote);
+
+        CacheInvalidationListener listener = new CacheInvalidationListener(manager, "node-a");
+        listener.onMessage(message("node-a|llmResultCache|EVICT|spring boot"), null);
+
+        assertThat(cache.get("spring boot", String.class)).isEqualTo("answer");
+        verify(remote, never()).get("spring boot");
+    }
+
+    @Test
+    @DisplayName("evict는 L1/L2에서 모두 지운다")
+    void evict_removesFromBothLevels() {
+        cache.put("spring boot", "answer");
+
+        cache.evict("spring boot");
+
+        assertThat(cache.get("spring boot")).isNull();
+        assertThat(remote.get("spring boot")).isNull();
+        verify(publisher, times(2)).publishEvict("llmResultCache", "spring boot");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                "ai-search:cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
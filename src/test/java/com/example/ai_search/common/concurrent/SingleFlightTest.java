@@ -0,0 +1,79 @@
+package com.example.ai_search.common.concurrent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("같은 key로 동시에 들어온 호출은 supplier를 한 번만 실행하고 같은 결과를 공유한다")
+    void execute_coalescesConcurrentCallsForSameKey() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>("test");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> singleFlight.execute("spring boot", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "answer";
+            })));
+            assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 7; i++) {
+                results.add(pool.submit(() -> singleFlight.execute("spring boot", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            // follower들이 join 할 시간을 준 뒤 leader를 끝낸다
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<String> f : results) {
+                assertThat(f.get(2, TimeUnit.SECONDS)).isEqualTo("answer");
+            }
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("leader가 예외로 끝나면 key가 정리되어 다음 호출은 다시 실행된다")
+    void execute_failureIsNotRemembered() {
+        SingleFlight<String> singleFlight = new SingleFlight<>("test");
+
+        assertThatThrownBy(() -> singleFlight.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("k", () -> "ok")).isEqualTo("ok");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ai_search.common.deadline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineTest {
+
+    @Test
+    @DisplayName("단계 타임아웃은 요청 마감까지 남은 시간을 넘지 않는다")
+    void cap_neverExceedsRemaining() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(2));
+
+        assertThat(deadline.cap(Duration.ofSeconds(10))).isLessThanOrEqualTo(Duration.ofSeconds(2));
+        assertThat(deadline.cap(Duration.ofMillis(500))).isEqualTo(Duration.ofMillis(500));
+        assertThat(deadline.capMillis(10_000)).isLessThanOrEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("within은 요청 마감과 단계 타임아웃 중 더 이른 쪽을 마감으로 쓴다")
+    void within_picksEarlierDeadline() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(2));
+
+        assertThat(deadline.within(Duration.ofMillis(100)).remaining()).isLessThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(deadline.within(Duration.ofSeconds(10))).isSameAs(deadline);
+    }
+
+    @Test
+    @DisplayName("마감이 없으면 단계 타임아웃을 그대로 쓰고 만료되지 않는다")
+    void none_keepsStageTimeout() {
+        Deadline none = Deadline.none();
+
+        assertThat(none.isExpired()).isFalse();
+        assertThat(none.cap(Duration.ofSeconds(8))).isEqualTo(Duration.ofSeconds(8));
+        assertThat(none.within(Duration.ofSeconds(3)).remaining()).isLessThanOrEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("이미 지난 마감은 남은 시간이 0이고 만료로 본다")
+    void expired_hasNoTimeLeft() {
+        Deadline deadline = Deadline.after(Duration.ZERO);
+
+        assertThat(deadline.isExpired()).isTrue();
+        assertThat(deadline.remaining()).isEqualTo(Duration.ZERO);
+        assertThat(deadline.hasAtLeast(Duration.ofMillis(1))).isFalse();
+    }
+}
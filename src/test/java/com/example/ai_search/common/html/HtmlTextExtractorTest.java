@@ -0,0 +1,108 @@
+package com.example.ai_search.common.html;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlTextExtractorTest {
+
+    private static final String PAGE = """
+            <!DOCTYPE html>
+            <html><head><title>제목</title>
+            <style>body { color: red; }</style>
+            <script>if (a < b && c > d) { document.write("<p>광고</p>"); }</script>
+            </head>
+            <body>
+            <nav><ul><li>메뉴1</li><li>메뉴2</li></ul></nav>
+            <!-- 주석 <p>숨김</p> -->
+            <article><h1>스프링 부트</h1><p>캐시는 <b>2단계</b>로 &amp; 빠르게&nbsp;동작한다 &#44032;</p>
+            <svg><text>아이콘</text></svg><img src="a.png"/><p>둘째 문단</p></article>
+            <footer>저작권</footer>
+            </body></html>
+            """;
+
+    @Test
+    @DisplayName("script/style/nav/footer/주석은 버리고 본문 텍스트만 공백을 정리해서 뽑는다")
+    void extractsVisibleTextOnly() {
+        HtmlTextExtractor extractor = new HtmlTextExtractor(StandardCharsets.UTF_8, 2000);
+
+        extractor.feed(ByteBuffer.wrap(PAGE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(extractor.text())
+                .isEqualTo("제목 스프링 부트 캐시는 2단계로 & 빠르게 동작한다 가 둘째 문단");
+        assertThat(extractor.isFull()).isFalse();
+    }
+
+    @Test
+    @DisplayName("자주 쓰는 다섯 개 말고 다른 이름 엔티티도 풀고, 모르는 이름은 원문 그대로 둔다")
+    void decodesOtherNamedEntities() {
+        HtmlTextExtractor extractor = new HtmlTextExtractor(StandardCharsets.UTF_8, 2000);
+
+        extractor.feed("<p>캐시 &middot; 검색&hellip; &copy;2024 &nosuch; 끝</p>");
+
+        assertThat(extractor.text()).isEqualTo("캐시 · 검색… ©2024 &nosuch; 끝");
+    }
+
+    @Test
+    @DisplayName("한 바이트씩 나눠 넣어도(멀티바이트 문자가 조각 경계에 걸려도) 결과가 같다")
+    void chunkBoundaries_doNotChangeResult() {
+        HtmlTextExtractor whole = new HtmlTextExtractor(StandardCharsets.UTF_8, 2000);
+        whole.feed(ByteBuffer.wrap(PAGE.getBytes(StandardCharsets.UTF_8)));
+
+        HtmlTextExtractor byteByByte = new HtmlTextExtractor(StandardCharsets.UTF_8, 2000);
+        for (byte b : PAGE.getBytes(StandardCharsets.UTF_8)) {
+            byteByByte.feed(ByteBuffer.wrap(new byte[]{b}));
+        }
+
+        assertThat(byteByByte.text()).isEqualTo(whole.text());
+    }
+
+    @Test
+    @DisplayName("글자 수 예산이 차면 isFull() 이 되고 이후 입력은 무시한다")
+    void stopsWhenBudgetFilled() {
+        HtmlTextExtractor extractor = new HtmlTextExtractor(StandardCharsets.UTF_8, 10);
+
+        boolean full = extractor.feed("<p>" + "가".repeat(50) + "</p>");
+
+        assertThat(full).isTrue();
+        assertThat(extractor.text()).hasSize(10);
+        assertThat(extractor.feed("<p>더</p>")).isTrue();
+        assertThat(extractor.text()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("헤더에 charset이 없으면 meta 태그의 charset으로 디코딩한다")
+    void sniffsMetaCharset() {
+        Charset eucKr = Charset.forName("EUC-KR");
+        String html = "<html><head><meta charset=\"euc-kr\"></head><body><p>한글 본문</p></body></html>";
+
+        HtmlTextExtractor extractor = new HtmlTextExtractor(null, 2000);
+        extractor.feed(ByteBuffer.wrap(html.getBytes(eucKr)));
+
+        assertThat(extractor.text()).isEqualTo("한글 본문");
+    }
+
+    @Test
+    @DisplayName("링크 목록/짧은 배너 블록은 버리고 본문 문단과 그 옆 소제목만 남긴다")
+    void mainContent_dropsLinkHeavyBlocks() {
+        String html = """
+                <div class="menu"><a href="/a">홈</a> <a href="/b">뉴스</a> <a href="/c">스포츠</a> <a href="/d">연예</a></div>
+                <div>쿠키 사용에 동의하십니까?</div>
+                <h2>캐시 설계</h2>
+                <p>Caffeine 로컬 캐시를 L1으로 두고 Redis를 L2로 두면 핫 쿼리는 네트워크 왕복 없이 응답할 수 있다.</p>
+                <p>관련 글: <a href="/1">스프링 부트 시작하기</a>, <a href="/2">레디스 클러스터 운영</a></p>
+                """;
+        HtmlTextExtractor extractor = new HtmlTextExtractor(StandardCharsets.UTF_8, 2000);
+        extractor.feed(html);
+
+        String main = MainContentSelector.select(extractor.blocks());
+
+        assertThat(main).isEqualTo(
+                "캐시 설계\nCaffeine 로컬 캐시를 L1으로 두고 Redis를 L2로 두면 핫 쿼리는 네트워크 왕복 없이 응답할 수 있다.");
+    }
+}
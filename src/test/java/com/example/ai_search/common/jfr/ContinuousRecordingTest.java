@@ -0,0 +1,75 @@
+package com.example.ai_search.common.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContinuousRecordingTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private ContinuousRecording recording;
+
+    @AfterEach
+    void tearDown() {
+        if (recording != null) {
+            recording.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("녹화 중에 남긴 파이프라인 이벤트가 dump 파일에 들어간다")
+    void dump_containsPipelineEvents() throws Exception {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(1), 16, dumpDir);
+        recording.start();
+
+        PageFetchEvent event = new PageFetchEvent();
+        event.begin();
+        event.queryHash = JfrEvents.hash("자바 21");
+        event.host = JfrEvents.hostOf("https://example.com/a");
+        event.status = 200;
+        event.bytes = 1024;
+        event.outcome = "ok";
+        event.commit();
+
+        Path file = recording.dump();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("ai_search.PageFetch"))
+                .toList();
+        assertThat(file.getParent()).isEqualTo(dumpDir);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("host")).isEqualTo("example.com");
+        assertThat(events.get(0).getString("queryHash")).isEqualTo(JfrEvents.hash("자바 21"));
+        assertThat(events.get(0).getLong("bytes")).isEqualTo(1024);
+    }
+
+    @Test
+    @DisplayName("녹화 중이 아니면 dump하지 않고, start는 여러 번 불러도 녹화 하나만 유지한다")
+    void startStop_idempotent() {
+        recording = new ContinuousRecording("default", Duration.ofMinutes(1), 16, dumpDir);
+
+        assertThatThrownBy(recording::dump).isInstanceOf(IllegalStateException.class);
+
+        recording.start();
+        recording.start();
+        assertThat(recording.isRecording()).isTrue();
+        assertThat(jdk.jfr.FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(r -> r.getName().equals(ContinuousRecording.RECORDING_NAME))
+                .count()).isEqualTo(1);
+
+        recording.stop();
+        assertThat(recording.isRecording()).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ai_search.common.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("burst만큼은 바로 통과하고, 이후 호출은 rate에 맞춰 차례로 대기 시간을 예약한다")
+    void reserve_queuesAfterBurst() {
+        TokenBucket bucket = new TokenBucket(2, 2, now::get); // 초당 2개, burst 2
+        Duration maxWait = Duration.ofSeconds(5);
+
+        assertThat(bucket.reserve(maxWait)).isZero();
+        assertThat(bucket.reserve(maxWait)).isZero();
+        assertThat(bucket.reserve(maxWait)).isEqualTo(Duration.ofMillis(500).toNanos());
+        assertThat(bucket.reserve(maxWait)).isEqualTo(Duration.ofMillis(1_000).toNanos());
+        assertThat(bucket.getAvailable()).isEqualTo(-2.0);
+    }
+
+    @Test
+    @DisplayName("기다릴 시간이 maxWait를 넘으면 예약하지 않고 -1을 돌려준다")
+    void reserve_rejectsBeyondMaxWait() {
+        TokenBucket bucket = new TokenBucket(1, 1, now::get);
+        Duration maxWait = Duration.ofMillis(1_500);
+
+        assertThat(bucket.reserve(maxWait)).isZero();
+        assertThat(bucket.reserve(maxWait)).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(bucket.reserve(maxWait)).isEqualTo(-1);
+        // 거절된 호출은 대기열을 늘리지 않는다
+        assertThat(bucket.getAvailable()).isEqualTo(-1.0);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 burst 상한까지만 다시 채워진다")
+    void refill_cappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.reserve(Duration.ZERO);
+        }
+        assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(-1);
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(bucket.reserve(Duration.ZERO)).isZero();
+
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertThat(bucket.getAvailable()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.ai_search.common.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker() {
+        // 실패율 50%, 최근 10건, 최소 4건, 10초 OPEN, 시험 호출 2건
+        return new CircuitBreaker("test", 50, 10, 4, Duration.ofSeconds(10), 2, now::get);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 이상에서 실패율이 임계치를 넘으면 OPEN 되고 호출을 거절한다")
+    void opens_whenFailureRateExceedsThreshold() {
+        CircuitBreaker cb = circuitBreaker();
+
+        cb.onError();
+        cb.onError();
+        cb.onError();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // 3건은 최소 호출 수 미만
+
+        cb.onSuccess();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN); // 4건 중 3건 실패
+
+        assertThat(cb.isCallPermitted()).isFalse();
+        assertThat(cb.tryAcquirePermission()).isFalse();
+        assertThat(cb.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패율이 임계치 미만이면 CLOSED를 유지한다")
+    void staysClosed_belowThreshold() {
+        CircuitBreaker cb = circuitBreaker();
+
+        for (int i = 0; i < 10; i++) {
+            if (i % 3 == 2) {
+                cb.onError();
+            } else {
+                cb.onSuccess();
+            }
+        }
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(cb.getFailureRate()).isEqualTo(0.3);
+    }
+
+    @Test
+    @DisplayName("OPEN 시간이 지나면 HALF_OPEN 시험 호출이 모두 성공할 때 CLOSED로 돌아간다")
+    void halfOpen_closesAfterSuccessfulProbes() {
+        CircuitBreaker cb = openedCircuitBreaker();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(cb.isCallPermitted()).isTrue();
+
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        assertThat(cb.tryAcquirePermission()).isFalse(); // 시험 호출은 2건까지
+
+        cb.onSuccess();
+        cb.onSuccess();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(cb.getFailureRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN에서 시험 자리를 잡지 않은 호출의 성공은 시험 결과로 세지 않는다")
+    void halfOpen_ignoresSuccessWithoutProbeSlot() {
+        CircuitBreaker cb = openedCircuitBreaker();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(cb.tryAcquirePermission()).isTrue(); // 시험 호출 1건
+        cb.onSuccess();
+        cb.onSuccess(); // OPEN 전에 나가 있던 호출이 늦게 성공
+        cb.onIgnored();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(cb.tryAcquirePermission()).isTrue(); // 남은 시험 자리는 1건
+        assertThat(cb.tryAcquirePermission()).isFalse();
+        cb.onSuccess();
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 실패하면 다시 OPEN 된다")
+    void halfOpen_reopensOnFailure() {
+        CircuitBreaker cb = openedCircuitBreaker();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        cb.onError();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(cb.tryAcquirePermission()).isFalse(); // OPEN 시간은 다시 처음부터
+    }
+
+    @Test
+    @DisplayName("무시한 호출은 시험 호출 자리만 돌려주고 상태를 바꾸지 않는다")
+    void ignored_releasesHalfOpenSlot() {
+        CircuitBreaker cb = openedCircuitBreaker();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        assertThat(cb.tryAcquirePermission()).isTrue();
+        cb.onIgnored();
+
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(cb.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    @DisplayName("bulkhead는 동시 호출 상한을 넘으면 바로 거절한다")
+    void bulkhead_rejectsOverLimit() {
+        Bulkhead bulkhead = new Bulkhead("test", 2);
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+
+        bulkhead.release();
+        assertThat(bulkhead.getAvailable()).isEqualTo(1);
+        assertThat(bulkhead.tryAcquire()).isTrue();
+    }
+
+    private CircuitBreaker openedCircuitBreaker() {
+        CircuitBreaker cb = circuitBreaker();
+        for (int i = 0; i < 4; i++) {
+            cb.onError();
+        }
+        assertThat(cb.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return cb;
+    }
+}
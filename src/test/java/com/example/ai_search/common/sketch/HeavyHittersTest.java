@@ -0,0 +1,73 @@
+package com.example.ai_search.common.sketch;
+
+import com.example.ai_search.common.sketch.HeavyHitters.Counted;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHittersTest {
+
+    @Test
+    @DisplayName("긴 꼬리(한 번씩 나오는 검색어 수만 개) 속에서도 자주 나온 검색어가 top-K에 남는다")
+    void keepsHeavyHitters_amongLongTail() {
+        HeavyHitters hitters = new HeavyHitters(10, 4, 2048);
+        Random random = new Random(42);
+        Map<String, Integer> actual = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            String query = (random.nextInt(10) < 3)
+                    ? "popular " + random.nextInt(5)   // 30%가 인기 검색어 5개
+                    : "tail " + random.nextInt(40_000);
+            hitters.add(query);
+            actual.merge(query, 1, Integer::sum);
+        }
+
+        List<Counted> top = hitters.top();
+        assertThat(top.subList(0, 5)).extracting(Counted::item)
+                .containsExactlyInAnyOrder("popular 0", "popular 1", "popular 2", "popular 3", "popular 4");
+        for (Counted counted : top.subList(0, 5)) {
+            // count-min sketch는 실제보다 작게 추정하지 않는다
+            assertThat(counted.count()).isGreaterThanOrEqualTo(actual.get(counted.item()));
+            assertThat(counted.count()).isLessThan(actual.get(counted.item()) + 200);
+        }
+    }
+
+    @Test
+    @DisplayName("top-K가 차면 추정값이 heap 최소값보다 큰 검색어만 들어오고, 결과는 많은 순")
+    void evictsSmallest_whenFull() {
+        HeavyHitters hitters = new HeavyHitters(2, 4, 1024);
+        add(hitters, "a", 3);
+        add(hitters, "b", 2);
+        add(hitters, "c", 1);
+
+        assertThat(hitters.top()).containsExactly(new Counted("a", 3), new Counted("b", 2));
+
+        add(hitters, "c", 2);
+        assertThat(hitters.top()).containsExactly(new Counted("a", 3), new Counted("c", 3));
+    }
+
+    @Test
+    @DisplayName("decay는 카운트를 절반으로 줄이고, 0이 된 검색어는 top-K에서 뺀다")
+    void decay_halvesCounts() {
+        HeavyHitters hitters = new HeavyHitters(10, 4, 1024);
+        add(hitters, "a", 8);
+        add(hitters, "b", 1);
+
+        hitters.decay();
+
+        assertThat(hitters.top()).containsExactly(new Counted("a", 4));
+        assertThat(hitters.estimate("a")).isEqualTo(4);
+        assertThat(hitters.add("b")).isEqualTo(1);
+    }
+
+    private static void add(HeavyHitters hitters, String item, int times) {
+        for (int i = 0; i < times; i++) {
+            hitters.add(item);
+        }
+    }
+}
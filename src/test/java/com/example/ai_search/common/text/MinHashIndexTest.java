@@ -0,0 +1,58 @@
+package com.example.ai_search.common.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashIndexTest {
+
+    @Test
+    @DisplayName("threshold 이상으로 겹치는 key 중 가장 비슷한 것을 찾고, 자기 자신(exclude)은 제외한다")
+    void findsMostSimilar_aboveThreshold() {
+        MinHashIndex index = new MinHashIndex(100);
+        index.put("a", Set.of("spring", "boot", "캐시", "설정"));
+        index.put("b", Set.of("spring", "boot", "캐시", "설정", "예제"));
+        index.put("c", Set.of("redis", "캐시", "설정"));
+
+        var match = index.findMostSimilar(Set.of("spring", "boot", "캐시", "설정"), 0.75, "a");
+
+        assertThat(match).isPresent();
+        assertThat(match.get().key()).isEqualTo("b");
+        assertThat(match.get().similarity()).isEqualTo(0.8);
+        assertThat(index.findMostSimilar(Set.of("redis", "캐시", "클러스터"), 0.75, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LSH 후보 단계에서 같은 집합은 항상 찾는다 (토큰 1~10개)")
+    void identicalSets_alwaysFound() {
+        MinHashIndex index = new MinHashIndex(10_000);
+        for (int i = 0; i < 2_000; i++) {
+            index.put("q" + i, Set.of("t" + i, "u" + (i % 37), "v" + (i % 11)));
+        }
+        for (int i = 0; i < 2_000; i += 97) {
+            assertThat(index.findMostSimilar(Set.of("t" + i, "u" + (i % 37), "v" + (i % 11)), 0.99, null))
+                    .map(MinHashIndex.Match::key)
+                    .contains("q" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("maxEntries를 넘으면 가장 오래 쓰이지 않은 key부터 빠지고, remove한 key는 찾지 않는다")
+    void evictsLeastRecentlyUsed_andRemoves() {
+        MinHashIndex index = new MinHashIndex(2);
+        index.put("a", Set.of("java", "21"));
+        index.put("b", Set.of("kotlin", "coroutine"));
+        index.findMostSimilar(Set.of("java", "21"), 0.9, null); // a 최근 사용
+        index.put("c", Set.of("go", "channel"));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findMostSimilar(Set.of("kotlin", "coroutine"), 0.9, null)).isEmpty();
+        assertThat(index.findMostSimilar(Set.of("java", "21"), 0.9, null)).isPresent();
+
+        index.remove("a");
+        assertThat(index.findMostSimilar(Set.of("java", "21"), 0.9, null)).isEmpty();
+    }
+}
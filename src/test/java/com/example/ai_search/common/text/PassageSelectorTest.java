@@ -0,0 +1,41 @@
+package com.example.ai_search.common.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PassageSelectorTest {
+
+    private static final String FILLER =
+            "이 문단은 검색어와 관련 없는 회사 소개와 연혁, 오시는 길, 고객센터 운영 시간에 대한 안내 문구로 채워져 있다. ".repeat(3);
+
+    private static final String RELEVANT =
+            "스프링 캐시에서 Caffeine은 만료 시간과 최대 크기를 지정해 로컬 캐시로 쓰고, Redis는 여러 노드가 공유하는 캐시로 쓴다.";
+
+    @Test
+    @DisplayName("예산 안에서 검색어와 겹치는 passage만 고르고 관련 없는 문단은 뺀다")
+    void selectsPassagesMatchingQuery() {
+        String content = String.join("\n", FILLER, (RELEVANT + " ").repeat(3).strip(), FILLER);
+
+        String selected = PassageSelector.select("caffeine 캐시 만료", content, 400);
+
+        assertThat(selected).contains("Caffeine은 만료 시간").doesNotContain("회사 소개");
+        assertThat(selected.length()).isLessThanOrEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("조사가 붙은 한글 단어도 bigram으로 매칭된다")
+    void matchesKoreanWordsWithParticles() {
+        assertThat(PassageSelector.tokenize("캐시를")).contains("캐시");
+    }
+
+    @Test
+    @DisplayName("겹치는 단어가 없으면 앞부분을 예산만큼 쓰고, 예산보다 짧은 본문은 그대로 쓴다")
+    void fallsBackToLeadPassages() {
+        String content = String.join("\n", (RELEVANT + " ").repeat(3).strip(), FILLER, FILLER);
+
+        assertThat(PassageSelector.select("kubernetes", content, 300)).startsWith("스프링 캐시에서");
+        assertThat(PassageSelector.select("kubernetes", "짧은\n본문", 300)).isEqualTo("짧은 본문");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ai_search.config;
+
+import com.example.ai_search.dto.CachedPageContent;
+import com.example.ai_search.dto.CachedSearchResult;
+import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SourceDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueSerializerTest {
+
+    private final RedisSerializer<Object> binary = CacheConfig.redisValueSerializer("binary", 1024);
+    private final RedisSerializer<Object> json = CacheConfig.redisValueSerializer("json", 1024);
+
+    @Test
+    @DisplayName("캐시 값 3종은 바이너리로 저장했다가 같은 값으로 읽고, JSON보다 작다")
+    void roundTrip_binaryIsSmallerThanJson() {
+        CachedSearchResult result = new CachedSearchResult(
+                new SearchResponseDto("가상 스레드는 블로킹 I/O 동안 캐리어 스레드를 반납한다 [1].", sources()), 1_700_000_000_000L);
+        CachedPageContent page = new CachedPageContent("본문 ".repeat(50), "\"abc\"", null, 1_700_000_000_123L);
+
+        CachedSearchResult readResult = (CachedSearchResult) binary.deserialize(binary.serialize(result));
+        assertThat(readResult).usingRecursiveComparison().isEqualTo(result);
+        assertThat(binary.deserialize(binary.serialize(sources()))).usingRecursiveComparison().isEqualTo(sources());
+        assertThat(binary.deserialize(binary.serialize(page))).usingRecursiveComparison().isEqualTo(page);
+
+        assertThat(binary.serialize(result).length).isLessThan(json.serialize(result).length / 2);
+    }
+
+    @Test
+    @DisplayName("큰 값은 LZ4로 압축하고, 압축된 값도 그대로 읽는다")
+    void largeValue_isCompressed() {
+        String text = "Spring Boot 가상 스레드 설정과 커넥션 풀 크기. ".repeat(300);
+        CachedPageContent page = new CachedPageContent(text, null, "Sun, 10 Mar 2024 09:00:00 GMT", 1L);
+
+        byte[] bytes = binary.serialize(page);
+
+        assertThat(bytes[2] & 0x01).isEqualTo(1);
+        assertThat(bytes.length).isLessThan(text.length());
+        assertThat(binary.deserialize(bytes)).usingRecursiveComparison().isEqualTo(page);
+    }
+
+    @Test
+    @DisplayName("롤링 배포: 이전 JSON 값은 읽고, json 모드는 JSON으로 쓰며, codec이 없는 값은 JSON으로 쓴다")
+    void rollingDeploy_readsLegacyJson_andWritesJsonWhenAsked() {
+        CachedSearchResult result = new CachedSearchResult(new SearchResponseDto("answer", sources()), 42L);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(result);
+
+        assertThat(binary.deserialize(legacy)).usingRecursiveComparison().isEqualTo(result);
+        assertThat(json.serialize(result)).isEqualTo(legacy);
+        assertThat(json.deserialize(binary.serialize(result))).usingRecursiveComparison().isEqualTo(result);
+
+        assertThat(binary.serialize("plain")).isEqualTo(new GenericJackson2JsonRedisSerializer().serialize("plain"));
+        assertThat(binary.deserialize(binary.serialize("plain"))).isEqualTo("plain");
+    }
+
+    @Test
+    @DisplayName("모르는 형식 버전 / tag, 잘린 값은 예외 대신 null (캐시 MISS)")
+    void unknownOrCorruptValue_isMiss() {
+        byte[] bytes = binary.serialize(sources());
+
+        byte[] newerVersion = bytes.clone();
+        newerVersion[1] = 2;
+        byte[] unknownTag = bytes.clone();
+        unknownTag[3] = (byte) 200;
+
+        assertThat(binary.deserialize(newerVersion)).isNull();
+        assertThat(binary.deserialize(unknownTag)).isNull();
+        assertThat(binary.deserialize(Arrays.copyOf(bytes, bytes.length - 3))).isNull();
+    }
+
+    private static List<SourceDto> sources() {
+        List<SourceDto> sources = new ArrayList<>();
+        sources.add(new SourceDto(1, "Virtual Threads", "https://docs.oracle.com/en/java/vt", "JEP 444 ..."));
+        sources.add(new SourceDto(2, "가상 스레드 정리", "https://blog.example.com/vt", null));
+        return sources;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.dto.SourceDto;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class JsoupContentFetcherTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private String baseUrl;
+
+    private final AtomicInteger etagRequests = new AtomicInteger();
+    private final List<String> ifNoneMatchHeaders = new CopyOnWriteArrayList<>();
+
+    private ConcurrentMapCacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/fast", exchange -> respond(exchange, "빠른 페이지 본문"));
+        server.createContext("/large", exchange -> respond(exchange,
+                "앞부분 본문</p>" + "<!-- padding -->".repeat(20_000) + "<p>뒷부분 본문"));
+        server.createContext("/etag", exchange -> {
+            etagRequests.incrementAndGet();
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null) {
+                ifNoneMatchHeaders.add(ifNoneMatch);
+            }
+            if ("\"v1\"".equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            respond(exchange, "캐시될 페이지 본문");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "느린 페이지 본문");
+        });
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(serverExecutor);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        cacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("progressive 모드는 min-pages 만큼 모이면 느린 페이지를 기다리지 않고 바로 반환한다")
+    void fetchContents_returnsOnceEnoughPagesArrived() {
+        JsoupContentFetcher fetcher = progressiveFetcher();
+
+        long start = System.currentTimeMillis();
+        List<String> contents = fetcher.fetchContents("본문", sources());
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(contents).hasSize(3);
+        assertThat(contents.get(0)).contains("빠른 페이지 본문");
+        assertThat(contents.get(1)).isEmpty(); // 느린 페이지는 취소 → ""
+        assertThat(contents.get(2)).contains("빠른 페이지 본문");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2).toMillis());
+    }
+
+    @Test
+    @DisplayName("progressive 모드에서 한 페이지가 예외로 끝나도 나머지 페이지는 계속 받는다")
+    void fetchContents_onePageThrows_keepsCollectingOthers() {
+        JsoupContentFetcher fetcher = progressiveFetcher();
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "broken", null, "s"), // URL 없음 → fetch 작업이 예외로 끝난다
+                new SourceDto(2, "fast-1", baseUrl + "/fast?n=1", "s"),
+                new SourceDto(3, "slow", baseUrl + "/slow", "s"),
+                new SourceDto(4, "fast-2", baseUrl + "/fast?n=2", "s")
+        );
+
+        List<String> contents = fetcher.fetchContents("본문", sources);
+
+        assertThat(contents).hasSize(4);
+        assertThat(contents.get(0)).isEmpty();
+        assertThat(contents.get(1)).contains("빠른 페이지 본문");
+        assertThat(contents.get(2)).isEmpty();
+        assertThat(contents.get(3)).contains("빠른 페이지 본문");
+    }
+
+    @Test
+    @DisplayName("progressive 모드 비동기 버전도 순서를 유지한 채 느린 페이지 없이 반환한다")
+    void fetchContentsAsync_returnsOnceEnoughPagesArrived() {
+        JsoupContentFetcher fetcher = progressiveFetcher();
+
+        long start = System.currentTimeMillis();
+        List<String> contents = fetcher.fetchContentsAsync("본문", sources()).block(Duration.ofSeconds(5));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(contents).hasSize(3);
+        assertThat(contents.get(0)).contains("빠른 페이지 본문");
+        assertThat(contents.get(1)).isEmpty();
+        assertThat(contents.get(2)).contains("빠른 페이지 본문");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2).toMillis());
+    }
+
+    @Test
+    @DisplayName("본문은 max-body-bytes 까지만 읽고 그 앞부분만 파싱한다")
+    void fetchContents_readsOnlyUpToMaxBodyBytes() {
+        JsoupContentFetcher fetcher = fetcher(4096, Duration.ofHours(1));
+
+        List<String> contents = fetcher.fetchContents("본문", List.of(
+                new SourceDto(1, "large", baseUrl + "/large", "s")
+        ));
+
+        assertThat(contents).hasSize(1);
+        assertThat(contents.get(0)).contains("앞부분 본문").doesNotContain("뒷부분 본문");
+    }
+
+    @Test
+    @DisplayName("fresh-ttl 안의 URL은 다른 검색에서도 네트워크 없이 캐시된 본문을 쓴다")
+    void fetchContents_freshEntry_servedFromPageCache() {
+        JsoupContentFetcher fetcher = fetcher(524288, Duration.ofHours(1));
+        List<SourceDto> sources = List.of(new SourceDto(1, "etag", baseUrl + "/etag", "s"));
+
+        assertThat(fetcher.fetchContents("본문", sources).get(0)).contains("캐시될 페이지 본문");
+        awaitCached(baseUrl + "/etag");
+        assertThat(fetcher.fetchContents("본문", sources).get(0)).contains("캐시될 페이지 본문");
+
+        assertThat(etagRequests.get()).isEqualTo(1);
+        assertThat(counter("hit")).isEqualTo(1.0);
+        assertThat(counter("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("fresh-ttl 이 지난 URL은 If-None-Match 로 재검증하고 304면 캐시된 본문을 재사용한다")
+    void fetchContents_staleEntry_revalidatedWithConditionalGet() {
+        JsoupContentFetcher fetcher = fetcher(524288, Duration.ZERO);
+        List<SourceDto> sources = List.of(new SourceDto(1, "etag", baseUrl + "/etag", "s"));
+
+        fetcher.fetchContents("본문", sources);
+        awaitCached(baseUrl + "/etag");
+        String second = fetcher.fetchContentsAsync("본문", sources).block(Duration.ofSeconds(5)).get(0);
+
+        assertThat(second).contains("캐시될 페이지 본문");
+        assertThat(etagRequests.get()).isEqualTo(2);
+        assertThat(ifNoneMatchHeaders).containsExactly("\"v1\"");
+        assertThat(counter("revalidated")).isEqualTo(1.0);
+    }
+
+    private void awaitCached(String url) {
+        await().atMost(Duration.ofSeconds(2))
+                .until(() -> cacheManager.getCache("pageContentCache").get(url) != null);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("page.content.cache.requests").tag("result", result).counter().count();
+    }
+
+    private JsoupContentFetcher fetcher(int maxBodyBytes, Duration freshTtl) {
+        JsoupContentFetcher fetcher = new JsoupContentFetcher(
+                WebClient.create(), Executors.newVirtualThreadPerTaskExecutor(), 4, 4000, 4000, maxBodyBytes,
+                new PageContentCache(cacheManager, meterRegistry, freshTtl));
+        ReflectionTestUtils.setField(fetcher, "fetchMode", "all");
+        ReflectionTestUtils.setField(fetcher, "extractMaxChars", 12000);
+        ReflectionTestUtils.setField(fetcher, "passageCharBudget", 2000);
+        return fetcher;
+    }
+
+    private JsoupContentFetcher progressiveFetcher() {
+        JsoupContentFetcher fetcher = fetcher(524288, Duration.ofHours(1));
+        ReflectionTestUtils.setField(fetcher, "fetchMode", "progressive");
+        ReflectionTestUtils.setField(fetcher, "progressiveMinPages", 2);
+        ReflectionTestUtils.setField(fetcher, "progressiveCharBudget", 100_000);
+        ReflectionTestUtils.setField(fetcher, "progressiveMaxWaitMs", 3000L);
+        return fetcher;
+    }
+
+    private List<SourceDto> sources() {
+        return List.of(
+                new SourceDto(1, "fast-1", baseUrl + "/fast?n=1", "s"),
+                new SourceDto(2, "slow", baseUrl + "/slow", "s"),
+                new SourceDto(3, "fast-2", baseUrl + "/fast?n=2", "s")
+        );
+    }
+
+    private static void respond(HttpExchange exchange, String text) throws IOException {
+        byte[] body = ("<html><body><p>" + text + "</p></body></html>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
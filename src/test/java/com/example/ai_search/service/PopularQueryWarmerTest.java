@@ -0,0 +1,56 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.sketch.HeavyHitters.Counted;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PopularQueryWarmerTest {
+
+    private final SearchService searchService = mock(SearchService.class);
+    private final QueryPopularity queryPopularity = mock(QueryPopularity.class);
+
+    private PopularQueryWarmer warmer(int budgetPerMinute, int maxPerRun) {
+        return new PopularQueryWarmer(new SimpleMeterRegistry(), searchService, queryPopularity,
+                true, 20, 3, budgetPerMinute, maxPerRun);
+    }
+
+    @Test
+    @DisplayName("요청 수가 min-count 미만인 검색어는 미리 채우지 않는다")
+    void skipsRareQueries() {
+        when(queryPopularity.top()).thenReturn(List.of(new Counted("spring boot", 10), new Counted("rare", 2)));
+        when(searchService.warm(anyString())).thenReturn(true);
+
+        assertThat(warmer(60, 5).warmOnce()).isEqualTo(1);
+        verify(searchService).warm("spring boot");
+        verify(searchService, never()).warm("rare");
+    }
+
+    @Test
+    @DisplayName("예산(max-per-run)을 넘겨 갱신하지 않고, 이미 신선한 답변은 예산을 쓰지 않는다")
+    void respectsBudget_andSkipsFresh() {
+        when(queryPopularity.top()).thenReturn(List.of(
+                new Counted("a", 10), new Counted("b", 9), new Counted("c", 8), new Counted("d", 7)));
+        when(searchService.warm("a")).thenReturn(false); // 신선함
+        when(searchService.warm("b")).thenReturn(true);
+        when(searchService.warm("c")).thenReturn(true);
+        when(searchService.warm("d")).thenReturn(true);
+        PopularQueryWarmer warmer = warmer(1, 2);
+
+        assertThat(warmer.warmOnce()).isEqualTo(2);
+        verify(searchService, never()).warm("d");
+
+        // 분당 1회 예산은 이미 다 썼다
+        assertThat(warmer.warmOnce()).isZero();
+        assertThat(warmer.status()).containsEntry("warmed", 2L).containsEntry("overBudget", 1L);
+    }
+}
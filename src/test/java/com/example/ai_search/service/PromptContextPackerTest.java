@@ -0,0 +1,73 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.text.TokenEstimator;
+import com.example.ai_search.dto.SourceDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptContextPackerTest {
+
+    private static final String RELEVANT =
+            "Caffeine 캐시는 만료 시간과 최대 크기를 지정할 수 있고, Redis 캐시는 여러 노드가 같은 값을 공유한다. ";
+
+    private static final String UNRELATED =
+            "이 회사는 2010년에 설립되었고 본사는 서울에 있으며 고객센터는 평일 아홉 시부터 여섯 시까지 운영한다. ";
+
+    private static final List<SourceDto> SOURCES = List.of(
+            new SourceDto(1, "회사 소개", "https://a.example.com", "s"),
+            new SourceDto(2, "캐시 가이드", "https://b.example.com", "s"),
+            new SourceDto(3, "캐시 가이드 (복제)", "https://c.example.com", "s")
+    );
+
+    @Test
+    @DisplayName("context는 토큰 예산을 넘지 않고, 관련도 높은 출처가 더 많은 몫을 받는다")
+    void packsWithinBudget_favoringRelevantSources() {
+        PromptContextPacker packer = new PromptContextPacker(600);
+        List<String> contents = List.of(
+                numbered(UNRELATED, "회사"), numbered(RELEVANT, "캐시"), "");
+
+        PromptContextPacker.PackedContext packed = packer.pack("caffeine 캐시 만료", SOURCES, contents, 100);
+
+        assertThat(packed.tokens()).isLessThanOrEqualTo(500);
+        assertThat(TokenEstimator.estimate(packed.context())).isEqualTo(packed.tokens());
+        assertThat(section(packed.context(), "[2]").length())
+                .isGreaterThan(section(packed.context(), "[1]").length() * 2);
+    }
+
+    @Test
+    @DisplayName("여러 출처에 같은 passage가 있으면 한 번만 넣는다")
+    void dropsDuplicatePassagesAcrossSources() {
+        PromptContextPacker packer = new PromptContextPacker(4000);
+        String shared = RELEVANT.repeat(2).strip();
+        List<String> contents = List.of(UNRELATED.strip(), shared, shared);
+
+        PromptContextPacker.PackedContext packed = packer.pack("캐시", SOURCES, contents, 100);
+
+        assertThat(packed.duplicates()).isEqualTo(1);
+        assertThat(packed.context()).contains("[2] 제목").doesNotContain("[3] 제목");
+    }
+
+    /**
+     * 문장마다 번호를 붙여 서로 다른 passage가 되게 한다 (중복 제거에 걸리지 않도록).
+     */
+    private static String numbered(String sentence, String label) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            text.append(label).append(' ').append(i).append("번 문단: ").append(sentence).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String section(String context, String marker) {
+        int start = context.indexOf(marker);
+        if (start < 0) {
+            return "";
+        }
+        int end = context.indexOf("\n\n", start);
+        return context.substring(start, (end < 0) ? context.length() : end);
+    }
+}
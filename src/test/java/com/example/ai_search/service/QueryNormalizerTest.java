@@ -5,6 +5,9 @@ package com.example.ai_search.service;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Locale;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class QueryNormalizerTest {
@@ -41,4 +44,59 @@ public class QueryNormalizerTest {
         String result = normalizer.normalize(input);
         assertThat(result).isEqualTo("spring boot");
     }
+
+    @Test
+    @DisplayName("이미 정규화된 문자열은 새 객체를 만들지 않는다")
+    void normalize_alreadyNormalized_returnsSameInstance() {
+        String ascii = "spring boot 3.2 virtual threads";
+        String korean = "스프링 부트 가상 스레드 설정";
+
+        assertThat(normalizer.normalize(ascii)).isSameAs(ascii);
+        assertThat(normalizer.normalize(korean)).isSameAs(korean);
+        assertThat(normalizer.normalize(korean + "?")).isEqualTo(korean);
+    }
+
+    @Test
+    @DisplayName("전각 문자/합자는 NFKC로, 모든 Unicode 공백은 공백 하나로, zero-width 문자는 지운다")
+    void normalize_nfkcAndUnicodeWhitespace() {
+        assertThat(normalizer.normalize("Ｓｐｒｉｎｇ\u3000Ｂｏｏｔ")).isEqualTo("spring boot");
+        assertThat(normalizer.normalize("spring\u00A0boot\u2003\u202F캐시")).isEqualTo("spring boot 캐시");
+        assertThat(normalizer.normalize("spring\u200Bboot\uFEFF")).isEqualTo("springboot");
+        assertThat(normalizer.normalize("\uFB01le 설정")).isEqualTo("file 설정");
+        // 호환 자모는 조합용 자모로 바꾸지 않는다
+        assertThat(normalizer.normalize("ＪＰＡ ㅋㅋ")).isEqualTo("jpa ㅋㅋ");
+    }
+
+    @Test
+    @DisplayName("대소문자 변환은 기본 locale(터키어 등)과 무관하다")
+    void normalize_caseFoldingIgnoresDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertThat(normalizer.normalize("TITLE ISSUE")).isEqualTo("title issue");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("단어 앞뒤 문장 부호는 떼고 단어 안의 기호는 남긴다")
+    void normalize_trimsPunctuationAtWordEdges() {
+        assertThat(normalizer.normalize("“Spring Boot” 캐시 설정은?")).isEqualTo("spring boot 캐시 설정은");
+        assertThat(normalizer.normalize("(node.js), c++, c# 3.2!")).isEqualTo("node.js c++ c# 3.2");
+        assertThat(normalizer.normalize(" ... ?? ")).isEqualTo("");
+    }
+
+    @Test
+    @DisplayName("설정하면 분명한 조사와 stop word를 지운다 (명사 끝글자/용언 어미는 남긴다)")
+    void normalize_stripsParticlesAndStopWords_whenEnabled() {
+        QueryNormalizer korean = new QueryNormalizer(true, List.of("알려줘", "Please"));
+
+        assertThat(korean.normalize("스프링의 캐시를 redis에서 설정하는 방법 알려줘"))
+                .isEqualTo("스프링의 캐시 redis 설정하는 방법");
+        assertThat(korean.normalize("jpa가 뭐야 PLEASE")).isEqualTo("jpa 뭐야");
+        assertThat(korean.normalize("온라인 강의 정확도 결과")).isEqualTo("온라인 강의 정확도 결과");
+        // 전부 stop word면 지우지 않는다
+        assertThat(korean.normalize("알려줘")).isEqualTo("알려줘");
+    }
 }
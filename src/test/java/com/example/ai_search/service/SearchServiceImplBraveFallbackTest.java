@@ -1,7 +1,10 @@
 package com.example.ai_search.service;
 
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CircuitBreaker;
 import com.example.ai_search.dto.SourceDto;
 import com.google.genai.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -40,7 +43,10 @@ class SearchServiceImplBraveFallbackTest {
                 .build();
 
         // BraveSourceRepository 인스턴스 직접 생성
-        BraveSourceRepository repo = new BraveSourceRepository(braveWebClient);
+        BraveSourceRepository repo = new BraveSourceRepository(braveWebClient,
+                new CircuitBreaker("brave", 50, 20, 10, Duration.ofSeconds(10), 2), new Bulkhead("brave", 16),
+                new BraveRateLimiter(new SimpleMeterRegistry(), null, "local", 100, 10, Duration.ofSeconds(2)),
+                new SimpleMeterRegistry());
 
         // @Value 값 강제로 주입
         ReflectionTestUtils.setField(repo, "searchApiKey", "dummy");
@@ -84,7 +90,10 @@ class SearchServiceImplBraveFallbackTest {
                 .exchangeFunction(fiveXxExchange)
                 .build();
 
-        BraveSourceRepository repo = new BraveSourceRepository(braveWebClient);
+        BraveSourceRepository repo = new BraveSourceRepository(braveWebClient,
+                new CircuitBreaker("brave", 50, 20, 10, Duration.ofSeconds(10), 2), new Bulkhead("brave", 16),
+                new BraveRateLimiter(new SimpleMeterRegistry(), null, "local", 100, 10, Duration.ofSeconds(2)),
+                new SimpleMeterRegistry());
 
         ReflectionTestUtils.setField(repo, "searchApiKey", "dummy-key");
 
@@ -1,8 +1,12 @@
 package com.example.ai_search.service;
 
 import com.example.ai_search.AiSearchApplication;
+import com.example.ai_search.dto.CachedSearchResult;
 import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SearchStreamEvent;
 import com.example.ai_search.dto.SourceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +22,17 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,6 +41,7 @@ import static org.mockito.Mockito.*;
         classes = {
                 SearchServiceImpl.class,       // 우리가 테스트할 서비스
                 QueryNormalizer.class,         // 실제 사용
+                SearchMetrics.class,
                 SearchServiceImplIntegrationTest.TestCacheConfig.class
         },
         properties = {
@@ -46,15 +60,26 @@ class SearchServiceImplIntegrationTest {
     @EnableCaching
     static class TestCacheConfig {
 
-        // SearchServiceImpl 이 @CacheConfig(cacheManager = "redisCacheManager") 로 바라보는 놈
-        @Bean("redisCacheManager")
-        public CacheManager redisCacheManager() {
+        // SearchServiceImpl 이 @CacheConfig(cacheManager = "twoLevelCacheManager") 로 바라보는 놈
+        @Bean("twoLevelCacheManager")
+        public CacheManager twoLevelCacheManager() {
             SimpleCacheManager manager = new SimpleCacheManager();
             manager.setCaches(List.of(
                     new ConcurrentMapCache("llmResultCache")
             ));
             return manager;
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // stale 갱신을 테스트 스레드에서 바로 실행 (결과 검증을 결정적으로)
+        @Bean
+        public Executor searchRefreshExecutor() {
+            return Runnable::run;
+        }
     }
 
     @MockitoBean
@@ -73,7 +98,10 @@ class SearchServiceImplIntegrationTest {
     SearchService searchService;
 
     @Autowired
-    @Qualifier("redisCacheManager")
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("twoLevelCacheManager")
     CacheManager cacheManager;   // 테스트에서 캐시 내용 확인용
 
     @Test
@@ -92,7 +120,7 @@ class SearchServiceImplIntegrationTest {
         String llmAnswer = "이것은 스프링 부트에 대한 요약 답변입니다.";
 
         when(sourceRepository.getSources(normalized)).thenReturn(sources);
-        when(contentFetcher.fetchContents(sources)).thenReturn(contents);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
         when(answerGenerator.generateAnswer(normalized, sources, contents))
                 .thenReturn(llmAnswer);
 
@@ -108,16 +136,26 @@ class SearchServiceImplIntegrationTest {
 
         // 정규화된 쿼리 기준으로 실제 파이프라인은 딱 한 번만 타야 한다
         verify(sourceRepository, times(1)).getSources(normalized);
-        verify(contentFetcher, times(1)).fetchContents(sources);
+        verify(contentFetcher, times(1)).fetchContents(normalized, sources);
         verify(answerGenerator, times(1)).generateAnswer(normalized, sources, contents);
+        verify(answerGenerator, times(1)).isCircuitOpen(); // Jsoup 전에 LLM circuit 확인
         verifyNoMoreInteractions(sourceRepository, contentFetcher, answerGenerator);
 
+        // 단계별 시간과 캐시 HIT/MISS가 지표로 남는다
+        assertThat(meterRegistry.counter("search.cache.requests", "result", "miss").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("search.cache.requests", "result", "hit").count()).isEqualTo(1);
+        for (String stage : List.of("brave", "jsoup", "llm", "total")) {
+            assertThat(meterRegistry.get("search.stage.duration").tags("stage", stage, "path", "sync").timer().count())
+                    .as("stage=%s", stage)
+                    .isEqualTo(1);
+        }
+
         // 캐시에 값이 들어갔는지 확인 (key = 정규화된 쿼리)
         Cache cache = cacheManager.getCache("llmResultCache");
         assertThat(cache).isNotNull();
-        SearchResponseDto cached = cache.get(normalized, SearchResponseDto.class);
+        CachedSearchResult cached = cache.get(normalized, CachedSearchResult.class);
         assertThat(cached).isNotNull();
-        assertThat(cached.getAnswer()).isEqualTo(llmAnswer);
+        assertThat(cached.getResponse().getAnswer()).isEqualTo(llmAnswer);
     }
 
     @Test
@@ -148,12 +186,222 @@ class SearchServiceImplIntegrationTest {
 
         // fallback은 캐시에 안 들어가므로, 매 번 Brave를 다시 호출해야 한다 → 2번
         verify(sourceRepository, times(2)).getSources(normalized);
+        assertThat(meterRegistry.counter("search.fallback", "reason", "brave").count()).isEqualTo(2);
         verifyNoInteractions(contentFetcher, answerGenerator);
 
         // 캐시에 값이 없는지 확인
         Cache cache = cacheManager.getCache("llmResultCache");
         assertThat(cache).isNotNull();
-        SearchResponseDto cached = cache.get(normalized, SearchResponseDto.class);
+        CachedSearchResult cached = cache.get(normalized, CachedSearchResult.class);
         assertThat(cached).isNull();
     }
+
+    @Test
+    @DisplayName("같은 쿼리가 동시에 MISS 나도 파이프라인은 한 번만 실행된다 (single-flight)")
+    void search_concurrentMisses_areCoalesced() throws Exception {
+        // given
+        String rawQuery = "Trending Query";
+        String normalized = queryNormalizer.normalize(rawQuery);
+
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "Trending", "https://example.com", "스니펫")
+        );
+        List<String> contents = List.of("본문 내용 일부");
+        String llmAnswer = "동시에 들어온 요청들이 공유하는 답변입니다.";
+
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.generateAnswer(normalized, sources, contents))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(300); // 느린 LLM
+                    return llmAnswer;
+                });
+
+        // when
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SearchResponseDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(pool.submit(() -> searchService.search(rawQuery)));
+            }
+
+            // then
+            for (Future<SearchResponseDto> f : futures) {
+                assertThat(f.get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo(llmAnswer);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(sourceRepository, times(1)).getSources(normalized);
+        verify(answerGenerator, times(1)).generateAnswer(normalized, sources, contents);
+    }
+
+    @Test
+    @DisplayName("soft TTL이 지난 캐시는 바로 응답하고, 백그라운드에서 새 답변으로 갱신한다")
+    void search_staleEntry_servedImmediately_andRefreshed() {
+        // given
+        String normalized = queryNormalizer.normalize("stale query");
+
+        SearchResponseDto stale = new SearchResponseDto("예전 답변",
+                List.of(new SourceDto(1, "old", "https://example.com/old", "old")));
+        long elevenMinutesAgo = System.currentTimeMillis() - Duration.ofMinutes(11).toMillis();
+
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        cache.put(normalized, new CachedSearchResult(stale, elevenMinutesAgo));
+
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "new", "https://example.com/new", "new")
+        );
+        List<String> contents = List.of("새 본문");
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.generateAnswer(normalized, sources, contents)).thenReturn("새 답변");
+
+        // when
+        SearchResponseDto resp = searchService.search("stale query");
+
+        // then: 응답은 stale 값 그대로
+        assertThat(resp.getAnswer()).isEqualTo("예전 답변");
+
+        // 갱신된 값이 캐시에 들어가 있어야 한다
+        CachedSearchResult refreshed = cache.get(normalized, CachedSearchResult.class);
+        assertThat(refreshed).isNotNull();
+        assertThat(refreshed.getResponse().getAnswer()).isEqualTo("새 답변");
+        assertThat(refreshed.getCachedAtMillis()).isGreaterThan(elevenMinutesAgo);
+
+        assertThat(searchService.search("stale query").getAnswer()).isEqualTo("새 답변");
+        verify(answerGenerator, times(1)).generateAnswer(normalized, sources, contents);
+    }
+
+    @Test
+    @DisplayName("soft TTL 안의 캐시는 갱신 없이 그대로 응답한다")
+    void search_freshEntry_isNotRefreshed() {
+        String normalized = queryNormalizer.normalize("fresh query");
+        SearchResponseDto fresh = new SearchResponseDto("신선한 답변",
+                List.of(new SourceDto(1, "t", "https://example.com", "s")));
+
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        cache.put(normalized, new CachedSearchResult(fresh, System.currentTimeMillis()));
+
+        assertThat(searchService.search("fresh query").getAnswer()).isEqualTo("신선한 답변");
+        verifyNoInteractions(sourceRepository, contentFetcher, answerGenerator);
+    }
+
+    @Test
+    @DisplayName("이전 형식(SearchResponseDto)으로 캐시된 값은 MISS로 보고 파이프라인 결과로 덮어쓴다")
+    void search_legacyCachedValue_isTreatedAsMiss() {
+        String normalized = queryNormalizer.normalize("legacy query");
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        cache.put(normalized, new SearchResponseDto("이전 버전 답변",
+                List.of(new SourceDto(1, "old", "https://example.com/old", "old"))));
+
+        List<SourceDto> sources = List.of(new SourceDto(1, "new", "https://example.com/new", "new"));
+        List<String> contents = List.of("새 본문");
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.generateAnswer(normalized, sources, contents)).thenReturn("새 답변");
+
+        assertThat(searchService.search("legacy query").getAnswer()).isEqualTo("새 답변");
+
+        CachedSearchResult cached = cache.get(normalized, CachedSearchResult.class);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getResponse().getAnswer()).isEqualTo("새 답변");
+    }
+
+    @Test
+    @DisplayName("스트리밍 검색은 sources를 먼저 보내고 답변 조각을 이어 보낸 뒤, 합친 답변을 캐시한다")
+    void searchStream_emitsSourcesFirst_andCachesJoinedAnswer() {
+        // given
+        String normalized = queryNormalizer.normalize("stream query");
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "Stream", "https://example.com", "스니펫")
+        );
+        List<String> contents = List.of("본문");
+
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.streamAnswer(normalized, sources, contents))
+                .thenReturn(Flux.just("스트리밍 ", "답변입니다."));
+
+        // when
+        List<SearchStreamEvent> events = searchService.searchStream("stream query")
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(events).extracting(SearchStreamEvent::getEvent)
+                .containsExactly("sources", "token", "token", "done");
+        assertThat(events.get(0).getData()).isEqualTo(sources);
+
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        CachedSearchResult cached = cache.get(normalized, CachedSearchResult.class);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getResponse().getAnswer()).isEqualTo("스트리밍 답변입니다.");
+    }
+
+    @Test
+    @DisplayName("스트리밍 답변이 첫 조각 뒤에 실패하면 받은 조각까지만 보내고, 잘린 답변은 캐시하지 않는다")
+    void searchStream_failsAfterFirstChunk_doesNotCacheTruncatedAnswer() {
+        // given
+        String normalized = queryNormalizer.normalize("truncated stream");
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "Stream", "https://example.com", "스니펫")
+        );
+        List<String> contents = List.of("본문");
+
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.streamAnswer(normalized, sources, contents))
+                .thenReturn(Flux.just("앞부분만 ").concatWith(Flux.error(new RuntimeException("Gemini stream error"))));
+
+        // when
+        List<SearchStreamEvent> events = searchService.searchStream("truncated stream")
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(events).extracting(SearchStreamEvent::getEvent)
+                .containsExactly("sources", "token", "done");
+        assertThat(events.get(1).getData()).isEqualTo("앞부분만 ");
+
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        assertThat(cache.get(normalized)).isNull();
+        assertThat(meterRegistry.counter("search.fallback", "reason", "llm").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("논블로킹 검색도 MISS면 비동기 파이프라인으로 답변을 만들고, 다음 호출은 캐시에서 응답한다")
+    void searchAsync_miss_thenServedFromCache() {
+        // given
+        String normalized = queryNormalizer.normalize("async query");
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "Async", "https://example.com", "스니펫")
+        );
+        List<String> contents = List.of("본문");
+
+        when(sourceRepository.getSourcesAsync(normalized)).thenReturn(Mono.just(sources));
+        when(contentFetcher.fetchContentsAsync(normalized, sources)).thenReturn(Mono.just(contents));
+        when(answerGenerator.generateAnswerAsync(normalized, sources, contents))
+                .thenReturn(Mono.just("비동기 답변"));
+
+        // when
+        SearchResponseDto first = searchService.searchAsync("async query").block(Duration.ofSeconds(5));
+        SearchResponseDto second = searchService.searchAsync("  ASYNC   query ").block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(first).isNotNull();
+        assertThat(first.getAnswer()).isEqualTo("비동기 답변");
+        assertThat(second).isNotNull();
+        assertThat(second.getAnswer()).isEqualTo("비동기 답변");
+
+        verify(sourceRepository, times(1)).getSourcesAsync(normalized);
+        verify(answerGenerator, times(1)).generateAnswerAsync(normalized, sources, contents);
+        verify(sourceRepository, never()).getSources(anyString());
+    }
 }
@@ -0,0 +1,160 @@
+package com.example.ai_search.service;
+
+import com.example.ai_search.common.concurrent.RedisLease;
+import com.example.ai_search.dto.CachedSearchResult;
+import com.example.ai_search.dto.SearchResponseDto;
+import com.example.ai_search.dto.SourceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(
+        classes = {
+                SearchServiceImpl.class,
+                QueryNormalizer.class,
+                SearchMetrics.class,
+                SearchAdmission.class,
+                SearchServiceImplLeaseTest.TestConfig.class
+        },
+        properties = {
+                "app.single-flight.poll-interval=20ms",
+                "app.single-flight.wait-timeout=2s"
+        }
+)
+@ActiveProfiles("test")
+class SearchServiceImplLeaseTest {
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean("twoLevelCacheManager")
+        public CacheManager twoLevelCacheManager() {
+            SimpleCacheManager manager = new SimpleCacheManager();
+            manager.setCaches(List.of(new ConcurrentMapCache("llmResultCache")));
+            return manager;
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public Executor searchRefreshExecutor() {
+            return Runnable::run;
+        }
+    }
+
+    @MockitoBean
+    SourceRepository sourceRepository;
+
+    @MockitoBean
+    ContentFetcher contentFetcher;
+
+    @MockitoBean
+    AnswerGenerator answerGenerator;
+
+    @MockitoBean
+    RedisLease redisLease;
+
+    @Autowired
+    QueryNormalizer queryNormalizer;
+
+    @Autowired
+    SearchService searchService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("twoLevelCacheManager")
+    CacheManager cacheManager;
+
+    @Test
+    @DisplayName("다른 노드가 lease를 잡고 있으면 admission 자리 없이 기다렸다가 그 노드가 채운 캐시로 응답한다")
+    void leaseFollower_doesNotHoldAdmissionPermitWhileWaiting() {
+        // given
+        String normalized = queryNormalizer.normalize("hot key");
+        Cache cache = cacheManager.getCache("llmResultCache");
+        assertThat(cache).isNotNull();
+        SearchResponseDto remote = new SearchResponseDto("다른 노드 답변",
+                List.of(new SourceDto(1, "t", "https://example.com", "s")));
+
+        List<Double> inFlightWhileWaiting = new ArrayList<>();
+        AtomicInteger polls = new AtomicInteger();
+        when(redisLease.tryAcquire(anyString(), any())).thenReturn(Optional.empty());
+        when(redisLease.isHeld(anyString())).thenAnswer(invocation -> {
+            inFlightWhileWaiting.add(meterRegistry.get("search.admission.inflight").gauge().value());
+            if (polls.incrementAndGet() == 3) {
+                cache.put(normalized, new CachedSearchResult(remote, System.currentTimeMillis()));
+            }
+            return true;
+        });
+
+        // when
+        SearchResponseDto response = searchService.search("hot key");
+
+        // then
+        assertThat(response.getAnswer()).isEqualTo("다른 노드 답변");
+        assertThat(inFlightWhileWaiting).isNotEmpty().containsOnly(0.0);
+        assertThat(meterRegistry.find("search.admission.requests").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+        verifyNoInteractions(sourceRepository, contentFetcher, answerGenerator);
+    }
+
+    @Test
+    @DisplayName("미리 채우기는 다른 노드가 lease를 잡고 있으면 갱신을 맡지 않는다 (warmed로 세지 않음)")
+    void warm_skipsWhenAnotherNodeHoldsLease() {
+        when(redisLease.tryAcquire(anyString(), any())).thenReturn(Optional.empty());
+
+        assertThat(searchService.warm("popular query")).isFalse();
+        verifyNoInteractions(sourceRepository, contentFetcher, answerGenerator);
+    }
+
+    @Test
+    @DisplayName("미리 채우기가 lease를 잡으면 그 lease로 갱신하고 끝나면 푼다")
+    void warm_refreshesWithItsOwnLease() {
+        // given
+        String normalized = queryNormalizer.normalize("popular query");
+        List<SourceDto> sources = List.of(new SourceDto(1, "t", "https://example.com", "s"));
+        List<String> contents = List.of("본문");
+        when(redisLease.tryAcquire(anyString(), any())).thenReturn(Optional.of("token-1"));
+        when(sourceRepository.getSources(normalized)).thenReturn(sources);
+        when(contentFetcher.fetchContents(normalized, sources)).thenReturn(contents);
+        when(answerGenerator.generateAnswer(normalized, sources, contents)).thenReturn("미리 채운 답변");
+
+        // when
+        boolean warmed = searchService.warm(normalized);
+
+        // then
+        assertThat(warmed).isTrue();
+        CachedSearchResult cached = cacheManager.getCache("llmResultCache").get(normalized, CachedSearchResult.class);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getResponse().getAnswer()).isEqualTo("미리 채운 답변");
+        verify(redisLease, times(1)).tryAcquire(anyString(), any());
+        verify(redisLease).release("search:" + normalized, "token-1");
+    }
+}
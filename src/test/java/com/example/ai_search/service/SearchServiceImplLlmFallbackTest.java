@@ -1,8 +1,15 @@
 package com.example.ai_search.service;
 
+import com.example.ai_search.common.deadline.Deadline;
+import com.example.ai_search.common.deadline.DeadlineContext;
+import com.example.ai_search.common.resilience.Bulkhead;
+import com.example.ai_search.common.resilience.CircuitBreaker;
 import com.example.ai_search.dto.SourceDto;
+import com.google.genai.AsyncModels;
 import com.google.genai.Client;
 import com.google.genai.Models;
+import com.google.genai.types.GenerateContentResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +20,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,7 +45,9 @@ class SearchServiceImplLlmFallbackTest {
         // Client 내부의 models 필드에 우리가 만든 mock 주입
         ReflectionTestUtils.setField(geminiClient, "models", models);
 
-        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(geminiClient);
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy(100), new SimpleMeterRegistry());
 
         // @Value 주입되는 llmModel만 테스트에서 직접 세팅
         ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
@@ -74,7 +87,9 @@ class SearchServiceImplLlmFallbackTest {
         Models models = mock(Models.class);
         ReflectionTestUtils.setField(geminiClient, "models", models);
 
-        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(geminiClient);
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy(100), new SimpleMeterRegistry());
 
         ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
         ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
@@ -118,4 +133,281 @@ class SearchServiceImplLlmFallbackTest {
                 .as("전체 LLM 호출 시간")
                 .isLessThan(Duration.ofSeconds(5).toMillis());
     }
+
+    @Test
+    @DisplayName("요청 마감까지 남은 시간이 재시도에 부족하면 재시도 없이 바로 fallback 문구를 반환한다")
+    void callLLM_skipsRetry_whenDeadlineTooClose() {
+        // given
+        Client geminiClient = mock(Client.class);
+        Models models = mock(Models.class);
+        ReflectionTestUtils.setField(geminiClient, "models", models);
+
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy(100), new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        AtomicInteger callCount = new AtomicInteger(0);
+        when(models.generateContent(anyString(), anyString(), isNull()))
+                .thenAnswer(invocation -> {
+                    callCount.incrementAndGet();
+                    throw new RuntimeException("Gemini error");
+                });
+
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")
+        );
+        List<String> contents = List.of("본문 내용 일부");
+
+        // backoff(300ms)보다 짧은 남은 시간
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(200)));
+        String answer;
+        try {
+            answer = answerGenerator.generateAnswer("테스트 질문입니다.", sources, contents);
+        } finally {
+            DeadlineContext.clear();
+        }
+
+        // then
+        assertThat(answer).contains("죄송합니다, 현재는 질문에 대한 답변을 생성할 수 없습니다.");
+        assertThat(callCount.get())
+                .as("재시도 없이 1회만 호출")
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Gemini 스트리밍이 첫 조각 전에 실패하면 fallback 문구 한 조각을 흘려보낸다")
+    void streamAnswer_emitsFallback_whenStreamFailsBeforeFirstChunk() {
+        // given
+        Client geminiClient = mock(Client.class);
+        Models models = mock(Models.class);
+        ReflectionTestUtils.setField(geminiClient, "models", models);
+
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy(100), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        when(models.generateContentStream(anyString(), anyString(), isNull()))
+                .thenThrow(new RuntimeException("Gemini stream error"));
+
+        List<SourceDto> sources = List.of(
+                new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")
+        );
+
+        // when
+        List<String> chunks = answerGenerator
+                .streamAnswer("테스트 질문입니다.", sources, List.of("본문 내용 일부"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // then
+        assertThat(chunks)
+                .hasSize(1)
+                .first().asString()
+                .contains("죄송합니다, 현재는 질문에 대한 답변을 생성할 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("첫 호출이 최근 p95 안에 안 끝나면 hedge 호출을 보내고 먼저 끝난 응답을 쓴다")
+    void generateAnswer_hedgesSlowCall() {
+        // given
+        Client geminiClient = mock(Client.class);
+        Models models = mock(Models.class);
+        ReflectionTestUtils.setField(geminiClient, "models", models);
+
+        LlmHedgePolicy hedgePolicy = hedgePolicy(100);
+        for (int i = 0; i < 50; i++) {
+            hedgePolicy.record(Duration.ofMillis(100)); // 평소 지연: 100ms → p95 = 200ms(min-delay)
+        }
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        GenerateContentResponse fast = mock(GenerateContentResponse.class);
+        when(fast.text()).thenReturn("hedge 답변");
+        AtomicInteger callCount = new AtomicInteger(0);
+        when(models.generateContent(anyString(), anyString(), isNull()))
+                .thenAnswer(invocation -> {
+                    if (callCount.incrementAndGet() == 1) {
+                        Thread.sleep(3_000); // 첫 호출만 꼬리 지연
+                    }
+                    return fast;
+                });
+
+        // when
+        long start = System.currentTimeMillis();
+        String answer = answerGenerator.generateAnswer("테스트 질문입니다.",
+                List.of(new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")),
+                List.of("본문 내용 일부"));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // then
+        assertThat(answer).isEqualTo("hedge 답변");
+        assertThat(callCount.get()).isEqualTo(2);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2).toMillis());
+    }
+
+    @Test
+    @DisplayName("hedge에서 진 호출은 interrupt되어 Gemini 응답을 기다리지 않고 permit을 반납한다")
+    void generateAnswer_interruptsHedgeLoser_andReleasesPermit() throws Exception {
+        // given
+        Client geminiClient = mock(Client.class);
+        Models models = mock(Models.class);
+        ReflectionTestUtils.setField(geminiClient, "models", models);
+
+        LlmHedgePolicy hedgePolicy = hedgePolicy(100);
+        for (int i = 0; i < 50; i++) {
+            hedgePolicy.record(Duration.ofMillis(100));
+        }
+        Bulkhead bulkhead = new Bulkhead("gemini", 8);
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), bulkhead, circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        GenerateContentResponse fast = mock(GenerateContentResponse.class);
+        when(fast.text()).thenReturn("hedge 답변");
+        AtomicInteger callCount = new AtomicInteger(0);
+        CountDownLatch loserInterrupted = new CountDownLatch(1);
+        when(models.generateContent(anyString(), anyString(), isNull()))
+                .thenAnswer(invocation -> {
+                    if (callCount.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(10_000); // 첫 호출만 꼬리 지연
+                        } catch (InterruptedException e) {
+                            loserInterrupted.countDown();
+                            throw new RuntimeException("interrupted", e);
+                        }
+                    }
+                    return fast;
+                });
+
+        // when
+        String answer = answerGenerator.generateAnswer("테스트 질문입니다.",
+                List.of(new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")),
+                List.of("본문 내용 일부"));
+
+        // then
+        assertThat(answer).isEqualTo("hedge 답변");
+        assertThat(loserInterrupted.await(2, TimeUnit.SECONDS)).as("진 호출 interrupt").isTrue();
+        long until = System.currentTimeMillis() + 2_000;
+        while (bulkhead.getAvailable() < 8 && System.currentTimeMillis() < until) {
+            Thread.sleep(10);
+        }
+        assertThat(bulkhead.getAvailable()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("비동기 hedge도 자기 bulkhead 자리가 있어야 보내고, 자리가 없으면 denied로 센다")
+    void generateAnswerAsync_hedgeNeedsItsOwnPermit() {
+        // given
+        Client geminiClient = mock(Client.class);
+        Client.Async async = mock(Client.Async.class);
+        AsyncModels asyncModels = mock(AsyncModels.class);
+        ReflectionTestUtils.setField(async, "models", asyncModels);
+        ReflectionTestUtils.setField(geminiClient, "async", async);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LlmHedgePolicy hedgePolicy = new LlmHedgePolicy(meterRegistry, true, 0.95, 100,
+                Duration.ofMillis(200), 2.0, Duration.ofSeconds(2));
+        for (int i = 0; i < 50; i++) {
+            hedgePolicy.record(Duration.ofMillis(100)); // hedge 지연 200ms
+        }
+        Bulkhead bulkhead = new Bulkhead("gemini", 1);
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), bulkhead, circuitBreaker(),
+                new PromptContextPacker(4000), hedgePolicy, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        GenerateContentResponse slow = mock(GenerateContentResponse.class);
+        when(slow.text()).thenReturn("첫 호출 답변");
+        when(asyncModels.generateContent(anyString(), anyString(), isNull()))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> slow,
+                        CompletableFuture.delayedExecutor(600, TimeUnit.MILLISECONDS)));
+
+        // when
+        String answer = answerGenerator.generateAnswerAsync("테스트 질문입니다.",
+                        List.of(new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")),
+                        List.of("본문 내용 일부"))
+                .block(Duration.ofSeconds(5));
+
+        // then: 자리가 하나뿐이라 hedge는 나가지 않는다
+        assertThat(answer).isEqualTo("첫 호출 답변");
+        verify(asyncModels, times(1)).generateContent(anyString(), anyString(), isNull());
+        assertThat(meterRegistry.counter("llm.hedge.requests", "result", "denied").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("llm.hedge.requests", "result", "fired").count()).isZero();
+        assertThat(bulkhead.getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("시도별 타임아웃은 최근 p99 × multiplier 로 줄어들고, 샘플이 적으면 고정값을 쓴다")
+    void hedgePolicy_adaptsAttemptTimeout() {
+        LlmHedgePolicy hedgePolicy = hedgePolicy(10);
+        Duration max = Duration.ofSeconds(20);
+
+        assertThat(hedgePolicy.attemptTimeout(max)).isEqualTo(max);
+        assertThat(hedgePolicy.hedgeDelay()).isEmpty();
+
+        for (int i = 0; i < 100; i++) {
+            hedgePolicy.record(Duration.ofMillis(1_500));
+        }
+
+        assertThat(hedgePolicy.attemptTimeout(max)).isEqualTo(Duration.ofSeconds(3));
+        assertThat(hedgePolicy.hedgeDelay()).contains(Duration.ofMillis(1_500));
+        // 예산 10%: 호출 10번에 hedge 1번
+        for (int i = 0; i < 10; i++) {
+            hedgePolicy.onAttempt();
+        }
+        assertThat(hedgePolicy.tryHedge()).isTrue();
+        assertThat(hedgePolicy.tryHedge()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Gemini circuit이 열려 있으면 호출 없이 즉시 fallback 문구를 반환한다")
+    void generateAnswer_failsFast_whenCircuitOpen() {
+        // given
+        Client geminiClient = mock(Client.class);
+        Models models = mock(Models.class);
+        ReflectionTestUtils.setField(geminiClient, "models", models);
+
+        CircuitBreaker circuitBreaker = circuitBreaker();
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.onError(); // minimum-calls(10)회 모두 실패 → OPEN
+        }
+        GeminiAnswerGenerator answerGenerator = new GeminiAnswerGenerator(
+                geminiClient, Executors.newVirtualThreadPerTaskExecutor(), new Bulkhead("gemini", 8), circuitBreaker,
+                new PromptContextPacker(4000), hedgePolicy(100), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(answerGenerator, "llmModel", "test-model");
+        ReflectionTestUtils.setField(answerGenerator, "llmTimeoutSeconds", 12L);
+
+        // when
+        long start = System.currentTimeMillis();
+        String answer = answerGenerator.generateAnswer("테스트 질문입니다.",
+                List.of(new SourceDto(1, "테스트 제목", "https://example.com", "테스트 스니펫")),
+                List.of("본문 내용 일부"));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // then
+        assertThat(answerGenerator.isCircuitOpen()).isTrue();
+        assertThat(answer).contains("죄송합니다, 현재는 질문에 대한 답변을 생성할 수 없습니다.");
+        assertThat(elapsed).isLessThan(100);
+        verifyNoInteractions(models);
+    }
+
+    private static CircuitBreaker circuitBreaker() {
+        return new CircuitBreaker("gemini", 50, 20, 10, Duration.ofSeconds(10), 2);
+    }
+
+    private static LlmHedgePolicy hedgePolicy(double budgetPercent) {
+        return new LlmHedgePolicy(new SimpleMeterRegistry(), true, 0.95, budgetPercent,
+                Duration.ofMillis(200), 2.0, Duration.ofSeconds(2));
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.ai_search.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SemanticQueryCacheTest {
+
+    private static final List<String> SYNONYMS = List.of("스프링=spring", "부트=boot");
+    private static final List<String> STOP_WORDS = List.of("방법", "how", "to");
+
+    private SemanticQueryCache cache(String mode) {
+        return new SemanticQueryCache(new SimpleMeterRegistry(), mode, 0.8, 1_000, 10, SYNONYMS, STOP_WORDS);
+    }
+
+    @Test
+    @DisplayName("동의어/군더더기 말만 다른 검색어는 같은 답변 key를 찾는다")
+    void findsSameQueryWrittenDifferently() {
+        SemanticQueryCache cache = cache("on");
+        cache.remember("spring boot 캐시 방법");
+
+        assertThat(cache.findSimilar("스프링 부트 캐시")).contains("spring boot 캐시 방법");
+        assertThat(cache.findSimilar("how to spring boot 캐시")).contains("spring boot 캐시 방법");
+        assertThat(cache.findSimilar("spring boot 로깅")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("숫자(버전)가 다르면 나머지가 같아도 다른 검색어로 본다")
+    void differentNumbers_neverMatch() {
+        SemanticQueryCache cache = cache("on");
+        cache.remember("spring boot 3 virtual threads tomcat 설정 예제 정리");
+
+        // 9개 중 8개가 같아 유사도(0.8)는 넘지만 버전이 다르다
+        assertThat(cache.findSimilar("spring boot 2 virtual threads tomcat 설정 예제 정리")).isEmpty();
+        assertThat(cache.findSimilar("스프링 부트 3 virtual threads tomcat 설정 예제 정리 방법")).isPresent();
+    }
+
+    @Test
+    @DisplayName("shadow는 찾기만 하고 응답에는 쓰지 않으며, 찾은 쌍은 audit에 남는다")
+    void shadowMode_recordsButDoesNotServe() {
+        SemanticQueryCache cache = cache("shadow");
+        cache.remember("spring boot 캐시");
+
+        assertThat(cache.findSimilar("스프링 부트 캐시 방법")).isEmpty();
+
+        Map<String, Object> status = cache.status();
+        assertThat(status.get("shadowHits")).isEqualTo(1L);
+        assertThat((List<?>) status.get("recent")).singleElement()
+                .extracting("query", "matched", "served")
+                .containsExactly("스프링 부트 캐시 방법", "spring boot 캐시", false);
+    }
+
+    @Test
+    @DisplayName("오탐으로 보고된 쌍은 다시 찾지 않는다")
+    void rejectedPair_isNotMatchedAgain() {
+        SemanticQueryCache cache = cache("on");
+        cache.remember("redis 캐시 설정");
+        assertThat(cache.findSimilar("redis 캐시 설정 방법")).isPresent();
+
+        cache.reject("redis 캐시 설정 방법", "redis 캐시 설정");
+
+        assertThat(cache.findSimilar("redis 캐시 설정 방법")).isEmpty();
+        assertThat(cache.status().get("falseHits")).isEqualTo(1L);
+    }
+}